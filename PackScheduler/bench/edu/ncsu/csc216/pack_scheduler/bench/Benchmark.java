@@ -0,0 +1,216 @@
+package edu.ncsu.csc216.pack_scheduler.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Benchmark is a small measurement harness for the PackScheduler benchmarks.
+ * Each operation is run for a number of warmup invocations and then a number of
+ * measured invocations. For the measured invocations it reports the average
+ * time per operation, the bytes allocated per operation by the running thread
+ * and the number of collections and collection time of every garbage
+ * collector. Operations can also be measured in pairs, where two operations
+ * alternate and each call is timed on its own, for operations such as enroll
+ * and drop that undo each other.
+ *
+ * @author Ashten Herr
+ */
+public class Benchmark {
+
+	/** Nanoseconds in a millisecond */
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	/** Format of a result row */
+	private static final String ROW_FORMAT = "%-44s %8d %10d %14.1f %14.1f %6d %8d%n";
+
+	/** Format of the header row */
+	private static final String HEADER_FORMAT = "%-44s %8s %10s %14s %14s %6s %8s%n";
+
+	/** Value operations pass to consume so their results are not optimized away */
+	private static volatile Object sink;
+
+	/** Thread bean used to read allocated bytes, null if it is not supported */
+	private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+	/**
+	 * An operation to measure. The invocation number lets an operation work on a
+	 * different record each time it is called.
+	 */
+	public interface Operation {
+
+		/**
+		 * Runs the operation once.
+		 *
+		 * @param invocation - number of this call, starting at 0
+		 * @throws Exception if the operation fails
+		 */
+		void run(int invocation) throws Exception;
+	}
+
+	/**
+	 * Prints the header for the result rows.
+	 */
+	public static void printHeader() {
+		System.out.printf(HEADER_FORMAT, "benchmark", "size", "ops", "ns/op", "B/op", "gcs", "gc ms");
+	}
+
+	/**
+	 * Keeps a result of an operation reachable so the JIT can not remove the work
+	 * that produced it.
+	 *
+	 * @param value - result of an operation
+	 */
+	public static void consume(Object value) {
+		sink = value;
+	}
+
+	/**
+	 * Measures an operation and prints its result row.
+	 *
+	 * @param name     - name of the benchmark
+	 * @param size     - number of records the benchmark runs against
+	 * @param warmup   - number of invocations before measuring
+	 * @param measured - number of measured invocations
+	 * @param op       - operation to measure
+	 * @throws Exception if the operation fails
+	 */
+	public static void measure(String name, int size, int warmup, int measured, Operation op) throws Exception {
+		for (int i = 0; i < warmup; i++) {
+			op.run(i);
+		}
+		long gcCount = gcCount();
+		long gcTime = gcTime();
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < measured; i++) {
+			op.run(warmup + i);
+		}
+		long elapsed = System.nanoTime() - start;
+		long allocated = allocatedBytes() - bytes;
+		print(name, size, measured, elapsed, allocated, gcCount() - gcCount, gcTime() - gcTime);
+	}
+
+	/**
+	 * Measures two operations that are run one after the other, timing each call
+	 * separately, and prints a result row for each. Garbage collections are
+	 * counted over the whole run and reported on both rows.
+	 *
+	 * @param firstName  - name of the first benchmark
+	 * @param secondName - name of the second benchmark
+	 * @param size       - number of records the benchmarks run against
+	 * @param warmup     - number of pairs run before measuring
+	 * @param measured   - number of measured pairs
+	 * @param first      - operation run first in each pair
+	 * @param second     - operation run second in each pair
+	 * @throws Exception if an operation fails
+	 */
+	public static void measurePair(String firstName, String secondName, int size, int warmup, int measured,
+			Operation first, Operation second) throws Exception {
+		for (int i = 0; i < warmup; i++) {
+			first.run(i);
+			second.run(i);
+		}
+		long gcCount = gcCount();
+		long gcTime = gcTime();
+		long firstElapsed = 0;
+		long secondElapsed = 0;
+		long firstAllocated = 0;
+		long secondAllocated = 0;
+		for (int i = 0; i < measured; i++) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			first.run(warmup + i);
+			long middle = System.nanoTime();
+			long middleBytes = allocatedBytes();
+			second.run(warmup + i);
+			secondElapsed += System.nanoTime() - middle;
+			secondAllocated += allocatedBytes() - middleBytes;
+			firstElapsed += middle - start;
+			firstAllocated += middleBytes - bytes;
+		}
+		long gcs = gcCount() - gcCount;
+		long gcMillis = gcTime() - gcTime;
+		print(firstName, size, measured, firstElapsed, firstAllocated, gcs, gcMillis);
+		print(secondName, size, measured, secondElapsed, secondAllocated, gcs, gcMillis);
+	}
+
+	/**
+	 * Prints one result row.
+	 *
+	 * @param name      - name of the benchmark
+	 * @param size      - number of records
+	 * @param ops       - number of measured operations
+	 * @param elapsed   - total nanoseconds of the operations
+	 * @param allocated - total bytes allocated, negative if unknown
+	 * @param gcs       - number of garbage collections
+	 * @param gcMillis  - milliseconds spent in garbage collection
+	 */
+	private static void print(String name, int size, int ops, long elapsed, long allocated, long gcs,
+			long gcMillis) {
+		double bytesPerOp = ALLOCATION_BEAN == null ? -1 : (double) allocated / ops;
+		System.out.printf(ROW_FORMAT, name, size, ops, (double) elapsed / ops, bytesPerOp, gcs, gcMillis);
+	}
+
+	/**
+	 * Returns the bytes allocated so far by the current thread.
+	 *
+	 * @return allocated bytes, 0 if they can not be measured
+	 */
+	private static long allocatedBytes() {
+		return ALLOCATION_BEAN == null ? 0 : ALLOCATION_BEAN.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Returns the total number of collections of every garbage collector.
+	 *
+	 * @return number of collections
+	 */
+	private static long gcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, gc.getCollectionCount());
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the total time spent by every garbage collector.
+	 *
+	 * @return collection time in milliseconds
+	 */
+	private static long gcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, gc.getCollectionTime());
+		}
+		return time;
+	}
+
+	/**
+	 * Returns the thread bean that can report allocated bytes, if the JVM has one.
+	 *
+	 * @return the thread bean, or null if allocation can not be measured
+	 */
+	private static com.sun.management.ThreadMXBean allocationBean() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+			if (allocation.isThreadAllocatedMemorySupported()) {
+				allocation.setThreadAllocatedMemoryEnabled(true);
+				return allocation;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns milliseconds as a readable string, used for setup timings.
+	 *
+	 * @param nanos - elapsed nanoseconds
+	 * @return the time in milliseconds
+	 */
+	public static String millis(long nanos) {
+		return String.format("%.1f ms", nanos / NANOS_PER_MILLI);
+	}
+}
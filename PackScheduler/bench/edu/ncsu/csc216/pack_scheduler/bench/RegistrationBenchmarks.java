@@ -0,0 +1,265 @@
+package edu.ncsu.csc216.pack_scheduler.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
+
+/**
+ * Benchmarks the registration hot paths at several catalog and directory sizes:
+ * logging in and out, enrolling, dropping and resetting a schedule through
+ * RegistrationManager, finding a course in the CourseCatalog, Schedule.canAdd,
+ * loading and saving course and student records, importing students with raw
+ * passwords, and loading a snapshot. Each size builds its own record files of
+ * that many courses and students in a temporary directory.
+ *
+ * Run from the PackScheduler directory, since RegistrationManager reads
+ * registrar.properties from the working directory, with the sizes to run as
+ * arguments (default 1000 10000 200000):
+ *
+ * <pre>
+ * java -cp bin:lib/CSC217Collections.jar edu.ncsu.csc216.pack_scheduler.bench.RegistrationBenchmarks 1000 200000
+ * </pre>
+ *
+ * @author Ashten Herr
+ */
+public class RegistrationBenchmarks {
+
+	/** Sizes run when none are given */
+	private static final int[] DEFAULT_SIZES = { 1000, 10000, 200000 };
+
+	/** Records read or written across all measured file operations of a size */
+	private static final int IO_RECORD_BUDGET = 400000;
+
+	/** Measured calls of the fast operations */
+	private static final int FAST_OPS = 200000;
+
+	/** Measured calls of operations that hash a password or change rolls */
+	private static final int REGISTRATION_OPS = 20000;
+
+	/** Meeting days given to generated courses in turn; "A" is arranged */
+	private static final String[] MEETING_DAYS = { "MW", "TH", "F", "MWF", "A" };
+
+	/** Course codes in a generated course name */
+	private static final int CODES_PER_PREFIX = 1000;
+
+	/** Letters used in generated course name prefixes */
+	private static final int LETTERS = 26;
+
+	/** Arranged courses a student enrolls in before resetSchedule */
+	private static final int RESET_COURSES = 4;
+
+	/** Password of every generated student */
+	private static final String PASSWORD = "pw";
+
+	/**
+	 * Runs the benchmarks for each size given, or the default sizes.
+	 *
+	 * @param args - sizes to run
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main(String[] args) throws Exception {
+		int[] sizes = DEFAULT_SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		File dir = Files.createTempDirectory("packscheduler-bench").toFile();
+		Benchmark.printHeader();
+		for (int size : sizes) {
+			run(size, dir);
+		}
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Runs every benchmark at one size.
+	 *
+	 * @param size - number of courses and students
+	 * @param dir  - directory for the record files
+	 * @throws Exception if a benchmark fails
+	 */
+	private static void run(int size, File dir) throws Exception {
+		String courseFile = new File(dir, "courses_" + size + ".txt").getPath();
+		String studentFile = new File(dir, "students_" + size + ".txt").getPath();
+		String outFile = new File(dir, "out_" + size + ".txt").getPath();
+		writeRecords(size, courseFile, studentFile);
+
+		// record loading and saving
+		int ioOps = Math.max(3, IO_RECORD_BUDGET / size);
+		int ioWarmup = Math.max(1, ioOps / 2);
+		SortedArrayList<Course> courses = CourseRecordIO.readCourseRecords(courseFile);
+		Benchmark.measure("CourseRecordIO.readCourseRecords", size, ioWarmup, ioOps,
+				i -> Benchmark.consume(CourseRecordIO.readCourseRecords(courseFile)));
+		Benchmark.measure("CourseRecordIO.parseCourseRecords", size, ioWarmup, ioOps,
+				i -> Benchmark.consume(CourseRecordIO.parseCourseRecords(courseFile)));
+		Benchmark.measure("CourseRecordIO.writeCourseRecords", size, ioWarmup, ioOps,
+				i -> CourseRecordIO.writeCourseRecords(outFile, courses));
+		SortedArrayList<Student> students = StudentRecordIO.readStudentRecords(studentFile);
+		Benchmark.measure("StudentRecordIO.readStudentRecords", size, ioWarmup, ioOps,
+				i -> Benchmark.consume(StudentRecordIO.readStudentRecords(studentFile)));
+		Benchmark.measure("StudentRecordIO.writeStudentRecords", size, ioWarmup, ioOps,
+				i -> StudentRecordIO.writeStudentRecords(outFile, students));
+		List<String> importRows = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			importRows.add("First,Last," + studentId(i) + "," + studentId(i) + "@ncsu.edu," + PASSWORD + ",18");
+		}
+		Benchmark.measure("StudentDirectory.importStudents", size, ioWarmup, ioOps,
+				i -> Benchmark.consume(new StudentDirectory().importStudents(importRows)));
+
+		RegistrationManager manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		manager.getStudentDirectory().loadStudentsFromFile(studentFile);
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile(courseFile);
+		String snapshotFile = new File(dir, "snapshot_" + size + ".bin").getPath();
+		manager.saveSnapshot(snapshotFile);
+		Benchmark.measure("SnapshotIO.readSnapshot", size, ioWarmup, ioOps,
+				i -> Benchmark.consume(SnapshotIO.readSnapshot(snapshotFile)));
+
+		// catalog lookups and schedule checks
+		String[] names = new String[size];
+		String[] sections = new String[size];
+		Course[] catalogCourses = new Course[size];
+		for (int i = 0; i < size; i++) {
+			names[i] = courseName(i);
+			sections[i] = "001";
+			catalogCourses[i] = catalog.getCourseFromCatalog(names[i], sections[i]);
+		}
+		Benchmark.measure("CourseCatalog.getCourseFromCatalog", size, FAST_OPS, FAST_OPS,
+				i -> Benchmark.consume(catalog.getCourseFromCatalog(names[spread(i, size)],
+						sections[spread(i, size)])));
+		Benchmark.measure("CourseCatalog.getCourseCatalog", size, ioWarmup, ioOps,
+				i -> Benchmark.consume(catalog.getCourseCatalog()));
+		Schedule schedule = new Schedule();
+		for (int i = 0; i < Math.min(size, MEETING_DAYS.length); i++) {
+			schedule.addCourseToSchedule(catalogCourses[i]);
+		}
+		Benchmark.measure("Schedule.canAdd", size, FAST_OPS, FAST_OPS,
+				i -> Benchmark.consume(schedule.canAdd(catalogCourses[spread(i, size)])));
+
+		// registration through the manager
+		Benchmark.measurePair("RegistrationManager.login", "RegistrationManager.logout", size, REGISTRATION_OPS,
+				REGISTRATION_OPS, i -> manager.login(studentId(spread(i, size)), PASSWORD), i -> manager.logout());
+		if (!manager.login(studentId(0), PASSWORD)) {
+			throw new IllegalStateException("Unable to log in as " + studentId(0));
+		}
+		Benchmark.measurePair("RegistrationManager.enrollStudentInCourse",
+				"RegistrationManager.dropStudentFromCourse", size, REGISTRATION_OPS, REGISTRATION_OPS,
+				i -> manager.enrollStudentInCourse(catalogCourses[spread(i, size)]),
+				i -> manager.dropStudentFromCourse(catalogCourses[spread(i, size)]));
+		Course[] arranged = arrangedCourses(catalogCourses);
+		Benchmark.measurePair("enroll x" + RESET_COURSES + " (resetSchedule setup)",
+				"RegistrationManager.resetSchedule", size, REGISTRATION_OPS, REGISTRATION_OPS, i -> {
+					for (Course c : arranged) {
+						manager.enrollStudentInCourse(c);
+					}
+				}, i -> manager.resetSchedule());
+		manager.logout();
+		manager.clearData();
+	}
+
+	/**
+	 * Writes course and student record files with the given number of records.
+	 *
+	 * @param size        - number of courses and students
+	 * @param courseFile  - file to write courses to
+	 * @param studentFile - file to write students to
+	 * @throws IllegalArgumentException if a file can not be written
+	 */
+	private static void writeRecords(int size, String courseFile, String studentFile) {
+		long start = System.nanoTime();
+		CourseCatalog catalog = new CourseCatalog();
+		for (int i = 0; i < size; i++) {
+			String days = MEETING_DAYS[i % MEETING_DAYS.length];
+			int startTime = "A".equals(days) ? 0 : 800 + (i % 12) * 100;
+			int endTime = "A".equals(days) ? 0 : startTime + 50;
+			catalog.addCourseToCatalog(courseName(i), "Course " + i, "001", 1 + i % 3, "prof" + (i % 50), 100, days,
+					startTime, endTime);
+		}
+		catalog.saveCourseCatalog(courseFile);
+		StudentDirectory directory = new StudentDirectory();
+		for (int i = 0; i < size; i++) {
+			directory.addStudent("First", "Last", studentId(i), studentId(i) + "@ncsu.edu", PASSWORD, PASSWORD, 18);
+		}
+		directory.saveStudentDirectory(studentFile);
+		System.out.println("# generated " + size + " courses and students in "
+				+ Benchmark.millis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Returns arranged courses for a student to enroll in, which can not conflict
+	 * with each other.
+	 *
+	 * @param courses - courses of the catalog
+	 * @return up to RESET_COURSES arranged courses
+	 */
+	private static Course[] arrangedCourses(Course[] courses) {
+		int count = 0;
+		Course[] arranged = new Course[RESET_COURSES];
+		for (int i = 0; i < courses.length && count < RESET_COURSES; i++) {
+			if ("A".equals(courses[i].getMeetingDays())) {
+				arranged[count++] = courses[i];
+			}
+		}
+		Course[] found = new Course[count];
+		System.arraycopy(arranged, 0, found, 0, count);
+		return found;
+	}
+
+	/**
+	 * Returns the name of the generated course with the given number, made of a
+	 * letter prefix and a three digit code.
+	 *
+	 * @param i - number of the course
+	 * @return the course name
+	 */
+	private static String courseName(int i) {
+		StringBuilder prefix = new StringBuilder();
+		int p = i / CODES_PER_PREFIX;
+		do {
+			prefix.insert(0, (char) ('A' + p % LETTERS));
+			p = p / LETTERS - 1;
+		} while (p >= 0);
+		return prefix + String.format("%03d", i % CODES_PER_PREFIX);
+	}
+
+	/**
+	 * Returns the id of the generated student with the given number.
+	 *
+	 * @param i - number of the student
+	 * @return the student id
+	 */
+	private static String studentId(int i) {
+		return "s" + i;
+	}
+
+	/**
+	 * Spreads invocation numbers over the records so consecutive calls do not touch
+	 * neighboring records.
+	 *
+	 * @param invocation - number of the call
+	 * @param size       - number of records
+	 * @return record number for the call
+	 */
+	private static int spread(int invocation, int size) {
+		return (int) ((invocation * 7919L) % size);
+	}
+}
@@ -2,16 +2,35 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.ChangeTracker;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListeners;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * CourseCatalog is a class that acts as a container for courses. A course
  * catalog is made of a sorted list of courses. Courses can be added/removed or
  * loaded/saved from files.
  * 
+ * Changes to the catalog are counted, so saving to the file the catalog was
+ * last saved to only writes when something changed since. Changes made to the
+ * courses themselves, such as assigning an instructor, are not seen by the
+ * catalog and must be reported with markChanged() or courseUpdated().
+ * 
+ * Listeners added with addRowListener() are told which rows of
+ * getCourseCatalog() were inserted, changed or deleted by each change, so a
+ * table showing the catalog can update just those rows.
  * 
  * @author Ashten Herr
  * @author Torin Cuany
@@ -24,7 +43,29 @@ public class CourseCatalog {
 	public static final int ARRAY_SIZE = 5;
 
 	/** Catalog of courses in sorted order */
-	SortedList<Course> catalog;
+	SortedArrayList<Course> catalog;
+
+	/**
+	 * Index of the courses in the catalog keyed by name and section. Kept in sync
+	 * with catalog so that lookups do not have to scan the sorted list, and read
+	 * without the catalog's lock so lookups from many threads do not wait on each
+	 * other or on a change.
+	 */
+	private volatile ConcurrentHashMap<String, Course> courseIndex;
+
+	/**
+	 * Index of the courses in the catalog by meeting day and time. Built when it
+	 * is first needed and cleared whenever the catalog changes, both while the
+	 * catalog is locked, so an index is never kept for a catalog that changed
+	 * while it was being built.
+	 */
+	private MeetingTimeIndex meetingTimeIndex;
+
+	/** Counts changes to the catalog and remembers where it was last saved */
+	private final ChangeTracker changes = new ChangeTracker();
+
+	/** Listeners of the rows of the catalog */
+	private final RowListeners rowListeners = new RowListeners();
 
 	/**
 	 * Constructor for CourseCatalog. Uses Default Constructor.
@@ -36,8 +77,12 @@ public class CourseCatalog {
 	/**
 	 * Clears course catalog for a newSortedList
 	 */
-	public void newCourseCatalog() {
-		this.catalog = new SortedList<Course>();
+	public synchronized void newCourseCatalog() {
+		this.catalog = new SortedArrayList<Course>();
+		this.courseIndex = new ConcurrentHashMap<String, Course>();
+		this.meetingTimeIndex = null;
+		changes.markChanged();
+		rowListeners.fireReplaced();
 	}
 
 	/**
@@ -47,9 +92,19 @@ public class CourseCatalog {
 	 * @param fileName - name of the file to load
 	 * @throws IllegalArgumentException if the file can not be read.
 	 */
-	public void loadCoursesFromFile(String fileName) {
+	public synchronized void loadCoursesFromFile(String fileName) {
 		try {
-			this.catalog = CourseRecordIO.readCourseRecords(fileName);
+			SortedArrayList<Course> courses = CourseRecordIO.readCourseRecords(fileName);
+			ConcurrentHashMap<String, Course> index = new ConcurrentHashMap<String, Course>();
+			for (int i = 0; i < courses.size(); i++) {
+				Course c = courses.get(i);
+				index.put(courseKey(c.getName(), c.getSection()), c);
+			}
+			this.catalog = courses;
+			this.courseIndex = index;
+			this.meetingTimeIndex = null;
+			changes.markChanged();
+			rowListeners.fireReplaced();
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file");
 		}
@@ -70,19 +125,25 @@ public class CourseCatalog {
 	 * @param endTime      - endTime of course in military time.
 	 * @return whether the course was added or not.
 	 */
-	public boolean addCourseToCatalog(String name, String title, String section, int credits, String instructorId,
+	public synchronized boolean addCourseToCatalog(String name, String title, String section, int credits, String instructorId,
 			int enrollmentCap, String meetingDays, int startTime, int endTime) {
 		// get the course being added based on the name and section
 		Course course = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime,
 				endTime);
 		// check for duplicates
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).isDuplicate(course)) {
-				return false;
-			}
+		String key = courseKey(name, section);
+		if (courseIndex.containsKey(key)) {
+			return false;
 		}
 		// add course and return true as all requirements have been met
 		this.catalog.add(course);
+		courseIndex.put(key, course);
+		meetingTimeIndex = null;
+		changes.markChanged();
+		if (rowListeners.hasListeners()) {
+			int idx = catalog.indexOf(course);
+			rowListeners.fireInserted(idx, idx);
+		}
 		return true;
 	}
 
@@ -94,17 +155,18 @@ public class CourseCatalog {
 	 * @param section - section of the course
 	 * @return whether course is removed successfully
 	 */
-	public boolean removeCourseFromCatalog(String name, String section) {
-
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section)) {
-				this.catalog.remove(i);
-				return true;
-			}
-
+	public synchronized boolean removeCourseFromCatalog(String name, String section) {
+		Course course = courseIndex.remove(courseKey(name, section));
+		if (course == null) {
+			// course was not found return false
+			return false;
 		}
-		// course was not found return false
-		return false;
+		int idx = catalog.indexOf(course);
+		this.catalog.remove(idx);
+		meetingTimeIndex = null;
+		changes.markChanged();
+		rowListeners.fireDeleted(idx, idx);
+		return true;
 	}
 
 	/**
@@ -116,12 +178,41 @@ public class CourseCatalog {
 	 * @return Course in catalog with the matching name and section.
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section)) {
-				return catalog.get(i);
-			}
+		long start = System.nanoTime();
+		Course course = courseIndex.get(courseKey(name, section));
+		Metrics.CATALOG_LOOKUP.record(start, course != null);
+		return course;
+	}
+
+	/**
+	 * Returns the courses in the catalog in sorted order, copied while the catalog
+	 * is locked so a change made at the same time is either all in the copy or
+	 * not in it at all.
+	 * 
+	 * @return a new read only list of the courses
+	 */
+	public synchronized List<Course> getCourses() {
+		return Collections.unmodifiableList(new ArrayList<Course>(catalog));
+	}
+
+	/**
+	 * Replaces the catalog with the given courses, sorted once.
+	 * 
+	 * @param courses - courses to put in the catalog, in any order
+	 * @throws IllegalArgumentException if two of the courses are equal
+	 */
+	public synchronized void loadCourses(Collection<Course> courses) {
+		SortedArrayList<Course> sorted = new SortedArrayList<Course>(courses);
+		ConcurrentHashMap<String, Course> index = new ConcurrentHashMap<String, Course>();
+		for (int i = 0; i < sorted.size(); i++) {
+			Course c = sorted.get(i);
+			index.put(courseKey(c.getName(), c.getSection()), c);
 		}
-		return null;
+		this.catalog = sorted;
+		this.courseIndex = index;
+		this.meetingTimeIndex = null;
+		changes.markChanged();
+		rowListeners.fireReplaced();
 	}
 
 	/**
@@ -130,33 +221,166 @@ public class CourseCatalog {
 	 * 
 	 * @return catalogArray of courses
 	 */
-	public String[][] getCourseCatalog() {
+	public synchronized String[][] getCourseCatalog() {
 		// create an empty catalog array
-		String[][] catalogArray = new String[catalog.size()][ARRAY_SIZE];
+		String[][] catalogArray = new String[catalog.size()][];
 		// for each course put in the name, section, and title that matches.
 		for (int i = 0; i < catalogArray.length; i++) {
-			catalogArray[i][0] = catalog.get(i).getName();
-			catalogArray[i][1] = catalog.get(i).getSection();
-			catalogArray[i][2] = catalog.get(i).getTitle();
-			catalogArray[i][3] = catalog.get(i).getMeetingString();
-			catalogArray[i][4] = catalog.get(i).getCourseRoll().getEnrollmentCap() + "";
+			catalogArray[i] = getCourseCatalogRow(i);
 		}
 		// return the fully filled array
 		return catalogArray;
 	}
 
+	/**
+	 * Returns one row of getCourseCatalog(), so a table told of a change to that
+	 * row does not have to copy the whole catalog.
+	 * 
+	 * The row is the course's shared catalog display array and must not be
+	 * modified.
+	 * 
+	 * @param idx - index of the course in the catalog
+	 * @return the name, section, title, meeting string and enrollment cap of the
+	 *         course
+	 * @throws IndexOutOfBoundsException if idx is not a row of the catalog
+	 */
+	public synchronized String[] getCourseCatalogRow(int idx) {
+		return catalog.get(idx).getCatalogDisplayArray();
+	}
+
+	/**
+	 * Returns every course in the catalog that could be added to the schedule: it
+	 * is not worth more than the remaining credits, no course with the same name
+	 * is already scheduled, and its meeting time does not conflict with a
+	 * scheduled course. Conflicts are found with the meeting time index rather
+	 * than by checking each course against each scheduled course. Courses are
+	 * returned in catalog order, from the catalog as it was when the index was
+	 * built.
+	 * 
+	 * @param schedule         - schedule the courses must fit in
+	 * @param remainingCredits - credits left to schedule
+	 * @return courses that fit the schedule
+	 * @throws IllegalArgumentException if the schedule is null
+	 */
+	public List<Course> getCoursesThatFit(Schedule schedule, int remainingCredits) {
+		if (schedule == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		MeetingTimeIndex index = getMeetingTimeIndex();
+		HashSet<String> scheduledNames = new HashSet<String>();
+		HashSet<Course> conflicts = new HashSet<Course>();
+		for (int i = 0; i < schedule.getNumScheduledCourses(); i++) {
+			Course scheduled = schedule.getScheduledCourse(i);
+			scheduledNames.add(scheduled.getName());
+			index.addConflicts(scheduled, conflicts);
+		}
+		List<Course> fits = new ArrayList<Course>();
+		for (Course c : index.getCourses()) {
+			if (c.getCredits() <= remainingCredits && !scheduledNames.contains(c.getName())
+					&& !conflicts.contains(c)) {
+				fits.add(c);
+			}
+		}
+		return fits;
+	}
+
+	/**
+	 * Returns the meeting time index of the catalog, building it if the catalog
+	 * changed since it was last built.
+	 * 
+	 * @return the index
+	 */
+	private synchronized MeetingTimeIndex getMeetingTimeIndex() {
+		if (meetingTimeIndex == null) {
+			meetingTimeIndex = new MeetingTimeIndex(catalog);
+		}
+		return meetingTimeIndex;
+	}
+
 	/**
 	 * Saves Courses to a file with a specified file name, throws exception if the
-	 * file can not be saved to.
+	 * file can not be saved to. Nothing is written if the catalog was last saved
+	 * to the same file, has not changed since and the file has not been touched.
 	 * 
 	 * @param fileName - Name of the file to save to.
+	 * @return whether the file was written
 	 * @throws IllegalArgumentException if the file can not be written to.
 	 */
-	public void saveCourseCatalog(String fileName) {
+	public synchronized boolean saveCourseCatalog(String fileName) {
+		if (changes.isSaved(fileName)) {
+			return false;
+		}
+		long saved = changes.getChanges();
 		try {
 			CourseRecordIO.writeCourseRecords(fileName, catalog);
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write file");
 		}
+		changes.saved(fileName, saved);
+		return true;
+	}
+
+	/**
+	 * Returns whether the catalog has changed since it was last saved.
+	 * 
+	 * @return true if there are unsaved changes
+	 */
+	public boolean isChanged() {
+		return changes.isChanged();
+	}
+
+	/**
+	 * Records a change to one of the courses in the catalog, so the next save
+	 * writes the file.
+	 */
+	public void markChanged() {
+		changes.markChanged();
+	}
+
+	/**
+	 * Records a change to a course in the catalog, such as assigning it an
+	 * instructor, and tells the row listeners its row changed.
+	 * 
+	 * @param course - course that changed
+	 */
+	public synchronized void courseUpdated(Course course) {
+		changes.markChanged();
+		if (rowListeners.hasListeners()) {
+			int idx = catalog.indexOf(course);
+			if (idx >= 0) {
+				rowListeners.fireUpdated(idx, idx);
+			}
+		}
+	}
+
+	/**
+	 * Adds a listener to be told of changes to the rows of getCourseCatalog().
+	 * 
+	 * @param listener - listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addRowListener(RowListener listener) {
+		rowListeners.add(listener);
+	}
+
+	/**
+	 * Removes a row listener.
+	 * 
+	 * @param listener - listener to remove
+	 * @return true if it was a listener
+	 */
+	public boolean removeRowListener(RowListener listener) {
+		return rowListeners.remove(listener);
+	}
+
+	/**
+	 * Returns the key a course is stored under in the course index.
+	 * 
+	 * @param name    - name of the course
+	 * @param section - section of the course
+	 * @return key for the name and section
+	 */
+	private static String courseKey(String name, String section) {
+		return name + "-" + section;
 	}
 }
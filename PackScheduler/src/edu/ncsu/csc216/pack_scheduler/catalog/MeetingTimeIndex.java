@@ -0,0 +1,133 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * MeetingTimeIndex groups a set of courses by the days they meet, with each
+ * day's courses sorted by start time. The courses that overlap an activity on a
+ * day are found with a binary search on start time, bounded by the longest
+ * course that meets that day, instead of checking every course. Arranged
+ * courses meet on no day and never appear in a result. The index is a snapshot
+ * that keeps its own copy of the courses, and must be rebuilt when they
+ * change.
+ *
+ * @author Ashten Herr
+ */
+public class MeetingTimeIndex {
+
+	/** Days that can conflict, in the order they are indexed */
+	private static final String DAYS = Activity.WEEK_DAYS;
+
+	/** Courses indexed, in the order given */
+	private List<Course> courses;
+
+	/** Courses meeting on each day, sorted by start time */
+	private Course[][] coursesByDay;
+
+	/** Start times of the courses meeting on each day, in the same order */
+	private int[][] startsByDay;
+
+	/** Longest course meeting on each day, as end time minus start time */
+	private int[] maxLengthByDay;
+
+	/**
+	 * Builds an index of the given courses.
+	 *
+	 * @param courses - courses to index
+	 */
+	public MeetingTimeIndex(List<Course> courses) {
+		this.courses = Collections.unmodifiableList(new ArrayList<Course>(courses));
+		List<List<Course>> days = new ArrayList<List<Course>>();
+		for (int d = 0; d < DAYS.length(); d++) {
+			days.add(new ArrayList<Course>());
+		}
+		for (Course c : this.courses) {
+			String meetingDays = c.getMeetingDays();
+			for (int i = 0; i < meetingDays.length(); i++) {
+				int d = DAYS.indexOf(meetingDays.charAt(i));
+				if (d >= 0) {
+					days.get(d).add(c);
+				}
+			}
+		}
+		coursesByDay = new Course[DAYS.length()][];
+		startsByDay = new int[DAYS.length()][];
+		maxLengthByDay = new int[DAYS.length()];
+		for (int d = 0; d < DAYS.length(); d++) {
+			Course[] dayCourses = days.get(d).toArray(new Course[0]);
+			Arrays.sort(dayCourses, Comparator.comparingInt(Course::getStartTime));
+			int[] starts = new int[dayCourses.length];
+			for (int i = 0; i < dayCourses.length; i++) {
+				starts[i] = dayCourses[i].getStartTime();
+				maxLengthByDay[d] = Math.max(maxLengthByDay[d], dayCourses[i].getEndTime() - starts[i]);
+			}
+			coursesByDay[d] = dayCourses;
+			startsByDay[d] = starts;
+		}
+	}
+
+	/**
+	 * Returns the courses indexed, in the order they were given.
+	 *
+	 * @return a read only list of the courses
+	 */
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Adds every indexed course whose meeting time conflicts with the activity to
+	 * the given set. Conflicts follow Activity.checkConflict: the courses share a
+	 * day and their times overlap or touch.
+	 *
+	 * @param activity  - activity to find conflicts with
+	 * @param conflicts - set the conflicting courses are added to
+	 */
+	public void addConflicts(Activity activity, Set<Course> conflicts) {
+		String meetingDays = activity.getMeetingDays();
+		int start = activity.getStartTime();
+		int end = activity.getEndTime();
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int d = DAYS.indexOf(meetingDays.charAt(i));
+			if (d < 0) {
+				continue;
+			}
+			// no course starting before this can still be meeting at start
+			int first = lowerBound(startsByDay[d], start - maxLengthByDay[d]);
+			for (int j = first; j < startsByDay[d].length && startsByDay[d][j] <= end; j++) {
+				if (coursesByDay[d][j].getEndTime() >= start) {
+					conflicts.add(coursesByDay[d][j]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the first index of a sorted array whose value is at least the key.
+	 *
+	 * @param values - sorted values
+	 * @param key    - value to find
+	 * @return first index with a value not less than key
+	 */
+	private static int lowerBound(int[] values, int key) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
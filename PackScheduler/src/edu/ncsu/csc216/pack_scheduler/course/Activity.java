@@ -6,7 +6,9 @@ package edu.ncsu.csc216.pack_scheduler.course;
  * and the fields the concrete class requires (course or event).
  * 
  * Activities have two versions of display arrays, a short and long one to
- * display in the schedule tabs.
+ * display in the schedule tabs. The meeting string is built once when the
+ * meeting days and time are set, and subclasses that keep display values are
+ * told through displayChanged() when a field they show changes.
  * 
  * @author Ashten Herr
  */
@@ -33,6 +35,11 @@ public abstract class Activity implements Conflict {
 	 * is less than 10. Used in converting military time to standard time.
 	 */
 	private static final int MINUTE_CONVERT = 10;
+	/**
+	 * WEEK_DAYS are the meeting days that can conflict, in bit order for the day
+	 * mask. Arranged ('A') is not a day and never conflicts.
+	 */
+	public static final String WEEK_DAYS = "MTWHFSU";
 	/** Course's title. */
 	private String title;
 	/** Course's meeting days */
@@ -41,6 +48,13 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Course's ending time in military time. */
 	private int endTime;
+	/**
+	 * Meeting days as a bit mask with one bit per WEEK_DAYS character, computed
+	 * when the meeting days are set so conflict checks do not compare strings.
+	 */
+	private int dayMask;
+	/** Meeting days and times as shown to users, built when they are set */
+	private String meetingString;
 
 	/**
 	 * Constructor for Activity which is the abstract class for an event or a
@@ -106,6 +120,7 @@ public abstract class Activity implements Conflict {
 			throw new IllegalArgumentException("Invalid title.");
 		}
 		this.title = title;
+		displayChanged();
 	}
 
 	/**
@@ -178,6 +193,42 @@ public abstract class Activity implements Conflict {
 		this.meetingDays = meetingDays;
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.dayMask = toDayMask(meetingDays);
+		// check that meetingDays is arranged
+		if ("A".equals(meetingDays)) {
+			this.meetingString = "Arranged";
+		} else {
+			this.meetingString = meetingDays + " " + getTimeString(startTime) + "-" + getTimeString(endTime);
+		}
+		displayChanged();
+	}
+
+	/**
+	 * Called after a field shown in the display arrays changes, so a subclass
+	 * that keeps its display arrays can drop them. Does nothing by default.
+	 */
+	protected void displayChanged() {
+		// nothing is kept by default
+	}
+
+	/**
+	 * Converts meeting days to a bit mask with a bit for each day in WEEK_DAYS.
+	 * Characters that are not week days, such as Arranged, set no bit.
+	 * 
+	 * @param meetingDays - meeting days as a string
+	 * @return bit mask of the meeting days
+	 */
+	private static int toDayMask(String meetingDays) {
+		int mask = 0;
+		if (meetingDays != null) {
+			for (int i = 0; i < meetingDays.length(); i++) {
+				int day = WEEK_DAYS.indexOf(meetingDays.charAt(i));
+				if (day >= 0) {
+					mask |= 1 << day;
+				}
+			}
+		}
+		return mask;
 	}
 
 	/**
@@ -190,12 +241,7 @@ public abstract class Activity implements Conflict {
 	 *         time
 	 */
 	public String getMeetingString() {
-		// check that meetingDays is arranged
-		if ("A".equals(meetingDays)) {
-			return "Arranged";
-		}
-		return meetingDays + " " + getTimeString(startTime) + "-" + getTimeString(endTime);
-
+		return meetingString;
 	}
 
 	/**
@@ -205,7 +251,7 @@ public abstract class Activity implements Conflict {
 	 * @param time - military time passed in
 	 * @return string value of time in regular form (ex 12:30PM)
 	 */
-	private String getTimeString(int time) {
+	static String getTimeString(int time) {
 		// set flag to tell if time is pm or am
 		boolean pm = false;
 		// find the hour value
@@ -259,49 +305,46 @@ public abstract class Activity implements Conflict {
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		// represents if two Activities have a similar meeting day
-		boolean dayFlag = false;
-		// Check if any of the days match for each of the Activities meeting days
-		for (int i = 0; i < this.getMeetingDays().length(); i++) {
-			// check each character with all other possible characters
-			for (int j = 0; j < possibleConflictingActivity.getMeetingDays().length(); j++) {
-				// check if the two characters match and are not an Arranged ('A') Activity
-				// Arranged days can have overlapping times.
-				if (this.getMeetingDays().charAt(i) == possibleConflictingActivity.getMeetingDays().charAt(j)
-						&& this.getMeetingDays().charAt(i) != 'A') {
-					// The Activities have a day in common other than an Arranged time.
-					// set dayFlag to true to represent that the Activities share a common day.
-					dayFlag = true;
-					break;
-
-				}
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
+		}
+	}
 
-			}
+	/**
+	 * explainConflict reports why the current instance of activity conflicts with
+	 * another activity, using the same rules as checkConflict.
+	 * 
+	 * @param possibleConflictingActivity - Activity that could have a possible time
+	 *                                    conflict with the current instance.
+	 * @return the shared days and overlapping time of the conflict, or null if the
+	 *         activities do not conflict
+	 */
+	public ConflictExplanation explainConflict(Activity possibleConflictingActivity) {
+		if (!conflictsWith(possibleConflictingActivity)) {
+			return null;
 		}
-		// if the Activities have a common day then check the times at which they occur.
-		if (dayFlag) {
-			// check if the start time is between the time interval of the
-			// possibleConflictingActivity or equal to a time value in the conflicting
-			// activity.
-			if (this.getStartTime() <= possibleConflictingActivity.getEndTime()
-					&& this.getStartTime() >= possibleConflictingActivity.getStartTime()) {
-				throw new ConflictException();
-			}
-			// check if the end time is between the time interval of the
-			// possibleConflictingActivity or equal to a time value in the conflicting
-			// activity.
-			if (this.getEndTime() <= possibleConflictingActivity.getEndTime()
-					&& this.getEndTime() >= possibleConflictingActivity.getStartTime()) {
-				throw new ConflictException();
-			}
-			// check that the possibleConflictingActivity times are not inside of the
-			// original activities time slots.
-			if (this.getStartTime() < possibleConflictingActivity.getStartTime()
-					&& this.getEndTime() > possibleConflictingActivity.getEndTime()) {
-				throw new ConflictException();
+		int sharedMask = dayMask & possibleConflictingActivity.dayMask;
+		StringBuilder sharedDays = new StringBuilder();
+		for (int day = 0; day < WEEK_DAYS.length(); day++) {
+			if ((sharedMask & (1 << day)) != 0) {
+				sharedDays.append(WEEK_DAYS.charAt(day));
 			}
 		}
+		return new ConflictExplanation(sharedDays.toString(),
+				Math.max(startTime, possibleConflictingActivity.startTime),
+				Math.min(endTime, possibleConflictingActivity.endTime));
+	}
 
+	/**
+	 * Returns whether the activities share a meeting day other than Arranged and
+	 * their times overlap. Times that only touch, such as one ending at 1330 and
+	 * the other starting at 1330, overlap.
+	 * 
+	 * @param other - activity to compare with
+	 * @return true if the activities conflict
+	 */
+	private boolean conflictsWith(Activity other) {
+		return (dayMask & other.dayMask) != 0 && startTime <= other.endTime && other.startTime <= endTime;
 	}
 
 	/**
@@ -0,0 +1,69 @@
+package edu.ncsu.csc216.pack_scheduler.course;
+
+/**
+ * ConflictExplanation describes why two activities conflict: the meeting days
+ * they share and the span of time on those days when both of them meet. Times
+ * are in military time like the rest of Activity.
+ *
+ * @author Ashten Herr
+ */
+public class ConflictExplanation {
+
+	/** Meeting days both activities share, in MTWHFSU order */
+	private String sharedDays;
+	/** Start of the span both activities meet, in military time */
+	private int overlapStart;
+	/** End of the span both activities meet, in military time */
+	private int overlapEnd;
+
+	/**
+	 * Constructs an explanation of a conflict.
+	 *
+	 * @param sharedDays   - meeting days both activities share
+	 * @param overlapStart - start of the span both activities meet
+	 * @param overlapEnd   - end of the span both activities meet
+	 */
+	public ConflictExplanation(String sharedDays, int overlapStart, int overlapEnd) {
+		this.sharedDays = sharedDays;
+		this.overlapStart = overlapStart;
+		this.overlapEnd = overlapEnd;
+	}
+
+	/**
+	 * Returns the meeting days both activities share.
+	 *
+	 * @return shared meeting days (MTWHFSU)
+	 */
+	public String getSharedDays() {
+		return sharedDays;
+	}
+
+	/**
+	 * Returns the start of the span both activities meet.
+	 *
+	 * @return overlap start in military time
+	 */
+	public int getOverlapStart() {
+		return overlapStart;
+	}
+
+	/**
+	 * Returns the end of the span both activities meet.
+	 *
+	 * @return overlap end in military time
+	 */
+	public int getOverlapEnd() {
+		return overlapEnd;
+	}
+
+	/**
+	 * Returns the conflict as a sentence, ex - "Conflict on MW 1:30PM-2:00PM".
+	 *
+	 * @return description of the conflict
+	 */
+	@Override
+	public String toString() {
+		return "Conflict on " + sharedDays + " " + Activity.getTimeString(overlapStart) + "-"
+				+ Activity.getTimeString(overlapEnd);
+	}
+}
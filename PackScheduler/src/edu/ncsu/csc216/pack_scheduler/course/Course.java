@@ -10,6 +10,16 @@ import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionExceptio
  * time. Allows the user to create a course with specified fields. User can
  * return all field methods.
  * 
+ * The display arrays are built the first time they are asked for and shared
+ * by every later caller, so callers must not modify them. They are built
+ * again only after a field they show changes: the title, section, credits,
+ * instructor, meeting days and time, or the open seats and enrollment cap of
+ * the roll. The counts are shown with strings made once for every count a
+ * roll can have, and a roll count is checked by comparing those strings, so
+ * showing an unchanged course allocates nothing. The arrays are built and
+ * dropped while the course is locked, so an array built from a field that
+ * changed at the same time is always dropped after it is stored.
+ * 
  * @author Ashten Herr
  */
 public class Course extends Activity implements Comparable<Course> {
@@ -28,6 +38,19 @@ public class Course extends Activity implements Comparable<Course> {
 	 * LONG_ARRAY_SIZE represents the long array size to store activity information.
 	 */
 	private static final int LONG_ARRAY_SIZE = 7;
+	/**
+	 * CATALOG_ARRAY_SIZE represents the array size to store catalog information.
+	 */
+	private static final int CATALOG_ARRAY_SIZE = 5;
+	/** Strings of the counts from 0 to the largest enrollment cap */
+	private static final String[] COUNT_STRINGS = new String[CourseRoll.MAX_ENROLLMENT + 1];
+
+	static {
+		for (int i = 0; i < COUNT_STRINGS.length; i++) {
+			COUNT_STRINGS[i] = Integer.toString(i);
+		}
+	}
+
 	/** Course's name. */
 	private String name;
 	/** Course's section. */
@@ -36,15 +59,16 @@ public class Course extends Activity implements Comparable<Course> {
 	private int credits;
 	/** Course's instructor */
 	private String instructorId;
-	/**
-	 * Course validator
-	 */
-	private CourseNameValidator validator;
-
 	/**
 	 * Course roll for the course.
 	 */
 	private CourseRoll roll;
+	/** Short display array, null until built or after a field it shows changes */
+	private String[] shortDisplay;
+	/** Long display array, null until built or after a field it shows changes */
+	private String[] longDisplay;
+	/** Catalog display array, null until built or after a field it shows changes */
+	private String[] catalogDisplay;
 
 	/**
 	 * Creates course object with all possible fields a name, title, section,
@@ -126,9 +150,8 @@ public class Course extends Activity implements Comparable<Course> {
 		if ("".equals(name)) {
 			throw new IllegalArgumentException("Invalid name");
 		}
-		validator = new CourseNameValidator();
 		try {
-			valid = validator.isValid(name);
+			valid = CourseNameValidator.isValidName(name);
 			if (valid) {
 				this.name = name;
 			}
@@ -217,6 +240,7 @@ public class Course extends Activity implements Comparable<Course> {
 			}
 		}
 		this.section = section;
+		displayChanged();
 	}
 
 	/**
@@ -241,6 +265,7 @@ public class Course extends Activity implements Comparable<Course> {
 			throw new IllegalArgumentException("Credits should be between 1 and 5, inclusive.");
 		}
 		this.credits = credits;
+		displayChanged();
 	}
 
 	/**
@@ -264,46 +289,107 @@ public class Course extends Activity implements Comparable<Course> {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 		this.instructorId = instructorId;
+		displayChanged();
 	}
 
 	/**
 	 * Returns a shortened array of course information to be used as a display in
-	 * WolfScheduler includes the course name, section, title, and meeting string.
+	 * WolfScheduler includes the course name, section, title, meeting string and
+	 * open seats. The array is shared and must not be modified.
 	 * 
 	 * @return short version of display array
 	 */
 	@Override
 	public String[] getShortDisplayArray() {
-		// create array length 4 and fill fields and return
-		String[] shortDisplay = new String[SHORT_ARRAY_SIZE];
-		shortDisplay[0] = getName();
-		shortDisplay[1] = getSection();
-		shortDisplay[2] = getTitle();
-		shortDisplay[3] = getMeetingString();
-		shortDisplay[4] = roll.getOpenSeats() + "";
-		return shortDisplay;
+		// read before locking the course, so the roll is never locked inside it
+		String openSeats = countString(roll.getOpenSeats());
+		synchronized (this) {
+			String[] display = shortDisplay;
+			// rebuilt after a field changes or a student enrolls or drops
+			if (display == null || display[4] != openSeats) {
+				display = new String[SHORT_ARRAY_SIZE];
+				display[0] = getName();
+				display[1] = getSection();
+				display[2] = getTitle();
+				display[3] = getMeetingString();
+				display[4] = openSeats;
+				shortDisplay = display;
+			}
+			return display;
+		}
 	}
 
 	/**
 	 * Returns a long version of an array of course information used to display
 	 * course information. Long display array contains the course name, section,
 	 * title, credits, Instructor ID, meeting string and and empty string for an
-	 * event field.
+	 * event field. The array is shared and must not be modified.
 	 * 
 	 * @return long array version of the display array
 	 */
 	@Override
-	public String[] getLongDisplayArray() {
-		// create array length 7 and fill fields and return
-		String[] longDisplay = new String[LONG_ARRAY_SIZE];
-		longDisplay[0] = getName();
-		longDisplay[1] = getSection();
-		longDisplay[2] = getTitle();
-		longDisplay[3] = "" + getCredits();
-		longDisplay[4] = getInstructorId();
-		longDisplay[5] = getMeetingString();
-		longDisplay[6] = "";
-		return longDisplay;
+	public synchronized String[] getLongDisplayArray() {
+		String[] display = longDisplay;
+		if (display == null) {
+			display = new String[LONG_ARRAY_SIZE];
+			display[0] = getName();
+			display[1] = getSection();
+			display[2] = getTitle();
+			display[3] = countString(getCredits());
+			display[4] = getInstructorId();
+			display[5] = getMeetingString();
+			display[6] = "";
+			longDisplay = display;
+		}
+		return display;
+	}
+
+	/**
+	 * Returns the row of course information shown in the course catalog: the
+	 * course name, section, title, meeting string and enrollment cap. The array
+	 * is shared and must not be modified.
+	 * 
+	 * @return catalog version of the display array
+	 */
+	public String[] getCatalogDisplayArray() {
+		String enrollmentCap = countString(roll.getEnrollmentCap());
+		synchronized (this) {
+			String[] display = catalogDisplay;
+			if (display == null || display[4] != enrollmentCap) {
+				display = new String[CATALOG_ARRAY_SIZE];
+				display[0] = getName();
+				display[1] = getSection();
+				display[2] = getTitle();
+				display[3] = getMeetingString();
+				display[4] = enrollmentCap;
+				catalogDisplay = display;
+			}
+			return display;
+		}
+	}
+
+	/**
+	 * Drops the display arrays so they are built again with the changed field.
+	 */
+	@Override
+	protected synchronized void displayChanged() {
+		shortDisplay = null;
+		longDisplay = null;
+		catalogDisplay = null;
+	}
+
+	/**
+	 * Returns a count as a string, using the same string for the same count
+	 * whenever the count is one a roll can have.
+	 * 
+	 * @param count - count to show
+	 * @return the count as a string
+	 */
+	private static String countString(int count) {
+		if (count >= 0 && count < COUNT_STRINGS.length) {
+			return COUNT_STRINGS[count];
+		}
+		return Integer.toString(count);
 	}
 
 	/**
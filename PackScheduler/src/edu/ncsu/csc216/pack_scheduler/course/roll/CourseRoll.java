@@ -1,13 +1,24 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.pack_scheduler.metrics.WaitlistPromotionEvent;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedSetQueue;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListeners;
 
 /**
  * Creates a Cousre Roll object
  * 
+ * The rows of a roll, as sent to its row listeners, are the enrolled students
+ * in the order they enrolled followed by the waitlisted students from first to
+ * last. A student promoted off the waitlist keeps their row.
+ * 
  * @author Daniel Katowitz
  * @author Aditya Konidena
  * @author Ashten Herr
@@ -16,9 +27,10 @@ import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
 public class CourseRoll {
 
 	/**
-	 * A linked abstract list called roll
+	 * Enrolled students keyed by id in the order they enrolled. A student's id
+	 * can not change, so it stays a valid key while their other fields change.
 	 */
-	private LinkedAbstractList<Student> roll;
+	private LinkedHashMap<String, Student> roll;
 	/**
 	 * Enrollment capacity for the list
 	 */
@@ -31,32 +43,55 @@ public class CourseRoll {
 	 * Maximum enrollment capacity
 	 */
 	public static final int MAX_ENROLLMENT = 250;
+	/**
+	 * Waitlist capacity of a roll when none is given
+	 */
+	public static final int DEFAULT_WAITLIST_SIZE = 10;
 
 	/**
-	 * Using a queue for the waitlist
+	 * Students waiting for a seat, keyed by id like the roll so a student can be
+	 * found or removed without dequeuing the students ahead of them
 	 */
-	private LinkedQueue<Student> waitlist;
+	private LinkedSetQueue<Student> waitlist;
 
 	/** course the roll carries*/
 	private Course course;
 
+	/** Listeners of the rows of the roll */
+	private final RowListeners rowListeners = new RowListeners();
+
 	/**
-	 * Constructor for CourseRoll object; instantiates an empty linked abstract list
-	 * with the capacity provided
+	 * Constructor for CourseRoll object; instantiates an empty roll with the
+	 * capacity provided and a waitlist of the default size
 	 * 
-	 * @param capacity the capacity of the linked abstract list
+	 * @param capacity the capacity of the roll
 	 * @param c - course of the course roll
 	 * 
 	 * @throws IllegalArgumentException if the course is null
 	 */
 	public CourseRoll(Course c, int capacity) {
+		this(c, capacity, DEFAULT_WAITLIST_SIZE);
+	}
+
+	/**
+	 * Constructor for CourseRoll object; instantiates an empty roll and waitlist
+	 * with the capacities provided
+	 * 
+	 * @param c - course of the course roll
+	 * @param capacity the capacity of the roll
+	 * @param waitlistCapacity the capacity of the waitlist
+	 * 
+	 * @throws IllegalArgumentException if the course is null or either capacity
+	 *                                  is invalid
+	 */
+	public CourseRoll(Course c, int capacity, int waitlistCapacity) {
 		if (c == null) {
 			throw new IllegalArgumentException();
 		}
 		course = c;
 		setEnrollmentCap(capacity);
-		roll = new LinkedAbstractList<Student>(enrollmentCap);
-		waitlist = new LinkedQueue<Student>(10);
+		roll = new LinkedHashMap<String, Student>();
+		waitlist = new LinkedSetQueue<Student>(waitlistCapacity, Student::getId);
 	}
 
 	/**
@@ -67,7 +102,7 @@ public class CourseRoll {
 	 *                                  Minimum enrollment or greater than the
 	 *                                  Maximum enrollment
 	 */
-	public void setEnrollmentCap(int capacity) {
+	public synchronized void setEnrollmentCap(int capacity) {
 
 		if (capacity < MIN_ENROLLMENT || capacity > MAX_ENROLLMENT) {
 			throw new IllegalArgumentException();
@@ -77,16 +112,6 @@ public class CourseRoll {
 			throw new IllegalArgumentException();
 		} else {
 			enrollmentCap = capacity;
-			if (roll != null) {
-				LinkedAbstractList<Student> newRoll = new LinkedAbstractList<Student>(capacity);
-
-				for (int i = 0; i < roll.size(); i++) {
-					newRoll.add(i, roll.get(i));
-				}
-				
-				roll = newRoll;
-			}
-
 		}
 	}
 
@@ -95,7 +120,7 @@ public class CourseRoll {
 	 * 
 	 * @return Open seats in a course.
 	 */
-	public int getOpenSeats() {
+	public synchronized int getOpenSeats() {
 		return enrollmentCap - roll.size();
 	}
 
@@ -104,10 +129,30 @@ public class CourseRoll {
 	 * 
 	 * @return enrollment capacity of a course.
 	 */
-	public int getEnrollmentCap() {
+	public synchronized int getEnrollmentCap() {
 		return enrollmentCap;
 	}
 
+	/**
+	 * Returns the number of students that can wait for a seat.
+	 * 
+	 * @return waitlist capacity of the course.
+	 */
+	public synchronized int getWaitlistCap() {
+		return waitlist.getCapacity();
+	}
+
+	/**
+	 * Sets the number of students that can wait for a seat.
+	 * 
+	 * @param capacity - waitlist capacity of the course
+	 * @throws IllegalArgumentException if the capacity is negative or less than
+	 *                                  the number of students waiting
+	 */
+	public synchronized void setWaitlistCap(int capacity) {
+		waitlist.setCapacity(capacity);
+	}
+
 	/**
 	 * Enrolls a student into a course. Throws exception if the student is null,
 	 * there is no more open seats, or if the student is already enrolled.
@@ -116,7 +161,7 @@ public class CourseRoll {
 	 * @throws IllegalArgumentException if the student is null, the course is full,
 	 *                                  or if the student is already enrolled.
 	 */
-	public void enroll(Student s) {
+	public synchronized void enroll(Student s) {
 		// Check for null
 		if (s == null) {
 			throw new IllegalArgumentException();
@@ -124,93 +169,123 @@ public class CourseRoll {
 
 		// If there are no open seats check the waitlist
 		if (getOpenSeats() <= 0) {
-			if (waitlist.size() == 10) {
-				// no room to add to waitlist
-				throw new IllegalArgumentException();
-			} else {
-
-				boolean isDuplicate = false;
-
-				for (int i = 0; i < waitlist.size(); i++) {
-					Student check = waitlist.dequeue();
-					if (check.equals(s)) {
-						isDuplicate = true;
-					}
-					waitlist.enqueue(check);
-				}
-
-				// If its a duplicate throw IAE otherwise add to waitlist
-				if (isDuplicate) {
-					throw new IllegalArgumentException();
-				} else {
-					waitlist.enqueue(s);
-				}
-			}
+			// throws IAE if there is no room on the waitlist or the student is already
+			// waiting
+			waitlist.enqueue(s);
+			Metrics.WAITLIST_ADD.increment();
+			int row = roll.size() + waitlist.size() - 1;
+			rowListeners.fireInserted(row, row);
 
 		} else {
 
 			// Check for duplicates
-			for (int i = 0; i < roll.size(); i++) {
-				if (roll.get(i).equals(s)) {
-					throw new IllegalArgumentException();
-				}
+			if (isEnrolled(s)) {
+				throw new IllegalArgumentException();
 			}
 
-			// Add at the rolls size
-			roll.add(roll.size(), s);
+			// Add at the end of the roll
+			roll.put(s.getId(), s);
+			rowListeners.fireInserted(roll.size() - 1, roll.size() - 1);
 		}
 
 	}
 
 	/**
 	 * Drops a student from a course if the student is null or an exception is
-	 * thrown from searching for student an IAE is thrown.
+	 * thrown from searching for student an IAE is thrown. If the student was
+	 * enrolled, the first student on the waitlist takes their seat and is
+	 * returned. The roll does not change the promoted student's schedule; the
+	 * caller does that while holding the promoted student's lock.
 	 * 
 	 * @param s - student being dropped.
+	 * @return the student promoted off the waitlist, or null if no one was
 	 * @throws IllegalArgumentException if the student is null or another exception
 	 *                                  is thrown while removing the student.
 	 */
-	public void drop(Student s) {
+	public synchronized Student drop(Student s) {
 		if (s == null) {
 			throw new IllegalArgumentException();
 		}
 
 		boolean flag = false;
+		Student addedStudent = null;
 
 		// Check roll for student
 		try {
-			for (int i = 0; i < roll.size(); i++) {
-				if (roll.get(i).equals(s)) {
-					roll.remove(i);
-
-					// If there is someone on the waitlist enroll after removing the student
-					if (getNumberOnWaitlist() >= 1) {
-						Student addedStudent = waitlist.dequeue();
-						roll.add(addedStudent);
-						addedStudent.getSchedule().addCourseToSchedule(course);
-
-					}
-					flag = true;
-					break;
+			if (isEnrolled(s)) {
+				int row = rowListeners.hasListeners() ? indexOf(roll.keySet(), s.getId()) : 0;
+				roll.remove(s.getId());
+				rowListeners.fireDeleted(row, row);
+
+				// If there is someone on the waitlist enroll after removing the student
+				if (getNumberOnWaitlist() >= 1) {
+					WaitlistPromotionEvent event = new WaitlistPromotionEvent();
+					event.begin();
+					addedStudent = waitlist.dequeue();
+					roll.put(addedStudent.getId(), addedStudent);
+					// first on the waitlist and last enrolled are the same row
+					rowListeners.fireUpdated(roll.size() - 1, roll.size() - 1);
+					Metrics.WAITLIST_PROMOTION.increment();
+					event.commit(addedStudent.getId(), course, waitlist.size());
 
 				}
+				flag = true;
 			}
 		} catch (NullPointerException e) {
 			//Do nothing
 		}
-		// check on the waitlist, student was not found in course roll
+		// check on the waitlist, student was not found in course roll. The students
+		// behind them keep their order.
 		if (!flag) {
-			for (int j = 0; j < waitlist.size(); j++) {
-				Student check = waitlist.dequeue();
-				// if the student dequeued is not the specified student then re-enroll them on
-				// the waitlist, maintains sorted order as all students are dequeued than
-				// enqueued (except the removed student)
-				if (!check.equals(s)) {
-					waitlist.enqueue(check);
+			int row = -1;
+			if (rowListeners.hasListeners() && waitlist.contains(s)) {
+				List<String> waiting = new ArrayList<String>();
+				for (Student w : waitlist.toList()) {
+					waiting.add(w.getId());
 				}
+				row = roll.size() + indexOf(waiting, s.getId());
+			}
+			if (waitlist.remove(s) && row >= 0) {
+				rowListeners.fireDeleted(row, row);
 			}
 		}
+		return addedStudent;
+	}
 
+	/**
+	 * Fills an empty roll and waitlist with students saved from another roll, in
+	 * the order given. Unlike enroll(), the students are placed exactly where they
+	 * were even if the roll has open seats, and no statistics or row events are
+	 * sent. Nothing changes if an exception is thrown.
+	 *
+	 * @param enrolled   - enrolled students in the order they enrolled
+	 * @param waitlisted - waitlisted students from first to last
+	 * @throws IllegalArgumentException if the roll or waitlist is not empty, a
+	 *                                  list is null or holds a null, a student is
+	 *                                  given twice, or either list is larger than
+	 *                                  its capacity
+	 */
+	public synchronized void restore(List<Student> enrolled, List<Student> waitlisted) {
+		if (enrolled == null || waitlisted == null || !roll.isEmpty() || !waitlist.isEmpty()
+				|| enrolled.size() > enrollmentCap) {
+			throw new IllegalArgumentException();
+		}
+		LinkedHashMap<String, Student> restoredRoll = new LinkedHashMap<String, Student>();
+		for (Student s : enrolled) {
+			if (s == null || restoredRoll.put(s.getId(), s) != null) {
+				throw new IllegalArgumentException();
+			}
+		}
+		// throws IAE if a student is given twice or there is no room
+		LinkedSetQueue<Student> restoredWaitlist = new LinkedSetQueue<Student>(waitlist.getCapacity(), Student::getId);
+		for (Student s : waitlisted) {
+			if (s == null || restoredRoll.containsKey(s.getId())) {
+				throw new IllegalArgumentException();
+			}
+			restoredWaitlist.enqueue(s);
+		}
+		roll = restoredRoll;
+		waitlist = restoredWaitlist;
 	}
 
 	/**
@@ -220,32 +295,64 @@ public class CourseRoll {
 	 * @param s - student being checked for enrollment eligibility.
 	 * @return whether the student can be enrolled.
 	 */
-	public boolean canEnroll(Student s) {
-		if (getNumberOnWaitlist() == 10) {
+	public synchronized boolean canEnroll(Student s) {
+		// No seat and no room on the waitlist
+		if (getOpenSeats() <= 0 && getNumberOnWaitlist() >= getWaitlistCap()) {
 			return false;
-		} else if (getNumberOnWaitlist() < 10 || getOpenSeats() >= 1) {
-			// Search for duplicates
-			for (int i = 0; i < roll.size(); i++) {
-				if (roll.get(i).equals(s)) {
-					return false;
-				}
-			}
-			boolean flag = false;
-			for (int i = 0; i < waitlist.size(); i++) {
-				Student check = waitlist.dequeue();
-				if (check.equals(s)) {
-					flag = true;
-				}
-				waitlist.enqueue(check);
+		}
 
-			}
+		// Search for duplicates
+		return !isEnrolled(s) && !waitlist.contains(s);
+	}
+
+	/**
+	 * Returns whether the student is on the roll. Students are identified by id,
+	 * which is unique in the student directory.
+	 * 
+	 * @param s - student to look for
+	 * @return true if a student with the same id is enrolled
+	 */
+	public synchronized boolean isEnrolled(Student s) {
+		return s != null && roll.containsKey(s.getId());
+	}
 
-			if (flag) {
-				return false;
+	/**
+	 * Returns the position of an id among the ids of the roll or waitlist.
+	 * 
+	 * @param ids - ids in row order
+	 * @param id  - id to find
+	 * @return position of the id, or -1 if it is not there
+	 */
+	private static int indexOf(Iterable<String> ids, String id) {
+		int i = 0;
+		for (String other : ids) {
+			if (other.equals(id)) {
+				return i;
 			}
+			i++;
 		}
+		return -1;
+	}
+
+	/**
+	 * Adds a listener to be told when students are added to or removed from the
+	 * rows of the roll.
+	 * 
+	 * @param listener - listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addRowListener(RowListener listener) {
+		rowListeners.add(listener);
+	}
 
-		return true;
+	/**
+	 * Removes a row listener.
+	 * 
+	 * @param listener - listener to remove
+	 * @return true if it was a listener
+	 */
+	public boolean removeRowListener(RowListener listener) {
+		return rowListeners.remove(listener);
 	}
 
 	/**
@@ -253,7 +360,25 @@ public class CourseRoll {
 	 * 
 	 * @return amount of students on waitlist.
 	 */
-	public int getNumberOnWaitlist() {
+	public synchronized int getNumberOnWaitlist() {
 		return waitlist.size();
 	}
+
+	/**
+	 * Returns the enrolled students in the order they enrolled.
+	 * 
+	 * @return a new list of the enrolled students
+	 */
+	public synchronized List<Student> getEnrolledStudents() {
+		return new ArrayList<Student>(roll.values());
+	}
+
+	/**
+	 * Returns the students on the waitlist from first to last.
+	 * 
+	 * @return a new list of the waitlisted students
+	 */
+	public synchronized List<Student> getWaitlistedStudents() {
+		return waitlist.toList();
+	}
 }
@@ -11,6 +11,56 @@ package edu.ncsu.csc216.pack_scheduler.course.validator;
  */
 public class CourseNameValidator {
 
+	/** Character class of a letter in the transition table */
+	private static final int LETTER = 0;
+
+	/** Character class of a digit in the transition table */
+	private static final int DIGIT = 1;
+
+	/** Character class of any other character in the transition table */
+	private static final int OTHER = 2;
+
+	/** Table entry for a transition the FSM does not allow */
+	private static final int REJECT = -1;
+
+	/**
+	 * Character class of each ASCII character. Characters past ASCII are checked by
+	 * the state objects, which use Character.isLetter and Character.isDigit.
+	 */
+	private static final int[] ASCII_CLASS = new int[128];
+
+	/**
+	 * Next state for each state and character class, with the states numbered in
+	 * the order of the state fields below: initial, L, LL, LLL, LLLL, D, DD, DDD
+	 * and suffix.
+	 */
+	private static final int[][] TRANSITIONS = {
+			{ 1, REJECT, REJECT }, // initial
+			{ 2, 5, REJECT }, // L
+			{ 3, 5, REJECT }, // LL
+			{ 4, 5, REJECT }, // LLL
+			{ REJECT, 5, REJECT }, // LLLL
+			{ REJECT, 6, REJECT }, // D
+			{ REJECT, 7, REJECT }, // DD
+			{ 8, REJECT, REJECT }, // DDD
+			{ REJECT, REJECT, REJECT } // suffix
+	};
+
+	/** Whether each numbered state is a valid end state */
+	private static final boolean[] ACCEPTING = { false, false, false, false, false, false, false, true, true };
+
+	static {
+		for (int c = 0; c < ASCII_CLASS.length; c++) {
+			if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
+				ASCII_CLASS[c] = LETTER;
+			} else if (c >= '0' && c <= '9') {
+				ASCII_CLASS[c] = DIGIT;
+			} else {
+				ASCII_CLASS[c] = OTHER;
+			}
+		}
+	}
+
 	/**
 	 * Current State of CourseNameValidator
 	 */
@@ -97,6 +147,34 @@ public class CourseNameValidator {
 		throw new InvalidTransitionException();
 	}
 
+	/**
+	 * isValidName checks a course name against the same FSM as isValid without
+	 * creating a validator. The FSM is walked through a shared transition table,
+	 * so it is safe to call from any thread and a valid name allocates nothing.
+	 * Names the table rejects, and names with characters past ASCII, are checked
+	 * again by a new validator's isValid so they fail with the same
+	 * InvalidTransitionException and message.
+	 * 
+	 * @param courseName - course name being tested for validity
+	 * @return true if the course name is valid
+	 * @throws InvalidTransitionException - if the name is not a valid course name
+	 */
+	public static boolean isValidName(String courseName) throws InvalidTransitionException {
+		int current = 0;
+		for (int i = 0; i < courseName.length() && current != REJECT; i++) {
+			char c = courseName.charAt(i);
+			if (c >= ASCII_CLASS.length) {
+				current = REJECT;
+			} else {
+				current = TRANSITIONS[current][ASCII_CLASS[c]];
+			}
+		}
+		if (current != REJECT && ACCEPTING[current]) {
+			return true;
+		}
+		return new CourseNameValidator().isValid(courseName);
+	}
+
 	/**
 	 * State class to implement isValid method. Course name has a state for every
 	 * possible character a course can have. A course state has three options a
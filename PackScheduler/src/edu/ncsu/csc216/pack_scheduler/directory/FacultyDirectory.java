@@ -2,28 +2,33 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.ChangeTracker;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
 
 /**
  * Faculty Directory manages a group of faculty members, Faculty Members are
- * stored in a linked list and can be added, removed and loaded/saved from
- * files.
+ * stored by id in the order they were added and can be added, removed and
+ * loaded/saved from files. Saving to the file the directory was last saved to
+ * only writes when the directory changed since.
  * 
  * @author Ashten Herr, Aditya Konidena
  *
  */
 public class FacultyDirectory {
 
-	/** facultyDirectory holds faculty in a linked list */
-	private LinkedList<Faculty> facultyDirectory;
+	/** facultyDirectory holds faculty keyed by id in the order they were added */
+	private LinkedHashMap<String, Faculty> facultyDirectory;
 
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Counts changes to the directory and remembers where it was last saved */
+	private final ChangeTracker changes = new ChangeTracker();
 
 	/**
 	 * Constructor creates a new empty facultyDirectory to hold faculty members.
@@ -33,10 +38,11 @@ public class FacultyDirectory {
 	}
 
 	/**
-	 * Sets the current facultyDirectory to a new empty linked list.
+	 * Sets the current facultyDirectory to a new empty directory.
 	 */
-	public void newFacultyDirectory() {
-		facultyDirectory = new LinkedList<Faculty>();
+	public synchronized void newFacultyDirectory() {
+		facultyDirectory = new LinkedHashMap<String, Faculty>();
+		changes.markChanged();
 	}
 
 	/**
@@ -45,9 +51,15 @@ public class FacultyDirectory {
 	 * @param filename - file being loaded from
 	 * @throws IllegalArgumentException if not able to read file
 	 */
-	public void loadFacultyFromFile(String filename) {
+	public synchronized void loadFacultyFromFile(String filename) {
 		try {
-			facultyDirectory = FacultyRecordIO.readFacultyRecords(filename);
+			LinkedList<Faculty> faculty = FacultyRecordIO.readFacultyRecords(filename);
+			LinkedHashMap<String, Faculty> directory = new LinkedHashMap<String, Faculty>();
+			for (Faculty f : faculty) {
+				directory.put(f.getId(), f);
+			}
+			facultyDirectory = directory;
+			changes.markChanged();
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + filename);
 		}
@@ -68,41 +80,28 @@ public class FacultyDirectory {
 	 * @throws IllegalArgumentException for any invalid case
 	 * @return - whether the faculty member was successfully added or not
 	 */
-	public boolean addFaculty(String firstName, String lastName, String id, String email, String password,
+	public synchronized boolean addFaculty(String firstName, String lastName, String id, String email, String password,
 			String repeatPassword, int maxCourses) {
-		String hashPW = "";
-		String repeatHashPW = "";
 		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
 			throw new IllegalArgumentException("Invalid password");
 		}
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(password.getBytes());
-			hashPW = new String(digest1.digest());
-
-			MessageDigest digest2 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest2.update(repeatPassword.getBytes());
-			repeatHashPW = new String(digest2.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
-
-		if (!hashPW.equals(repeatHashPW)) {
+		// equal passwords have equal hashes, so only one needs hashing
+		if (!password.equals(repeatPassword)) {
 			throw new IllegalArgumentException("Passwords do not match");
 		}
+		String hashPW = PasswordHasher.hash(password);
 
 		// If an IllegalArgumentException is thrown, it's passed up from Student
 		// to the GUI
 		Faculty faculty = null;
 		faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCourses);
 
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty f = facultyDirectory.get(i);
-			if (faculty.getId().equals(f.getId())) {
-				return false;
-			}
+		if (facultyDirectory.containsKey(faculty.getId())) {
+			return false;
 		}
-		return facultyDirectory.add(faculty);
+		facultyDirectory.put(faculty.getId(), faculty);
+		changes.markChanged();
+		return true;
 	}
 
 	/**
@@ -113,14 +112,12 @@ public class FacultyDirectory {
 	 * @param id - id of faculty member being removed
 	 * @return whether the faculty was successfully removed
 	 */
-	public boolean removeFaculty(String id) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equals(id)) {
-				facultyDirectory.remove(i);
-				return true;
-			}
+	public synchronized boolean removeFaculty(String id) {
+		if (facultyDirectory.remove(id) == null) {
+			return false;
 		}
-		return false;
+		changes.markChanged();
+		return true;
 	}
 
 	/**
@@ -128,43 +125,83 @@ public class FacultyDirectory {
 	 * 
 	 * @return String array of faculty informations
 	 */
-	public String[][] getFacultyDirectory() {
+	public synchronized String[][] getFacultyDirectory() {
 		String[][] displayArray = new String[facultyDirectory.size()][3];
 
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			displayArray[i][0] = facultyDirectory.get(i).getFirstName();
-			displayArray[i][1] = facultyDirectory.get(i).getLastName();
-			displayArray[i][2] = facultyDirectory.get(i).getId();
+		int i = 0;
+		for (Faculty f : facultyDirectory.values()) {
+			displayArray[i][0] = f.getFirstName();
+			displayArray[i][1] = f.getLastName();
+			displayArray[i][2] = f.getId();
+			i++;
 		}
 		return displayArray;
 	}
 
 	/**
 	 * Saves the current facultyDirectory to a file by referencing the IO class.
+	 * Nothing is written if the directory was last saved to the same file, has
+	 * not changed since and the file has not been touched.
 	 * 
 	 * @param filename - filename being saved to
+	 * @return whether the file was written
 	 * @throws IllegalArgumentException if data cannot be written to file
 	 */
-	public void saveFacultyDirectory(String filename) {
+	public synchronized boolean saveFacultyDirectory(String filename) {
+		if (changes.isSaved(filename)) {
+			return false;
+		}
+		long saved = changes.getChanges();
 		try {
-			FacultyRecordIO.writeFacultyRecords(filename, facultyDirectory);
+			FacultyRecordIO.writeFacultyRecords(filename, facultyDirectory.values());
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + filename);
 		}
+		changes.saved(filename, saved);
+		return true;
+	}
+
+	/**
+	 * Returns whether the directory has changed since it was last saved.
+	 * 
+	 * @return true if there are unsaved changes
+	 */
+	public boolean isChanged() {
+		return changes.isChanged();
 	}
 
 	/**
-	 * Returns faculty member in linked list with a specific id.
+	 * Returns faculty member in the directory with a specific id.
 	 * 
 	 * @param id - id of the faculty member
-	 * @return faculty member with specific id
+	 * @return faculty member with specific id, null if there is no such member
 	 */
-	public Faculty getFacultyById(String id) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equals(id)) {
-				return facultyDirectory.get(i);
-			}
+	public synchronized Faculty getFacultyById(String id) {
+		return facultyDirectory.get(id);
+	}
+
+	/**
+	 * Returns the faculty in the directory in the order they were added, copied
+	 * while the directory is locked.
+	 * 
+	 * @return a new list of the faculty
+	 */
+	public synchronized List<Faculty> getFaculty() {
+		return new ArrayList<Faculty>(facultyDirectory.values());
+	}
+
+	/**
+	 * Replaces the directory with the given faculty, kept in the given order. A
+	 * faculty member with the same id as an earlier one is left out.
+	 * 
+	 * @param faculty - faculty to put in the directory
+	 */
+	public synchronized void loadFaculty(Collection<Faculty> faculty) {
+		LinkedHashMap<String, Faculty> directory = new LinkedHashMap<String, Faculty>();
+		for (Faculty f : faculty) {
+			directory.putIfAbsent(f.getId(), f);
 		}
-		return null;
+		facultyDirectory = directory;
+		changes.markChanged();
 	}
 }
@@ -2,16 +2,27 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
+import edu.ncsu.csc216.pack_scheduler.io.RecordLoadResult;
+import edu.ncsu.csc216.pack_scheduler.io.RecordTokenizer;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.ChangeTracker;
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * Maintains a directory of all students enrolled at NC State. All students have
- * a unique id.
+ * a unique id. Saving to the file the directory was last saved to only writes
+ * when the directory changed since.
  * 
  * @author Sarah Heckman
  * @author Ashten Herr
@@ -19,9 +30,16 @@ import edu.ncsu.csc217.collections.list.SortedList;
 public class StudentDirectory {
 
 	/** List of students in the directory */
-	private SortedList<Student> studentDirectory;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	private SortedArrayList<Student> studentDirectory;
+	/**
+	 * Students in the directory keyed by id, kept in sync with studentDirectory
+	 * and read without the directory's lock
+	 */
+	private volatile ConcurrentHashMap<String, Student> studentIndex;
+	/** Fewest rows importStudents() parses in parallel */
+	private static final int PARALLEL_IMPORT_ROWS = 64;
+	/** Counts changes to the directory and remembers where it was last saved */
+	private final ChangeTracker changes = new ChangeTracker();
 
 	/**
 	 * Creates an empty student directory.
@@ -34,20 +52,30 @@ public class StudentDirectory {
 	 * Creates an empty student directory. All students in the previous list are
 	 * list unless saved by the user.
 	 */
-	public void newStudentDirectory() {
-		studentDirectory = new SortedList<Student>();
+	public synchronized void newStudentDirectory() {
+		studentDirectory = new SortedArrayList<Student>();
+		studentIndex = new ConcurrentHashMap<String, Student>();
+		changes.markChanged();
 	}
 
 	/**
 	 * Constructs the student directory by reading in student information from the
 	 * given file. Throws an IllegalArgumentException if the file cannot be found.
+	 * The file is bulk loaded, so the directory is built with a single sort.
 	 * 
 	 * @param fileName file containing list of students
 	 * @throws IllegalArgumentException - if the file can not be read/found
 	 */
-	public void loadStudentsFromFile(String fileName) {
+	public synchronized void loadStudentsFromFile(String fileName) {
 		try {
-			studentDirectory = StudentRecordIO.readStudentRecords(fileName);
+			SortedArrayList<Student> students = StudentRecordIO.readStudentRecords(fileName);
+			ConcurrentHashMap<String, Student> index = new ConcurrentHashMap<String, Student>();
+			for (int i = 0; i < students.size(); i++) {
+				index.put(students.get(i).getId(), students.get(i));
+			}
+			studentDirectory = students;
+			studentIndex = index;
+			changes.markChanged();
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
@@ -75,26 +103,14 @@ public class StudentDirectory {
 	 */
 	public boolean addStudent(String firstName, String lastName, String id, String email, String password,
 			String repeatPassword, int maxCredits) {
-		String hashPW = "";
-		String repeatHashPW = "";
 		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
 			throw new IllegalArgumentException("Invalid password");
 		}
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(password.getBytes());
-			hashPW = new String(digest1.digest());
-
-			MessageDigest digest2 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest2.update(repeatPassword.getBytes());
-			repeatHashPW = new String(digest2.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
-
-		if (!hashPW.equals(repeatHashPW)) {
+		// equal passwords have equal hashes, so only one needs hashing
+		if (!password.equals(repeatPassword)) {
 			throw new IllegalArgumentException("Passwords do not match");
 		}
+		String hashPW = PasswordHasher.hash(password);
 
 		// If an IllegalArgumentException is thrown, it's passed up from Student
 		// to the GUI
@@ -105,13 +121,110 @@ public class StudentDirectory {
 			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 		}
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
+		synchronized (this) {
+			if (studentIndex.containsKey(student.getId())) {
 				return false;
 			}
+			studentDirectory.add(student);
+			studentIndex.put(student.getId(), student);
+			changes.markChanged();
+			return true;
+		}
+	}
+
+	/**
+	 * Adds students from rows of comma separated text, one student per row, with
+	 * the fields first name, last name, id, email, password and max credits. The
+	 * password is given as it is typed and hashed here. Rows are parsed and their
+	 * passwords hashed in parallel on the common fork-join pool, and the students
+	 * are then merged into the directory with a single sort. A row is rejected if
+	 * it is not a valid student, or if its id is already in the directory or on
+	 * an earlier row.
+	 * 
+	 * @param rows - rows of student fields
+	 * @return the students added, the number of rows, and the row number starting
+	 *         at 1 and reason of every rejected row
+	 */
+	public RecordLoadResult<Student> importStudents(List<String> rows) {
+		int count = rows.size();
+		Student[] parsed = new Student[count];
+		String[] errors = new String[count];
+		IntStream indexes = IntStream.range(0, count);
+		if (count >= PARALLEL_IMPORT_ROWS) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(i -> {
+			try {
+				parsed[i] = importStudent(rows.get(i));
+			} catch (IllegalArgumentException e) {
+				errors[i] = e.getMessage();
+			}
+		});
+
+		List<Student> added = new ArrayList<Student>();
+		SortedArrayList<Student> imported;
+		List<Integer> rejectedRows = new ArrayList<Integer>();
+		List<String> rejectReasons = new ArrayList<String>();
+		synchronized (this) {
+			HashSet<String> ids = new HashSet<String>();
+			for (int i = 0; i < count; i++) {
+				if (errors[i] == null) {
+					String id = parsed[i].getId();
+					if (studentIndex.containsKey(id) || !ids.add(id)) {
+						errors[i] = "Duplicate id " + id;
+					}
+				}
+				if (errors[i] == null) {
+					added.add(parsed[i]);
+				} else {
+					rejectedRows.add(i + 1);
+					rejectReasons.add(errors[i]);
+				}
+			}
+			imported = new SortedArrayList<Student>(added);
+			if (!added.isEmpty()) {
+				// both halves are sorted runs, which the sort merges in one pass
+				List<Student> merged = new ArrayList<Student>(studentDirectory.size() + added.size());
+				merged.addAll(studentDirectory);
+				merged.addAll(imported);
+				studentDirectory = new SortedArrayList<Student>(merged);
+				for (Student s : added) {
+					studentIndex.put(s.getId(), s);
+				}
+				changes.markChanged();
+			}
+		}
+		return new RecordLoadResult<Student>(imported, count, rejectedRows, rejectReasons);
+	}
+
+	/**
+	 * Makes a student from one row given to importStudents().
+	 * 
+	 * @param row - first name, last name, id, email, password and max credits
+	 * @return the student, with the password hashed
+	 * @throws IllegalArgumentException if the row is not a valid student
+	 */
+	private static Student importStudent(String row) {
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		tokenizer.reset(row);
+		try {
+			String firstName = tokenizer.next();
+			String lastName = tokenizer.next();
+			String id = tokenizer.next();
+			String email = tokenizer.next();
+			String password = tokenizer.next();
+			int maxCredits = tokenizer.nextInt();
+			if (tokenizer.hasNext()) {
+				throw new IllegalArgumentException("Improper file format.");
+			}
+			if ("".equals(password)) {
+				throw new IllegalArgumentException("Invalid password");
+			}
+			return new Student(firstName, lastName, id, email, PasswordHasher.hash(password), maxCredits);
+		} catch (NoSuchElementException e) {
+			// also covers InputMismatchException for a credit value that is not a number
+			throw new IllegalArgumentException("Improper file format.");
 		}
-		return studentDirectory.add(student);
 	}
 
 	/**
@@ -122,15 +235,14 @@ public class StudentDirectory {
 	 * @param studentId student's id
 	 * @return true if removed
 	 */
-	public boolean removeStudent(String studentId) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
-				studentDirectory.remove(i);
-				return true;
-			}
+	public synchronized boolean removeStudent(String studentId) {
+		Student s = studentId == null ? null : studentIndex.remove(studentId);
+		if (s == null) {
+			return false;
 		}
-		return false;
+		studentDirectory.remove(studentDirectory.indexOf(s));
+		changes.markChanged();
+		return true;
 	}
 
 	/**
@@ -139,7 +251,7 @@ public class StudentDirectory {
 	 * 
 	 * @return String array containing students first name, last name, and id.
 	 */
-	public String[][] getStudentDirectory() {
+	public synchronized String[][] getStudentDirectory() {
 		String[][] directory = new String[studentDirectory.size()][3];
 		for (int i = 0; i < studentDirectory.size(); i++) {
 			Student s = studentDirectory.get(i);
@@ -151,17 +263,35 @@ public class StudentDirectory {
 	}
 
 	/**
-	 * Saves all students in the directory to a file.
+	 * Saves all students in the directory to a file. Nothing is written if the
+	 * directory was last saved to the same file, has not changed since and the
+	 * file has not been touched.
 	 * 
 	 * @param fileName name of file to save students to.
+	 * @return whether the file was written
 	 * @throws IllegalArgumentException - if the file can not be written to.
 	 */
-	public void saveStudentDirectory(String fileName) {
+	public synchronized boolean saveStudentDirectory(String fileName) {
+		if (changes.isSaved(fileName)) {
+			return false;
+		}
+		long saved = changes.getChanges();
 		try {
 			StudentRecordIO.writeStudentRecords(fileName, studentDirectory);
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
+		changes.saved(fileName, saved);
+		return true;
+	}
+
+	/**
+	 * Returns whether the directory has changed since it was last saved.
+	 * 
+	 * @return true if there are unsaved changes
+	 */
+	public boolean isChanged() {
+		return changes.isChanged();
 	}
 
 	/**
@@ -174,15 +304,34 @@ public class StudentDirectory {
 	 *         student does not exist)
 	 */
 	public Student getStudentById(String id) {
-		
-		//check each student in the directory
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			if (studentDirectory.get(i).getId().equals(id)) {
-				//return student if ID matches
-				return studentDirectory.get(i);
-			}
+		return id == null ? null : studentIndex.get(id);
+	}
+
+	/**
+	 * Returns the students in the directory in sorted order, copied while the
+	 * directory is locked so a change made at the same time is either all in the
+	 * copy or not in it at all.
+	 * 
+	 * @return a new read only list of the students
+	 */
+	public synchronized List<Student> getStudents() {
+		return Collections.unmodifiableList(new ArrayList<Student>(studentDirectory));
+	}
+
+	/**
+	 * Replaces the directory with the given students, sorted once.
+	 * 
+	 * @param students - students to put in the directory, in any order
+	 * @throws IllegalArgumentException if two of the students are equal
+	 */
+	public synchronized void loadStudents(Collection<Student> students) {
+		SortedArrayList<Student> sorted = new SortedArrayList<Student>(students);
+		ConcurrentHashMap<String, Student> index = new ConcurrentHashMap<String, Student>();
+		for (int i = 0; i < sorted.size(); i++) {
+			index.put(sorted.get(i).getId(), sorted.get(i));
 		}
-		//no corresponding student return null.
-		return null;
+		studentDirectory = sorted;
+		studentIndex = index;
+		changes.markChanged();
 	}
 }
@@ -1,17 +1,30 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.InputMismatchException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Set;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.metrics.Events;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.pack_scheduler.metrics.RecordFileLoadEvent;
+import edu.ncsu.csc216.pack_scheduler.metrics.RecordFileSaveEvent;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * Reads Course records from text files. Writes a set of CourseRecords to a
@@ -28,99 +41,172 @@ public class CourseRecordIO {
 	 * invalid Courses are ignored. If the file to read cannot be found or the
 	 * permissions are incorrect a File NotFoundException is thrown.
 	 * 
+	 * The file is parsed by parseCourseRecords() and the instructors are then
+	 * assigned from the faculty directory by resolveInstructors().
+	 * 
 	 * @param fileName file to read Course records from
 	 * @return a list of valid Courses
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
-	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
+	public static SortedArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
+		return resolveInstructors(parseCourseRecords(fileName),
+				RegistrationManager.getInstance().getFacultyDirectory().getFaculty());
+	}
 
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
-		SortedList<Course> courses = new SortedList<Course>(); // Create an empty array of Course objects
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
+	/**
+	 * Parses the course records of a file without assigning any instructors. Each
+	 * valid course is kept in file order with the instructor id given for it, and
+	 * invalid lines and later lines with the name and section of a course already
+	 * read are ignored.
+	 * 
+	 * The file is read through one buffered reader and every line is split by the
+	 * same reused tokenizer. Duplicate courses are found with a set of the name and
+	 * section of each course read so far, so parsing a file takes time linear in
+	 * its length. Nothing outside the file is read, so files can be parsed on any
+	 * thread.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @return the parsed courses and their instructor ids
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ParsedCourseRecords parseCourseRecords(String fileName) throws FileNotFoundException {
+		return parseCourseRecords(fileName, LoadProgress.NONE);
+	}
 
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+	/**
+	 * Parses the course records of a file as parseCourseRecords() does, reporting
+	 * the lines read to the given progress as the file is read. Invalid lines and
+	 * duplicate courses are counted as rejected.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param progress progress to report to, which can stop the read
+	 * @return the parsed courses and their instructor ids
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws java.util.concurrent.CancellationException if the progress stops
+	 *                               the read
+	 */
+	public static ParsedCourseRecords parseCourseRecords(String fileName, LoadProgress progress)
+			throws FileNotFoundException {
+		RecordFileLoadEvent event = new RecordFileLoadEvent();
+		event.begin();
+		long start = System.nanoTime();
+		BufferedReader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName)));
+		ParsedCourseRecords parsed = new ParsedCourseRecords();
+		// name and section of every course parsed
+		HashSet<String> courseKeys = new HashSet<String>();
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		int lineNumber = 0;
+		try {
+			String line = fileReader.readLine();
+			while (line != null) {
+				lineNumber++;
+				try {
+					// If trying to construct a Course in readCourse() results in an exception,
+					// flow of control will transfer to the catch block, below
+					readCourse(line, tokenizer, parsed, courseKeys);
+				} catch (IllegalArgumentException e) {
+					// The line is invalid b/c we couldn't create a course, skip it!
+				}
+				if (lineNumber % LoadProgress.INTERVAL == 0) {
+					progress.report(lineNumber, lineNumber - parsed.size());
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the ArrayList!
-				} // Otherwise ignore
-			} catch (IllegalArgumentException e) {
-				// The line is invalid b/c we couldn't create a course, skip it!
+				line = fileReader.readLine();
+			}
+		} catch (IOException e) {
+			// a read error ends the file, keep the courses read up to it
+		} finally {
+			try {
+				fileReader.close();
+			} catch (IOException e) {
+				// nothing left to read from the file
 			}
 		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
-		// Return the ArrayList with all the courses we read!
-		return courses;
+		progress.report(lineNumber, lineNumber - parsed.size());
+		Metrics.COURSE_LOAD.record(start, parsed.size());
+		event.commit(fileName, Events.COURSES, lineNumber, parsed.size());
+		return parsed;
 	}
 
 	/**
-	 * Takes the input file and creates a course object out of it
+	 * Assigns parsed courses to their instructors and returns the valid courses
+	 * in sorted order. The faculty are indexed by id once, the courses are grouped
+	 * by instructor, and each instructor's courses are added to their schedule in
+	 * one call, in file order. A course whose instructor is not one of the faculty
+	 * is kept with no instructor, and a course its instructor can not be assigned,
+	 * because it conflicts with or repeats a scheduled course, is left out.
 	 * 
-	 * @return A course object based off the input file
-	 * @throws IllegalArgumentException if things are broken
-	 * @param nextLine A string that represents all the info in a course object
+	 * @param parsed  - courses parsed from a course record file
+	 * @param faculty - faculty to assign courses to
+	 * @return a list of valid Courses
 	 */
-	private static Course readCourse(String nextLine) {
-
-		Scanner lineScanner = new Scanner(nextLine);
+	public static SortedArrayList<Course> resolveInstructors(ParsedCourseRecords parsed, Collection<Faculty> faculty) {
+		HashMap<String, Faculty> facultyById = new HashMap<String, Faculty>();
+		for (Faculty f : faculty) {
+			facultyById.put(f.getId(), f);
+		}
+		// courses of each instructor found, in file order
+		LinkedHashMap<String, List<Course>> assignments = new LinkedHashMap<String, List<Course>>();
+		for (int i = 0; i < parsed.size(); i++) {
+			String id = parsed.getInstructorId(i);
+			if (facultyById.containsKey(id)) {
+				assignments.computeIfAbsent(id, k -> new ArrayList<Course>()).add(parsed.getCourse(i));
+			}
+		}
+		// courses are compared by identity, since equal names and sections were removed
+		Set<Course> rejected = Collections.newSetFromMap(new IdentityHashMap<Course, Boolean>());
+		for (Map.Entry<String, List<Course>> entry : assignments.entrySet()) {
+			rejected.addAll(facultyById.get(entry.getKey()).getSchedule().addCoursesToSchedule(entry.getValue()));
+		}
+		List<Course> courses = new ArrayList<Course>(parsed.size());
+		for (int i = 0; i < parsed.size(); i++) {
+			if (!rejected.contains(parsed.getCourse(i))) {
+				courses.add(parsed.getCourse(i));
+			}
+		}
+		return new SortedArrayList<Course>(courses);
+	}
 
-		lineScanner.useDelimiter(",");
+	/**
+	 * Takes a line of the input file, creates a course object out of it and adds
+	 * it to the parsed records if no course with its name and section was parsed.
+	 * 
+	 * @throws IllegalArgumentException if things are broken
+	 * @param nextLine   A string that represents all the info in a course object
+	 * @param tokenizer  tokenizer to split the line with
+	 * @param parsed     records to add the course to
+	 * @param courseKeys name and section of every course parsed
+	 */
+	private static void readCourse(String nextLine, RecordTokenizer tokenizer, ParsedCourseRecords parsed,
+			HashSet<String> courseKeys) {
+		tokenizer.reset(nextLine);
 		try {
-			String cName = lineScanner.next();
-			String cTitle = lineScanner.next();
-			String cSection = lineScanner.next();
-			int cCredits = lineScanner.nextInt();
-			String cInstructor = lineScanner.next();
-			int cEnrollmentCap = lineScanner.nextInt();
-			String cDays = lineScanner.next();
+			String cName = tokenizer.next();
+			String cTitle = tokenizer.next();
+			String cSection = tokenizer.next();
+			int cCredits = tokenizer.nextInt();
+			String cInstructor = tokenizer.next();
+			int cEnrollmentCap = tokenizer.nextInt();
+			String cDays = tokenizer.next();
+			Course course;
 			if ("A".equals(cDays)) {
-				if (lineScanner.hasNext()) {
-					lineScanner.close();
+				if (tokenizer.hasNext()) {
 					throw new IllegalArgumentException("Arranged schedule can not have start/end time");
-				} else {
-					lineScanner.close();
-
-					Course course = new Course(cName, cTitle, cSection, cCredits, null, cEnrollmentCap, cDays);
-					if (RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(cInstructor) != null) {
-						RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(cInstructor)
-								.getSchedule().addCourseToSchedule(course);
-					}
-					return course;
 				}
+				course = new Course(cName, cTitle, cSection, cCredits, null, cEnrollmentCap, cDays);
+			} else {
+				int startTime = tokenizer.nextInt();
+				int endTime = tokenizer.nextInt();
+				course = new Course(cName, cTitle, cSection, cCredits, null, cEnrollmentCap, cDays, startTime,
+						endTime);
 			}
-			int startTime = lineScanner.nextInt();
-			int endTime = lineScanner.nextInt();
-			lineScanner.close();
-			Course course = new Course(cName, cTitle, cSection, cCredits, null, cEnrollmentCap, cDays, startTime,
-					endTime);
 
-			if (RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(cInstructor) != null) {
-				RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(cInstructor).getSchedule()
-						.addCourseToSchedule(course);
+			// Only add the course if no course with its name and section has been read
+			if (courseKeys.add(course.getName() + "-" + course.getSection())) {
+				parsed.add(course, cInstructor);
 			}
-			return course;
 
-		} catch (InputMismatchException e) {
-			throw new IllegalArgumentException("Wrong file format.");
 		} catch (NoSuchElementException e) {
+			// also covers InputMismatchException for fields that are not numbers
 			throw new IllegalArgumentException("Wrong file format.");
 		}
 
@@ -128,7 +214,8 @@ public class CourseRecordIO {
 
 	/**
 	 * This method takes an ArrayList of courses and writes to a file of specified
-	 * name
+	 * name. The file is replaced in one step once every course is written, so it
+	 * is never left half written.
 	 * 
 	 * @throws IOException if it is unable to write to file
 	 * @param fileName A string with the name of the file that The courseRecord will
@@ -136,18 +223,14 @@ public class CourseRecordIO {
 	 * @param courses  This is the arraylist that stores all of the course objects
 	 *                 that will be written to the file
 	 */
-	public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-		// This goes through each index in the arraylist and prints it to the file
-		if (courses.size() > 0) {
-			fileWriter.print(courses.get(0).toString());
-			for (int i = 1; i < courses.size(); i++) {
-				fileWriter.print("\n" + courses.get(i).toString());
-			}
-			// Close the Scanner b/c we're responsible with our file handles
-			fileWriter.close();
-		}
-
+	public static void writeCourseRecords(String fileName, List<Course> courses) throws IOException {
+		RecordFileSaveEvent event = new RecordFileSaveEvent();
+		event.begin();
+		long start = System.nanoTime();
+		// courses are separated by newlines, with none after the last
+		int written = RecordFileWriter.writeRecords(fileName, courses, false);
+		Metrics.COURSE_SAVE.record(start, written);
+		event.commit(fileName, Events.COURSES, written);
 	}
 
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.PrintStream;
+import java.io.IOException;
 import java.util.InputMismatchException;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import edu.ncsu.csc216.pack_scheduler.metrics.Events;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.pack_scheduler.metrics.RecordFileLoadEvent;
+import edu.ncsu.csc216.pack_scheduler.metrics.RecordFileSaveEvent;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
 
@@ -27,31 +30,62 @@ public class FacultyRecordIO {
 	 * @throws FileNotFoundException - if the file can not be found.
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String filename) throws FileNotFoundException {
+		return readFacultyRecords(filename, LoadProgress.NONE);
+	}
+
+	/**
+	 * Reads a faculty file as readFacultyRecords() does, reporting the lines read
+	 * to the given progress as the file is read. Invalid lines and faculty with
+	 * the id of an earlier one are counted as rejected.
+	 * 
+	 * @param filename - file name of the file being read
+	 * @param progress - progress to report to, which can stop the read
+	 * @return Linked list of faculty members from file
+	 * @throws FileNotFoundException - if the file can not be found.
+	 * @throws java.util.concurrent.CancellationException if the progress stops
+	 *                               the read
+	 */
+	public static LinkedList<Faculty> readFacultyRecords(String filename, LoadProgress progress)
+			throws FileNotFoundException {
+		RecordFileLoadEvent event = new RecordFileLoadEvent();
+		event.begin();
+		long start = System.nanoTime();
 		// create scanner for scanning the file
 		Scanner fileReader = new Scanner(new FileInputStream(filename));
 		// create an array list of students to return
 		LinkedList<Faculty> faculty = new LinkedList<Faculty>();
-		// while the text file has a next line check it to see if it is a valid student
-		while (fileReader.hasNextLine()) {
-			String line = fileReader.nextLine();
-			try {
-				Faculty newFaculty = processFaculty(line);
-				boolean flag = false;
-				for (Faculty f : faculty) {
-					if (f.getId().equals(newFaculty.getId())) {
-						flag = true;
+		int lineNumber = 0;
+		try {
+			// while the text file has a next line check it to see if it is a valid student
+			while (fileReader.hasNextLine()) {
+				String line = fileReader.nextLine();
+				lineNumber++;
+				try {
+					Faculty newFaculty = processFaculty(line);
+					boolean flag = false;
+					for (Faculty f : faculty) {
+						if (f.getId().equals(newFaculty.getId())) {
+							flag = true;
+						}
 					}
-				}
 
-				if (!flag) {
-					faculty.add(newFaculty);
-				}
+					if (!flag) {
+						faculty.add(newFaculty);
+					}
 
-			} catch (IllegalArgumentException e) {
-				// Skip the line the faculty object was invalid.
+				} catch (IllegalArgumentException e) {
+					// Skip the line the faculty object was invalid.
+				}
+				if (lineNumber % LoadProgress.INTERVAL == 0) {
+					progress.report(lineNumber, lineNumber - faculty.size());
+				}
 			}
+		} finally {
+			fileReader.close();
 		}
-		fileReader.close();
+		progress.report(lineNumber, lineNumber - faculty.size());
+		Metrics.FACULTY_LOAD.record(start, faculty.size());
+		event.commit(filename, Events.FACULTY, lineNumber, faculty.size());
 		return faculty;
 	}
 
@@ -93,19 +127,28 @@ public class FacultyRecordIO {
 	/**
 	 * Writes faculty records to a file, exception is thrown if the file name can
 	 * not be written to. Utilizes the faculty toString method and writes each out.
+	 * The file is replaced in one step once every faculty member is written.
 	 * 
 	 * @param filename - filename being written to
-	 * @param faculty  - faculty LinkedList of faculty members being written
+	 * @param faculty  - faculty members being written, in the order to write them
 	 * @throws FileNotFoundException - if the file can not be written to
 	 */
-	public static void writeFacultyRecords(String filename, LinkedList<Faculty> faculty) throws FileNotFoundException {
-		// Prints to the specified file
-		PrintStream fileWriter = new PrintStream(new File(filename));
-		// print each student from list
-		for (Faculty f : faculty) {
-			fileWriter.println(f.toString());
+	public static void writeFacultyRecords(String filename, Iterable<Faculty> faculty) throws FileNotFoundException {
+		try {
+			RecordFileSaveEvent event = new RecordFileSaveEvent();
+			event.begin();
+			long start = System.nanoTime();
+			// each faculty member is printed on its own line
+			int written = RecordFileWriter.writeRecords(filename, faculty, true);
+			Metrics.FACULTY_SAVE.record(start, written);
+			event.commit(filename, Events.FACULTY, written);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			FileNotFoundException notWritten = new FileNotFoundException(filename + " (" + e.getMessage() + ")");
+			notWritten.initCause(e);
+			throw notWritten;
 		}
-		fileWriter.close();
 	}
 
 }
@@ -0,0 +1,44 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Receives the progress of a record file being read, and can stop the read.
+ * The readers report every INTERVAL lines and once more when the file ends,
+ * on the thread doing the read. A read that is stopped throws
+ * CancellationException instead of returning what it read so far.
+ *
+ * @author Ashten Herr
+ */
+@FunctionalInterface
+public interface LoadProgress {
+
+	/** Number of lines read between reports */
+	int INTERVAL = 1000;
+
+	/** Progress that is ignored, and never stops a read */
+	LoadProgress NONE = (linesRead, rejected) -> true;
+
+	/**
+	 * Called with the number of lines read so far and how many of them were
+	 * rejected.
+	 *
+	 * @param linesRead - number of lines read so far
+	 * @param rejected  - number of those lines that were rejected
+	 * @return true to keep reading, false to stop the read
+	 */
+	boolean linesRead(int linesRead, int rejected);
+
+	/**
+	 * Reports progress, and throws if the read should stop.
+	 *
+	 * @param linesRead - number of lines read so far
+	 * @param rejected  - number of those lines that were rejected
+	 * @throws CancellationException if linesRead() returns false
+	 */
+	default void report(int linesRead, int rejected) {
+		if (!linesRead(linesRead, rejected)) {
+			throw new CancellationException("Load cancelled.");
+		}
+	}
+}
@@ -0,0 +1,300 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OperationLog is an append-only file of the registration operations applied
+ * to the rolls and schedules, one comma separated record per line, written
+ * before the caller reports the operation as done. Replaying the records in
+ * order on top of the saved catalog and directories rebuilds the enrollment
+ * state, so nothing is lost if the program stops part way through and no whole
+ * file has to be rewritten on each change.
+ *
+ * Appending a record and forcing it to disk are separate steps. Callers append
+ * while they hold the locks that order their operation and sync after they
+ * release them. A sync forces every record appended so far, so the threads
+ * waiting on one force all return when it finishes and many operations share
+ * each fsync.
+ *
+ * @author Ashten Herr
+ */
+public class OperationLog {
+
+	/** A student enrolled in a course: id, course name, section */
+	public static final String ENROLL = "enroll";
+	/** A student dropped a course: id, course name, section */
+	public static final String DROP = "drop";
+	/** A student reset their schedule: id */
+	public static final String RESET = "reset";
+	/** A course was assigned to a faculty: id, course name, section */
+	public static final String ASSIGN = "assign";
+	/** A course was removed from a faculty: id, course name, section */
+	public static final String UNASSIGN = "unassign";
+	/** A faculty schedule was reset: id */
+	public static final String RESET_FACULTY = "resetfaculty";
+	/**
+	 * First record of a log restarted after a snapshot: generation of the
+	 * snapshot the records that follow apply to
+	 */
+	public static final String CHECKPOINT = "checkpoint";
+
+	/** Bytes read at a time when looking for the end of the last record */
+	private static final int TAIL_CHUNK = 4096;
+
+	/** Name of the log file */
+	private String fileName;
+	/** Channel appending to the file */
+	private FileChannel channel;
+	/** Guards appending and the number of records appended */
+	private final Object appendLock = new Object();
+	/** Guards forcing and the number of records forced */
+	private final Object syncLock = new Object();
+	/** Number of records appended */
+	private long appended;
+	/** Number of records known to be on disk */
+	private volatile long synced;
+	/** Number of times the file was forced to disk */
+	private long syncs;
+
+	/**
+	 * Opens a log for appending, creating the file if it does not exist. A last
+	 * record left without its newline by a crash is removed.
+	 *
+	 * @param fileName - name of the log file
+	 * @throws IllegalArgumentException if the file can not be opened
+	 */
+	public OperationLog(String fileName) {
+		this.fileName = fileName;
+		try {
+			channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			channel.truncate(completeLength(channel));
+			channel.position(channel.size());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to open log " + fileName);
+		}
+	}
+
+	/**
+	 * Returns the length of the file up to the newline ending its last complete
+	 * record.
+	 *
+	 * @param channel - channel of the file
+	 * @return length of the complete records
+	 * @throws IOException if the file can not be read
+	 */
+	private static long completeLength(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(TAIL_CHUNK);
+		long end = channel.size();
+		while (end > 0) {
+			long start = Math.max(0, end - TAIL_CHUNK);
+			buffer.clear();
+			buffer.limit((int) (end - start));
+			while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+				// read the whole chunk
+			}
+			for (int i = buffer.position() - 1; i >= 0; i--) {
+				if (buffer.get(i) == '\n') {
+					return start + i + 1;
+				}
+			}
+			end = start;
+		}
+		return 0;
+	}
+
+	/**
+	 * Appends a record to the log. The record is not known to be on disk until
+	 * sync() is called with the number returned.
+	 *
+	 * @param fields - kind of operation followed by its values
+	 * @return number of the record, to pass to sync()
+	 * @throws IllegalArgumentException if a field has a comma or line break, or
+	 *                                  the record can not be written
+	 */
+	public long append(String... fields) {
+		ByteBuffer bytes = encode(fields);
+		synchronized (appendLock) {
+			write(bytes);
+			return ++appended;
+		}
+	}
+
+	/**
+	 * Returns a record as the bytes of one line.
+	 *
+	 * @param fields - kind of operation followed by its values
+	 * @return the encoded line
+	 * @throws IllegalArgumentException if a field has a comma or line break
+	 */
+	private static ByteBuffer encode(String... fields) {
+		StringBuilder record = new StringBuilder();
+		for (int i = 0; i < fields.length; i++) {
+			String field = fields[i];
+			if (field.indexOf(',') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+				throw new IllegalArgumentException("Invalid log field.");
+			}
+			if (i > 0) {
+				record.append(',');
+			}
+			record.append(field);
+		}
+		return ByteBuffer.wrap(record.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes bytes at the end of the log. Callers hold appendLock.
+	 *
+	 * @param bytes - bytes to write
+	 * @throws IllegalArgumentException if the bytes can not be written
+	 */
+	private void write(ByteBuffer bytes) {
+		try {
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to log " + fileName);
+		}
+	}
+
+	/**
+	 * Waits until the given record and every record before it are on disk. If
+	 * another thread is already forcing the file this waits for it, and returns
+	 * without forcing again when that covered the record.
+	 *
+	 * @param record - number returned by append()
+	 * @throws IllegalArgumentException if the file can not be forced
+	 */
+	public void sync(long record) {
+		if (synced >= record) {
+			return;
+		}
+		synchronized (syncLock) {
+			if (synced >= record) {
+				return;
+			}
+			long target;
+			synchronized (appendLock) {
+				target = appended;
+			}
+			try {
+				channel.force(false);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to log " + fileName);
+			}
+			syncs++;
+			synced = target;
+		}
+	}
+
+	/**
+	 * Empties the log and starts it again with the given record, forced to disk
+	 * before this returns. Used once the records have been saved some other way,
+	 * such as in a snapshot.
+	 *
+	 * @param fields - kind of operation followed by its values
+	 * @throws IllegalArgumentException if the log can not be written
+	 */
+	public void restart(String... fields) {
+		ByteBuffer bytes = encode(fields);
+		synchronized (syncLock) {
+			long record;
+			synchronized (appendLock) {
+				try {
+					channel.truncate(0);
+					channel.position(0);
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Unable to write to log " + fileName);
+				}
+				write(bytes);
+				record = ++appended;
+			}
+			try {
+				channel.force(false);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to log " + fileName);
+			}
+			syncs++;
+			synced = record;
+		}
+	}
+
+	/**
+	 * Returns the number of records appended since the log was opened.
+	 *
+	 * @return number of records appended
+	 */
+	public long getNumAppended() {
+		synchronized (appendLock) {
+			return appended;
+		}
+	}
+
+	/**
+	 * Returns the number of times the file was forced to disk since the log was
+	 * opened.
+	 *
+	 * @return number of fsyncs
+	 */
+	public long getNumSyncs() {
+		synchronized (syncLock) {
+			return syncs;
+		}
+	}
+
+	/**
+	 * Forces every appended record to disk and closes the log.
+	 *
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public void close() {
+		sync(getNumAppended());
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to log " + fileName);
+		}
+	}
+
+	/**
+	 * Reads the complete records of a log in the order they were appended. A last
+	 * record without its newline was cut off by a crash and is not returned.
+	 *
+	 * @param fileName - name of the log file
+	 * @return fields of each record
+	 * @throws FileNotFoundException if the file does not exist
+	 */
+	public static List<String[]> readOperations(String fileName) throws FileNotFoundException {
+		List<String[]> records = new ArrayList<String[]>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8))) {
+			StringBuilder line = new StringBuilder();
+			int c;
+			while ((c = reader.read()) >= 0) {
+				if (c == '\n') {
+					records.add(line.toString().split(",", -1));
+					line.setLength(0);
+				} else {
+					line.append((char) c);
+				}
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read log " + fileName);
+		}
+		return records;
+	}
+}
@@ -0,0 +1,74 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * The courses parsed from a course record file before any instructor is
+ * assigned: each valid course in file order, without duplicates, along with
+ * the instructor id given for it in the file. The courses have no instructor
+ * until CourseRecordIO.resolveInstructors() joins the ids against a set of
+ * faculty.
+ *
+ * @author Ashten Herr
+ */
+public class ParsedCourseRecords {
+
+	/** Parsed courses in file order */
+	private List<Course> courses;
+	/** Instructor id from the file for each course, in the same order */
+	private List<String> instructorIds;
+
+	/**
+	 * Creates an empty set of parsed records.
+	 */
+	ParsedCourseRecords() {
+		courses = new ArrayList<Course>();
+		instructorIds = new ArrayList<String>();
+	}
+
+	/**
+	 * Adds a parsed course and the instructor id given for it.
+	 *
+	 * @param course       - course parsed from the file
+	 * @param instructorId - instructor id from the file
+	 */
+	void add(Course course, String instructorId) {
+		courses.add(course);
+		instructorIds.add(instructorId);
+	}
+
+	/**
+	 * Returns the number of courses parsed.
+	 *
+	 * @return number of courses
+	 */
+	public int size() {
+		return courses.size();
+	}
+
+	/**
+	 * Returns the course at the given position in file order.
+	 *
+	 * @param idx - position of the course
+	 * @return the course
+	 * @throws IndexOutOfBoundsException if idx is not a position in the records
+	 */
+	public Course getCourse(int idx) {
+		return courses.get(idx);
+	}
+
+	/**
+	 * Returns the instructor id given in the file for the course at the given
+	 * position.
+	 *
+	 * @param idx - position of the course
+	 * @return the instructor id
+	 * @throws IndexOutOfBoundsException if idx is not a position in the records
+	 */
+	public String getInstructorId(int idx) {
+		return instructorIds.get(idx);
+	}
+}
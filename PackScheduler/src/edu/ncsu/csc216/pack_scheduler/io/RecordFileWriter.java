@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes record files, one record per line, without ever leaving a partly
+ * written file in place of the old one. The records are encoded through a
+ * buffer into a temporary file in the same directory, which is forced to disk
+ * and then renamed over the record file in one step, so a reader or a crash
+ * sees either all of the old records or all of the new ones. The new file keeps
+ * the permissions of the one it replaces, and characters the default charset
+ * can not encode are replaced as they always were.
+ *
+ * @author Ashten Herr
+ */
+public class RecordFileWriter {
+
+	/** Characters and bytes buffered before they are encoded and written */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Replaces a file with the toString() of each record, one per line, in the
+	 * default charset like the record readers expect.
+	 *
+	 * @param fileName   - file to write
+	 * @param records    - records to write, in order
+	 * @param terminated - true to end every record with a newline, false to only
+	 *                   put newlines between records
+	 * @return number of records written
+	 * @throws FileNotFoundException if a file can not be created in the file's
+	 *                               directory
+	 * @throws IOException           if the records can not be written
+	 */
+	public static int writeRecords(String fileName, Iterable<?> records, boolean terminated) throws IOException {
+		Path target = Paths.get(fileName).toAbsolutePath();
+		Path temp = createTemp(fileName, target);
+		int written = 0;
+		try {
+			copyPermissions(target, temp);
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+					Writer out = new BufferedWriter(
+							new OutputStreamWriter(Channels.newOutputStream(channel), Charset.defaultCharset()),
+							BUFFER_SIZE)) {
+				boolean first = true;
+				for (Object record : records) {
+					if (!first && !terminated) {
+						out.write('\n');
+					}
+					out.write(record.toString());
+					if (terminated) {
+						out.write('\n');
+					}
+					first = false;
+					written++;
+				}
+				out.flush();
+				channel.force(true);
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		return written;
+	}
+
+	/**
+	 * Creates an empty temporary file next to the record file. It is created the
+	 * way any new file is, so it gets the same default permissions a record file
+	 * written directly would.
+	 *
+	 * @param fileName - file being written, as given
+	 * @param target   - absolute path of the file being written
+	 * @return the temporary file
+	 * @throws FileNotFoundException if a file can not be created in the file's
+	 *                               directory
+	 * @throws IOException           if the file can not be created for another
+	 *                               reason
+	 */
+	private static Path createTemp(String fileName, Path target) throws IOException {
+		while (true) {
+			Path temp = target.resolveSibling(target.getFileName() + "."
+					+ Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), Character.MAX_RADIX) + ".tmp");
+			try {
+				FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+				return temp;
+			} catch (FileAlreadyExistsException e) {
+				// another writer picked the same name, try another
+			} catch (AccessDeniedException e) {
+				throw new FileNotFoundException(fileName + " (Permission denied)");
+			} catch (NoSuchFileException e) {
+				throw new FileNotFoundException(fileName + " (No such file or directory)");
+			}
+		}
+	}
+
+	/**
+	 * Gives the temporary file the permissions of the record file it replaces,
+	 * so saving never changes who can read the records. Nothing is copied when
+	 * there is no record file yet or the file system has no POSIX permissions.
+	 *
+	 * @param target - record file being replaced
+	 * @param temp   - temporary file that will replace it
+	 * @throws IOException if the permissions can not be read or set
+	 */
+	private static void copyPermissions(Path target, Path temp) throws IOException {
+		if (!Files.exists(target)) {
+			return;
+		}
+		try {
+			Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+		} catch (UnsupportedOperationException e) {
+			// not a POSIX file system, the default permissions are kept
+		}
+	}
+}
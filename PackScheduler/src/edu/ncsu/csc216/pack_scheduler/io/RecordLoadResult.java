@@ -0,0 +1,80 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
+
+/**
+ * The outcome of loading a record file: the valid records in sorted order,
+ * the number of lines read, and the line number and reason for every line that
+ * was rejected.
+ *
+ * @author Ashten Herr
+ * @param <E> - type of record loaded
+ */
+public class RecordLoadResult<E extends Comparable<E>> {
+
+	/** Valid records from the file */
+	private SortedArrayList<E> records;
+	/** Number of lines read from the file */
+	private int linesRead;
+	/** Line numbers, starting at 1, of the rejected lines in file order */
+	private List<Integer> rejectedLines;
+	/** Reason each line was rejected, in the same order as rejectedLines */
+	private List<String> rejectReasons;
+
+	/**
+	 * Creates a result for a load.
+	 *
+	 * @param records       - valid records from the file
+	 * @param linesRead     - number of lines read from the file
+	 * @param rejectedLines - line numbers of the rejected lines in file order
+	 * @param rejectReasons - reason each line was rejected
+	 */
+	public RecordLoadResult(SortedArrayList<E> records, int linesRead, List<Integer> rejectedLines,
+			List<String> rejectReasons) {
+		this.records = records;
+		this.linesRead = linesRead;
+		this.rejectedLines = Collections.unmodifiableList(new ArrayList<Integer>(rejectedLines));
+		this.rejectReasons = Collections.unmodifiableList(new ArrayList<String>(rejectReasons));
+	}
+
+	/**
+	 * Returns the valid records in sorted order.
+	 *
+	 * @return the valid records
+	 */
+	public SortedArrayList<E> getRecords() {
+		return records;
+	}
+
+	/**
+	 * Returns the number of lines read from the file.
+	 *
+	 * @return number of lines read
+	 */
+	public int getLinesRead() {
+		return linesRead;
+	}
+
+	/**
+	 * Returns the line numbers, starting at 1, of the lines that were rejected.
+	 *
+	 * @return rejected line numbers in file order
+	 */
+	public List<Integer> getRejectedLines() {
+		return rejectedLines;
+	}
+
+	/**
+	 * Returns why each line was rejected, in the same order as
+	 * getRejectedLines().
+	 *
+	 * @return reasons the lines were rejected
+	 */
+	public List<String> getRejectReasons() {
+		return rejectReasons;
+	}
+}
@@ -0,0 +1,135 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits one line of a record file into its comma separated fields. It gives
+ * the same tokens as a Scanner using "," as its delimiter, so a single
+ * delimiter before a token is skipped, an empty field between two commas is an
+ * empty token, and nothing after a final comma is not a token. One tokenizer
+ * can be reset with each line of a file so parsing a file does not create a
+ * Scanner per line, and integer fields are read in place.
+ *
+ * @author Ashten Herr
+ */
+public class RecordTokenizer {
+
+	/** Character separating fields */
+	private static final char DELIMITER = ',';
+
+	/** Radix of integer fields */
+	private static final int RADIX = 10;
+
+	/** Line being split */
+	private String line;
+
+	/** Position of the next unread character */
+	private int position;
+
+	/**
+	 * Creates a tokenizer with no line to read.
+	 */
+	public RecordTokenizer() {
+		reset("");
+	}
+
+	/**
+	 * Starts reading a new line from its first field.
+	 *
+	 * @param line - line to split
+	 */
+	public void reset(String line) {
+		this.line = line;
+		this.position = 0;
+	}
+
+	/**
+	 * Returns whether the line has another field.
+	 *
+	 * @return true if there is another field
+	 */
+	public boolean hasNext() {
+		return tokenStart() < line.length();
+	}
+
+	/**
+	 * Returns the next field of the line.
+	 *
+	 * @return the next field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	public String next() {
+		int start = tokenStart();
+		position = start;
+		int end = tokenEnd(start);
+		position = end;
+		return line.substring(start, end);
+	}
+
+	/**
+	 * Returns the next field of the line as an int. As with Scanner, the delimiter
+	 * before a field that is not an int is still consumed.
+	 *
+	 * @return the next field as an int
+	 * @throws InputMismatchException if the field is not an int
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	public int nextInt() {
+		int start = tokenStart();
+		position = start;
+		int end = tokenEnd(start);
+		int i = start;
+		boolean negative = false;
+		if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+			negative = line.charAt(i) == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new InputMismatchException();
+		}
+		// accumulate negatively so Integer.MIN_VALUE can be read
+		int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		int value = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(line.charAt(i), RADIX);
+			if (digit < 0 || value < limit / RADIX) {
+				throw new InputMismatchException();
+			}
+			value *= RADIX;
+			if (value < limit + digit) {
+				throw new InputMismatchException();
+			}
+			value -= digit;
+		}
+		position = end;
+		return negative ? value : -value;
+	}
+
+	/**
+	 * Returns where the next field starts, skipping a single delimiter.
+	 *
+	 * @return index of the first character of the next field
+	 */
+	private int tokenStart() {
+		if (position < line.length() && line.charAt(position) == DELIMITER) {
+			return position + 1;
+		}
+		return position;
+	}
+
+	/**
+	 * Returns the end of the field starting at the given index.
+	 *
+	 * @param start - first character of the field
+	 * @return index just after the field
+	 * @throws NoSuchElementException if there is no field at start
+	 */
+	private int tokenEnd(int start) {
+		if (start >= line.length()) {
+			throw new NoSuchElementException();
+		}
+		int end = line.indexOf(DELIMITER, start);
+		return end < 0 ? line.length() : end;
+	}
+}
@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * The complete registration state saved in or loaded from a snapshot file: the
+ * courses with their rolls and waitlists, the students with their schedules,
+ * and the faculty with their schedules. The generation numbers snapshots in the
+ * order they were taken, so an operation log can tell which snapshot its
+ * records follow.
+ *
+ * @author Ashten Herr
+ */
+public class RegistrationSnapshot {
+
+	/** Number of the snapshot */
+	private long generation;
+	/** Courses of the catalog */
+	private List<Course> courses;
+	/** Students of the directory */
+	private List<Student> students;
+	/** Faculty of the directory */
+	private List<Faculty> faculty;
+
+	/**
+	 * Creates a snapshot of the given state.
+	 *
+	 * @param generation - number of the snapshot
+	 * @param courses    - courses of the catalog
+	 * @param students   - students of the directory
+	 * @param faculty    - faculty of the directory
+	 */
+	public RegistrationSnapshot(long generation, List<Course> courses, List<Student> students,
+			List<Faculty> faculty) {
+		this.generation = generation;
+		this.courses = Collections.unmodifiableList(new ArrayList<Course>(courses));
+		this.students = Collections.unmodifiableList(new ArrayList<Student>(students));
+		this.faculty = Collections.unmodifiableList(new ArrayList<Faculty>(faculty));
+	}
+
+	/**
+	 * Returns the number of the snapshot.
+	 *
+	 * @return the generation
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Returns the courses of the catalog.
+	 *
+	 * @return the courses
+	 */
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the students of the directory.
+	 *
+	 * @return the students
+	 */
+	public List<Student> getStudents() {
+		return students;
+	}
+
+	/**
+	 * Returns the faculty of the directory.
+	 *
+	 * @return the faculty
+	 */
+	public List<Faculty> getFaculty() {
+		return faculty;
+	}
+}
@@ -0,0 +1,384 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.User;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.FacultySchedule;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * SnapshotIO saves and loads the complete registration state in a versioned
+ * binary file. Every string is stored once in a string table at the start of
+ * the file and referred to by its index, so repeated values such as instructor
+ * ids and meeting days are decoded once and shared. Courses, students and
+ * faculty follow as fixed size integer fields, then the schedules and the rolls
+ * as lists of indexes. The file is read through a memory mapped channel, and
+ * is written to a temporary file that is moved over the old snapshot only once
+ * it is complete.
+ *
+ * Layout, with every number a big endian int except the generation:
+ *
+ * <pre>
+ * magic, version, generation (long)
+ * string count, then for each string its UTF-8 length and bytes
+ * course count, then for each course: name, title, section, credits,
+ *     instructor id (-1 if none), enrollment cap, waitlist cap, meeting days,
+ *     start time, end time
+ * student count, then for each student: first name, last name, id, email,
+ *     password, max credits, schedule title, scheduled course count, courses
+ * faculty count, then for each faculty: first name, last name, id, email,
+ *     password, max courses, scheduled course count, courses
+ * for each course: enrolled count, students, waitlisted count, students
+ * </pre>
+ *
+ * @author Ashten Herr
+ */
+public class SnapshotIO {
+
+	/** First bytes of every snapshot file, "PSNP" */
+	public static final int MAGIC = 0x50534E50;
+	/** Version of the layout written */
+	public static final int VERSION = 1;
+	/** Index stored for a null string */
+	private static final int NO_STRING = -1;
+
+	/**
+	 * Writes a snapshot file. The snapshot replaces the file only after it has
+	 * been completely written and forced to disk.
+	 *
+	 * @param fileName - file to write
+	 * @param snapshot - state to save
+	 * @throws IOException if the file can not be written
+	 */
+	public static void writeSnapshot(String fileName, RegistrationSnapshot snapshot) throws IOException {
+		List<Course> courses = snapshot.getCourses();
+		List<Student> students = snapshot.getStudents();
+		List<Faculty> faculty = snapshot.getFaculty();
+		Map<Course, Integer> courseIndexes = indexes(courses);
+		Map<Student, Integer> studentIndexes = indexes(students);
+
+		// every string is put in the table before anything is written
+		Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+		List<List<Student>> enrolled = new ArrayList<List<Student>>();
+		List<List<Student>> waitlisted = new ArrayList<List<Student>>();
+		for (Course c : courses) {
+			intern(strings, c.getName(), c.getTitle(), c.getSection(), c.getInstructorId(), c.getMeetingDays());
+			enrolled.add(c.getCourseRoll().getEnrolledStudents());
+			waitlisted.add(c.getCourseRoll().getWaitlistedStudents());
+		}
+		for (Student s : students) {
+			internUser(strings, s);
+			intern(strings, s.getSchedule().getTitle());
+		}
+		for (Faculty f : faculty) {
+			internUser(strings, f);
+		}
+
+		Path target = Paths.get(fileName).toAbsolutePath();
+		Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			try (FileOutputStream file = new FileOutputStream(temp.toFile());
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(snapshot.getGeneration());
+				out.writeInt(strings.size());
+				for (String string : strings.keySet()) {
+					byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+
+				out.writeInt(courses.size());
+				for (Course c : courses) {
+					out.writeInt(strings.get(c.getName()));
+					out.writeInt(strings.get(c.getTitle()));
+					out.writeInt(strings.get(c.getSection()));
+					out.writeInt(c.getCredits());
+					out.writeInt(stringIndex(strings, c.getInstructorId()));
+					out.writeInt(c.getCourseRoll().getEnrollmentCap());
+					out.writeInt(c.getCourseRoll().getWaitlistCap());
+					out.writeInt(strings.get(c.getMeetingDays()));
+					out.writeInt(c.getStartTime());
+					out.writeInt(c.getEndTime());
+				}
+
+				out.writeInt(students.size());
+				for (Student s : students) {
+					writeUser(out, strings, s);
+					out.writeInt(s.getMaxCredits());
+					Schedule schedule = s.getSchedule();
+					out.writeInt(strings.get(schedule.getTitle()));
+					List<Course> scheduled = new ArrayList<Course>();
+					for (int i = 0; i < schedule.getNumScheduledCourses(); i++) {
+						scheduled.add(schedule.getScheduledCourse(i));
+					}
+					writeIndexes(out, courseIndexes, scheduled);
+				}
+
+				out.writeInt(faculty.size());
+				for (Faculty f : faculty) {
+					writeUser(out, strings, f);
+					out.writeInt(f.getMaxCourses());
+					FacultySchedule schedule = f.getSchedule();
+					List<Course> scheduled = new ArrayList<Course>();
+					for (int i = 0; i < schedule.getNumScheduledCourses(); i++) {
+						scheduled.add(schedule.getScheduledCourse(i));
+					}
+					writeIndexes(out, courseIndexes, scheduled);
+				}
+
+				for (int i = 0; i < courses.size(); i++) {
+					writeIndexes(out, studentIndexes, enrolled.get(i));
+					writeIndexes(out, studentIndexes, waitlisted.get(i));
+				}
+				out.flush();
+				file.getChannel().force(true);
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Reads a snapshot file through a memory mapped channel and rebuilds the
+	 * courses, rolls, students, faculty and their schedules.
+	 *
+	 * @param fileName - file to read
+	 * @return the saved state
+	 * @throws FileNotFoundException    if the file does not exist
+	 * @throws IllegalArgumentException if the file is not a snapshot, is of an
+	 *                                  unknown version, or is damaged
+	 */
+	public static RegistrationSnapshot readSnapshot(String fileName) throws FileNotFoundException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (in.remaining() < Integer.BYTES || in.getInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a snapshot file.");
+			}
+			if (in.getInt() != VERSION) {
+				throw new IllegalArgumentException("Unsupported snapshot version.");
+			}
+			long generation = in.getLong();
+
+			String[] strings = new String[in.getInt()];
+			byte[] scratch = new byte[0];
+			for (int i = 0; i < strings.length; i++) {
+				int length = in.getInt();
+				if (scratch.length < length) {
+					scratch = new byte[Math.max(length, scratch.length * 2)];
+				}
+				in.get(scratch, 0, length);
+				strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+			}
+
+			Course[] courses = new Course[in.getInt()];
+			for (int i = 0; i < courses.length; i++) {
+				String name = strings[in.getInt()];
+				String title = strings[in.getInt()];
+				String section = strings[in.getInt()];
+				int credits = in.getInt();
+				String instructorId = string(strings, in.getInt());
+				int enrollmentCap = in.getInt();
+				int waitlistCap = in.getInt();
+				String meetingDays = strings[in.getInt()];
+				int startTime = in.getInt();
+				int endTime = in.getInt();
+				courses[i] = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays,
+						startTime, endTime);
+				courses[i].getCourseRoll().setWaitlistCap(waitlistCap);
+			}
+
+			Student[] students = new Student[in.getInt()];
+			for (int i = 0; i < students.length; i++) {
+				String firstName = strings[in.getInt()];
+				String lastName = strings[in.getInt()];
+				String id = strings[in.getInt()];
+				String email = strings[in.getInt()];
+				String password = strings[in.getInt()];
+				students[i] = new Student(firstName, lastName, id, email, password, in.getInt());
+				Schedule schedule = students[i].getSchedule();
+				schedule.setTitle(strings[in.getInt()]);
+				int scheduled = in.getInt();
+				for (int j = 0; j < scheduled; j++) {
+					schedule.addCourseToSchedule(courses[in.getInt()]);
+				}
+			}
+
+			Faculty[] faculty = new Faculty[in.getInt()];
+			for (int i = 0; i < faculty.length; i++) {
+				String firstName = strings[in.getInt()];
+				String lastName = strings[in.getInt()];
+				String id = strings[in.getInt()];
+				String email = strings[in.getInt()];
+				String password = strings[in.getInt()];
+				faculty[i] = new Faculty(firstName, lastName, id, email, password, in.getInt());
+				int scheduled = in.getInt();
+				for (int j = 0; j < scheduled; j++) {
+					Course c = courses[in.getInt()];
+					// the schedule sets the instructor again as it adds the course
+					c.setInstructorId(null);
+					faculty[i].getSchedule().addCourseToSchedule(c);
+				}
+			}
+
+			for (Course c : courses) {
+				// placed as saved, even if the cap was raised after a waitlist formed
+				List<Student> enrolled = readStudents(in, students);
+				List<Student> waitlisted = readStudents(in, students);
+				c.getCourseRoll().restore(enrolled, waitlisted);
+			}
+			return new RegistrationSnapshot(generation, List.of(courses), List.of(students), List.of(faculty));
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(fileName);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+			throw new IllegalArgumentException("Invalid snapshot file.");
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Returns the position of every element of a list, by identity.
+	 *
+	 * @param <E>  - type of element
+	 * @param list - list to index
+	 * @return position of each element
+	 */
+	private static <E> Map<E, Integer> indexes(List<E> list) {
+		Map<E, Integer> indexes = new IdentityHashMap<E, Integer>();
+		for (int i = 0; i < list.size(); i++) {
+			indexes.put(list.get(i), i);
+		}
+		return indexes;
+	}
+
+	/**
+	 * Adds strings to the string table, skipping nulls and strings already in it.
+	 *
+	 * @param strings - string table
+	 * @param values  - strings to add
+	 */
+	private static void intern(Map<String, Integer> strings, String... values) {
+		for (String value : values) {
+			if (value != null && !strings.containsKey(value)) {
+				strings.put(value, strings.size());
+			}
+		}
+	}
+
+	/**
+	 * Adds the strings of a user to the string table.
+	 *
+	 * @param strings - string table
+	 * @param user    - user to add
+	 */
+	private static void internUser(Map<String, Integer> strings, User user) {
+		intern(strings, user.getFirstName(), user.getLastName(), user.getId(), user.getEmail(), user.getPassword());
+	}
+
+	/**
+	 * Returns the index of a string in the table.
+	 *
+	 * @param strings - string table
+	 * @param value   - string to find, may be null
+	 * @return index of the string, or NO_STRING for null
+	 */
+	private static int stringIndex(Map<String, Integer> strings, String value) {
+		return value == null ? NO_STRING : strings.get(value);
+	}
+
+	/**
+	 * Returns the string at an index of the table.
+	 *
+	 * @param strings - string table
+	 * @param index   - index of the string, or NO_STRING
+	 * @return the string, or null for NO_STRING
+	 */
+	private static String string(String[] strings, int index) {
+		return index == NO_STRING ? null : strings[index];
+	}
+
+	/**
+	 * Reads a count followed by the index of each student, as written by
+	 * writeIndexes().
+	 *
+	 * @param in       - buffer to read from
+	 * @param students - students of the snapshot
+	 * @return the students, in the order written
+	 */
+	private static List<Student> readStudents(MappedByteBuffer in, Student[] students) {
+		List<Student> read = new ArrayList<Student>();
+		int count = in.getInt();
+		for (int i = 0; i < count; i++) {
+			read.add(students[in.getInt()]);
+		}
+		return read;
+	}
+
+	/**
+	 * Writes the common fields of a user.
+	 *
+	 * @param out     - stream to write to
+	 * @param strings - string table
+	 * @param user    - user to write
+	 * @throws IOException if the stream can not be written
+	 */
+	private static void writeUser(DataOutputStream out, Map<String, Integer> strings, User user) throws IOException {
+		out.writeInt(strings.get(user.getFirstName()));
+		out.writeInt(strings.get(user.getLastName()));
+		out.writeInt(strings.get(user.getId()));
+		out.writeInt(strings.get(user.getEmail()));
+		out.writeInt(strings.get(user.getPassword()));
+	}
+
+	/**
+	 * Writes a count followed by the index of each element. Elements that are not
+	 * in the snapshot, such as a scheduled course since removed from the catalog,
+	 * are left out.
+	 *
+	 * @param <E>      - type of element
+	 * @param out      - stream to write to
+	 * @param indexes  - index of every element in the snapshot
+	 * @param elements - elements to write
+	 * @throws IOException if the stream can not be written
+	 */
+	private static <E> void writeIndexes(DataOutputStream out, Map<E, Integer> indexes, List<E> elements)
+			throws IOException {
+		int[] found = new int[elements.size()];
+		int count = 0;
+		for (E element : elements) {
+			Integer index = indexes.get(element);
+			if (index != null) {
+				found[count++] = index;
+			}
+		}
+		out.writeInt(count);
+		for (int i = 0; i < count; i++) {
+			out.writeInt(found[i]);
+		}
+	}
+}
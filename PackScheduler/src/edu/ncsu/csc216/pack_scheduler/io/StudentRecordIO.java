@@ -1,15 +1,21 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.InputMismatchException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+
+import edu.ncsu.csc216.pack_scheduler.metrics.Events;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.pack_scheduler.metrics.RecordFileLoadEvent;
+import edu.ncsu.csc216.pack_scheduler.metrics.RecordFileSaveEvent;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * StudentRecordIO handles file input and output for PackScheduler.
@@ -23,48 +29,97 @@ import edu.ncsu.csc217.collections.list.SortedList;
 public class StudentRecordIO {
 
 	/**
-	 * Reads a text file of student information and adds students to a SortedList if
-	 * they are not invalid/in the wrong format.
+	 * Reads a text file of student information and adds students to a sorted list
+	 * if they are not invalid/in the wrong format.
 	 * 
 	 * @param fileName    - file of text file which contains student information.
-	 * @return SortedList - SortedList that makes up the added students.
+	 * @return SortedArrayList - sorted list that makes up the added students.
 	 * @throws FileNotFoundException - if the specified file name can not be found
 	 *                               on the system.
 	 */
-	public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
-		// create scanner for scanning the file
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
-		// create an array list of students to return
-		SortedList<Student> students = new SortedList<Student>();
-		// while the text file has a next line check it to see if it is a valid student
-		while (fileReader.hasNextLine()) {
-			try {
-				// read the student info to check validity
-				Student student = readStudent(fileReader.nextLine());
-				boolean flag = false;
-				// check for duplicates
-				for (int i = 0; i < students.size(); i++) {
-					Student check = students.get(i);
-					// if they are duplicates set the flag to true to not add them to the list
-					if (check.getId().equals(student.getId())) {
-						flag = true;
-						break;
+	public static SortedArrayList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
+		return bulkLoadStudentRecords(fileName).getRecords();
+	}
+
+	/**
+	 * Reads a text file of student information in one pass. Every line is parsed,
+	 * duplicate ids are found with a set of the ids read so far, and the valid
+	 * students are sorted once at the end rather than inserted one at a time. The
+	 * first student read with an id is kept. Lines that can not be made into a
+	 * student and lines with a duplicate id are reported in the result along with
+	 * why they were rejected.
+	 * 
+	 * @param fileName - file of text file which contains student information.
+	 * @return the valid students and the rejected lines of the file
+	 * @throws FileNotFoundException - if the specified file name can not be found
+	 *                               on the system.
+	 */
+	public static RecordLoadResult<Student> bulkLoadStudentRecords(String fileName) throws FileNotFoundException {
+		return bulkLoadStudentRecords(fileName, LoadProgress.NONE);
+	}
+
+	/**
+	 * Bulk loads a text file of student information as bulkLoadStudentRecords()
+	 * does, reporting the lines read and rejected to the given progress as the
+	 * file is read.
+	 * 
+	 * @param fileName - file of text file which contains student information.
+	 * @param progress - progress to report to, which can stop the read
+	 * @return the valid students and the rejected lines of the file
+	 * @throws FileNotFoundException - if the specified file name can not be found
+	 *                               on the system.
+	 * @throws java.util.concurrent.CancellationException if the progress stops
+	 *                               the read
+	 */
+	public static RecordLoadResult<Student> bulkLoadStudentRecords(String fileName, LoadProgress progress)
+			throws FileNotFoundException {
+		RecordFileLoadEvent event = new RecordFileLoadEvent();
+		event.begin();
+		long start = System.nanoTime();
+		BufferedReader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName)));
+		List<Student> students = new ArrayList<Student>();
+		HashSet<String> ids = new HashSet<String>();
+		List<Integer> rejectedLines = new ArrayList<Integer>();
+		List<String> rejectReasons = new ArrayList<String>();
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		int lineNumber = 0;
+		try {
+			String line = fileReader.readLine();
+			while (line != null) {
+				lineNumber++;
+				try {
+					// read the student info to check validity
+					Student student = readStudent(line, tokenizer);
+					if (ids.add(student.getId())) {
+						students.add(student);
+					} else {
+						rejectedLines.add(lineNumber);
+						rejectReasons.add("Duplicate id " + student.getId());
 					}
+				} catch (IllegalArgumentException e) {
+					// the line is not a valid student, record why and skip it
+					rejectedLines.add(lineNumber);
+					rejectReasons.add(e.getMessage());
 				}
-				// if the flag is not true then add the student, otherwise skip the student
-				if (!flag) {
-					students.add(student);
+				if (lineNumber % LoadProgress.INTERVAL == 0) {
+					progress.report(lineNumber, rejectedLines.size());
 				}
-				// catch any possible exceptions in the student class that aren't valid and skip
-				// that line.
-			} catch (IllegalArgumentException e) {
-				e.getMessage();
+				line = fileReader.readLine();
+			}
+		} catch (IOException e) {
+			// a read error ends the file, keep the students read up to it
+		} finally {
+			try {
+				fileReader.close();
+			} catch (IOException e) {
+				// nothing left to read from the file
 			}
-
 		}
-		fileReader.close();
-		// return filled ArrayList of student
-		return students;
+		progress.report(lineNumber, rejectedLines.size());
+		SortedArrayList<Student> sorted = new SortedArrayList<Student>(students);
+		Metrics.STUDENT_LOAD.record(start, sorted.size());
+		event.commit(fileName, Events.STUDENTS, lineNumber, sorted.size());
+		return new RecordLoadResult<Student>(sorted, lineNumber, rejectedLines, rejectReasons);
 	}
 
 	/**
@@ -72,53 +127,48 @@ public class StudentRecordIO {
 	 * separated fields to construct one. Throws IllegalArgumentException if the
 	 * line is not formatted properly.
 	 * 
-	 * @param nextLine - the line being processed into a student object
+	 * @param nextLine  - the line being processed into a student object
+	 * @param tokenizer - tokenizer to split the line with
 	 * @return Student object created from the information of the line.
 	 * @throws IllegalArgumentException - if the file is in an improper format (not
 	 *                                  comma separated list)
 	 */
-	private static Student readStudent(String nextLine) {
-		// Create scanner for the line
-		Scanner lineScanner = new Scanner(nextLine);
-		// use comma to separate the tokens
-		lineScanner.useDelimiter(",");
+	private static Student readStudent(String nextLine, RecordTokenizer tokenizer) {
+		tokenizer.reset(nextLine);
 		try {
-			// try getting all of the variable fields of student object with lineScanner
-			String firstName = lineScanner.next();
-			String lastName = lineScanner.next();
-			String id = lineScanner.next();
-			String email = lineScanner.next();
-			String hashedPW = lineScanner.next();
-			int credits = lineScanner.nextInt();
+			// try getting all of the variable fields of student object with the tokenizer
+			String firstName = tokenizer.next();
+			String lastName = tokenizer.next();
+			String id = tokenizer.next();
+			String email = tokenizer.next();
+			String hashedPW = tokenizer.next();
+			int credits = tokenizer.nextInt();
 			// return new student object
 			return new Student(firstName, lastName, id, email, hashedPW, credits);
-		} catch (InputMismatchException e) {
-			throw new IllegalArgumentException("Improper file format.");
 		} catch (NoSuchElementException e) {
+			// also covers InputMismatchException for a credit value that is not a number
 			throw new IllegalArgumentException("Improper file format.");
-		} finally {
-			lineScanner.close();
 		}
 	}
 
 	/**
 	 * Writes a text file of the current student student directory to a specified
-	 * directory. Throws IO Exception if the file name can not be written to.
+	 * directory. Throws IO Exception if the file name can not be written to. The
+	 * file is replaced in one step once every student is written.
 	 * 
 	 * @param fileName         - name of file that the user wants to output to
-	 * @param studentDirectory - SortedList of students to be printed on the file
+	 * @param studentDirectory - sorted list of students to be printed on the file
 	 * @throws IOException     - when the specified output file can not be written
 	 *                     on/created
 	 */
-	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
-		// Prints to the specified file
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-		// print each student from list
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			fileWriter.println(studentDirectory.get(i).toString());
-		}
-		fileWriter.close();
-
+	public static void writeStudentRecords(String fileName, List<Student> studentDirectory) throws IOException {
+		RecordFileSaveEvent event = new RecordFileSaveEvent();
+		event.begin();
+		long start = System.nanoTime();
+		// each student is printed on its own line
+		int written = RecordFileWriter.writeRecords(fileName, studentDirectory, true);
+		Metrics.STUDENT_SAVE.record(start, written);
+		event.commit(fileName, Events.STUDENTS, written);
 	}
 
 }
@@ -0,0 +1,197 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
+
+/**
+ * Converts the password hashes in student and faculty record files to a form
+ * that reads back reliably. Both files hold one user per line as first name,
+ * last name, id, email, hash and a count of credits or courses. Hashes written
+ * by older versions are raw digest bytes decoded as text, which can hold
+ * commas and line breaks that split the record, so a record is read as its
+ * first four fields, then everything up to the first line ending that follows
+ * a comma and a number, whose last comma ends the hash. Each hash is passed
+ * through PasswordHasher.migrate(), so users can still log in with the same
+ * passwords, and the file is replaced in one step. Lines that are not a user
+ * are kept as they are.
+ *
+ * @author Ashten Herr
+ */
+public class UserRecordMigrator {
+
+	/** Fields before the hash */
+	private static final int FIELDS_BEFORE_HASH = 4;
+
+	/** Characters read at a time */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Migrates each record file named, printing how many hashes were converted in
+	 * each.
+	 *
+	 * @param args - names of the student and faculty record files
+	 * @throws IOException if a file can not be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		for (String fileName : args) {
+			System.out.println(fileName + ": " + migrateUserRecords(fileName) + " hashes converted");
+		}
+	}
+
+	/**
+	 * Converts the hashes of a student or faculty record file in place, reading
+	 * it in the default charset the record readers and older versions use. A file
+	 * with nothing to convert is left untouched.
+	 *
+	 * @param fileName - record file to convert
+	 * @return number of hashes converted
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws IOException           if the file can not be read or written
+	 */
+	public static int migrateUserRecords(String fileName) throws IOException {
+		return migrateUserRecords(fileName, Charset.defaultCharset());
+	}
+
+	/**
+	 * Converts the hashes of a student or faculty record file in place, reading
+	 * it in the given charset. The converted hashes are plain ASCII, so the file
+	 * is written back in the default charset like every other record file. A
+	 * file with nothing to convert is left untouched.
+	 *
+	 * @param fileName - record file to convert
+	 * @param charset  - charset the file was written in
+	 * @return number of hashes converted
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws IOException           if the file can not be read or written
+	 */
+	public static int migrateUserRecords(String fileName, Charset charset) throws IOException {
+		String text = readText(fileName, charset);
+		List<String> records = new ArrayList<String>();
+		int converted = 0;
+		int position = 0;
+		while (position < text.length()) {
+			int hashStart = hashStart(text, position);
+			int end = hashStart < 0 ? -1 : recordEnd(text, hashStart);
+			if (end < 0) {
+				// not a user, keep the line as it is
+				end = lineEnd(text, position);
+				records.add(stripReturn(text.substring(position, end)));
+			} else {
+				String record = stripReturn(text.substring(position, end));
+				int hashEnd = record.lastIndexOf(',');
+				String hash = record.substring(hashStart - position, hashEnd);
+				String migrated = PasswordHasher.migrate(hash);
+				if (!migrated.equals(hash)) {
+					converted++;
+				}
+				records.add(record.substring(0, hashStart - position) + migrated + record.substring(hashEnd));
+			}
+			position = end + 1;
+		}
+		if (converted > 0) {
+			RecordFileWriter.writeRecords(fileName, records, true);
+		}
+		return converted;
+	}
+
+	/**
+	 * Returns the whole file as text.
+	 *
+	 * @param fileName - file to read
+	 * @param charset  - charset to decode the file in
+	 * @return the text of the file
+	 * @throws IOException if the file can not be read
+	 */
+	private static String readText(String fileName, Charset charset) throws IOException {
+		StringBuilder text = new StringBuilder();
+		try (Reader in = new InputStreamReader(new FileInputStream(fileName), charset)) {
+			char[] buffer = new char[BUFFER_SIZE];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				text.append(buffer, 0, read);
+			}
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Returns where the hash of the record starting at a position begins, after
+	 * its first four fields.
+	 *
+	 * @param text  - text of the file
+	 * @param start - start of the record
+	 * @return start of the hash, or -1 if the line ends first
+	 */
+	private static int hashStart(String text, int start) {
+		int fields = 0;
+		for (int i = start; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\n') {
+				return -1;
+			}
+			if (c == ',' && ++fields == FIELDS_BEFORE_HASH) {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns where the record whose hash begins at a position ends: the first
+	 * line ending, or the end of the text, that follows a comma and a number.
+	 *
+	 * @param text      - text of the file
+	 * @param hashStart - start of the hash
+	 * @return position of the line ending, or -1 if there is none
+	 */
+	private static int recordEnd(String text, int hashStart) {
+		int end = hashStart;
+		while (end < text.length()) {
+			end = lineEnd(text, end);
+			int last = end;
+			if (last > hashStart && text.charAt(last - 1) == '\r') {
+				last--;
+			}
+			int digits = last;
+			while (digits > hashStart && Character.isDigit(text.charAt(digits - 1))) {
+				digits--;
+			}
+			if (digits < last && digits > hashStart && text.charAt(digits - 1) == ',') {
+				return end;
+			}
+			end++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the position of the next line break at or after a position, or the
+	 * length of the text if there is none.
+	 *
+	 * @param text  - text of the file
+	 * @param start - position to search from
+	 * @return position of the line break
+	 */
+	private static int lineEnd(String text, int start) {
+		int end = text.indexOf('\n', start);
+		return end < 0 ? text.length() : end;
+	}
+
+	/**
+	 * Returns a line without the carriage return of a Windows line ending.
+	 *
+	 * @param line - line to strip
+	 * @return the line without a final carriage return
+	 */
+	private static String stripReturn(String line) {
+		return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+	}
+}
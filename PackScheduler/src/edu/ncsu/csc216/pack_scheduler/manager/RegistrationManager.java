@@ -1,10 +1,10 @@
 package edu.ncsu.csc216.pack_scheduler.manager;
 
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Properties;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
@@ -12,10 +12,20 @@ import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.OperationLog;
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationSnapshot;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.metrics.DropEvent;
+import edu.ncsu.csc216.pack_scheduler.metrics.EnrollAttemptEvent;
+import edu.ncsu.csc216.pack_scheduler.metrics.LoginEvent;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.AutoSaver;
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
+import edu.ncsu.csc216.pack_scheduler.util.StripedLocks;
 
 /**
  * Class that accesses all behaviors of the RegistrationManager to get all of
@@ -23,6 +33,27 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
  * well as hashes the passwords for logging in and out of the
  * RegistrationManager class.
  * 
+ * Any number of users can be logged in at once, each through their own
+ * Session. The actions that take a session act as that session's user. login
+ * and logout keep a single current session for the GUI, and the actions
+ * without a session act through it.
+ * 
+ * Enrolling, dropping and resetting a schedule are safe to call from many
+ * threads. Each locks the student first and then the courses it changes, in
+ * the order given by StripedLocks, so registrations for different students and
+ * courses run at the same time and two registrations can never deadlock.
+ * 
+ * When an operation log is open every change to the rolls and schedules is
+ * appended to it while the change's locks are held, so the log has the changes
+ * in the order they were made, and is on disk before the action returns.
+ * 
+ * When autosave is started the catalog and directories are saved in the
+ * background at a fixed interval, each only when it changed since its last
+ * save, so a burst of changes costs one write of each file.
+ * 
+ * Logins, enrollments and drops are counted and timed in Metrics, which
+ * shows them through JMX, and are sent as flight recorder events.
+ * 
  * @author Ashten Herr, Daniel Katowitz, Aditya Konidena
  *
  */
@@ -49,16 +80,39 @@ public class RegistrationManager {
 	 */
 	private User registrar;
 	/**
-	 * The current user
+	 * The session of the current user
+	 */
+	private volatile Session currentSession;
+	/**
+	 * Open sessions of every logged in user
+	 */
+	private final SessionRegistry sessions = new SessionRegistry();
+	/**
+	 * Log every change to the rolls and schedules is written to, or null if
+	 * changes are not logged
+	 */
+	private volatile OperationLog operationLog;
+	/**
+	 * Generation of the snapshot the data was loaded from or last saved to, 0 if
+	 * it came from record files
+	 */
+	private long generation;
+	/**
+	 * Saves the catalog and directories in the background, or null if autosave
+	 * is not running
 	 */
-	private User currentUser;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	private AutoSaver autoSaver;
 	/**
 	 * Used to access the registrar.properties file when logging in/out of registrar
 	 * user.
 	 */
 	private static final String PROP_FILE = "registrar.properties";
+	/** Number of stripes of the user and course locks */
+	private static final int LOCK_STRIPES = 64;
+	/** Locks on the users registering, always taken before course locks */
+	private static final StripedLocks USER_LOCKS = new StripedLocks(LOCK_STRIPES);
+	/** Locks on the courses a registration changes */
+	private static final StripedLocks COURSE_LOCKS = new StripedLocks(LOCK_STRIPES);
 
 	/**
 	 * creates a registrar and new faculty directory
@@ -81,7 +135,7 @@ public class RegistrationManager {
 		try (InputStream input = new FileInputStream(PROP_FILE)) {
 			prop.load(input);
 
-			String hashPW = hashPW(prop.getProperty("pw"));
+			String hashPW = PasswordHasher.hash(prop.getProperty("pw"));
 
 			registrar = new Registrar(prop.getProperty("first"), prop.getProperty("last"), prop.getProperty("id"),
 					prop.getProperty("email"), hashPW);
@@ -90,24 +144,6 @@ public class RegistrationManager {
 		}
 	}
 
-	/**
-	 * Method used to hash the password to provide extra security uses hash
-	 * algorithm to hash a password into its hash value.
-	 * 
-	 * @param pw to be hashed
-	 * @return String of hashed password
-	 * @throws IllegalArgumentException if the password can not be hashed.
-	 */
-	private String hashPW(String pw) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(pw.getBytes());
-			return new String(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
-	}
-
 	/**
 	 * Method to get an instance of the RegistrationManager, if the instance is null
 	 * creates a new registrationManager with new fields for the course catalog and
@@ -115,7 +151,7 @@ public class RegistrationManager {
 	 * 
 	 * @return instance of the RegistrationManager
 	 */
-	public static RegistrationManager getInstance() {
+	public static synchronized RegistrationManager getInstance() {
 		if (instance == null) {
 			instance = new RegistrationManager();
 			courseCatalog = new CourseCatalog();
@@ -146,7 +182,7 @@ public class RegistrationManager {
 	 * Authenticates the login details provided, first its checked that a user is
 	 * not already logged in then credentials are checked with the registrar then
 	 * checked with the student directory to log in, if the user does not exist an
-	 * IllegalArgumentException is thrown.
+	 * IllegalArgumentException is thrown. The user becomes the current user.
 	 * 
 	 * @param id       - id of user
 	 * @param password - password of user
@@ -155,54 +191,119 @@ public class RegistrationManager {
 	 *                                  registrar or student directory.
 	 * 
 	 */
-	public boolean login(String id, String password) {
-		// check if the current user is null
+	public synchronized boolean login(String id, String password) {
+		// check if the current user is null or their session has closed
+		if (sessions.isOpen(currentSession)) {
+			return false;
+		}
+		Session session = openSession(id, password);
+		if (session == null) {
+			return false;
+		}
+		currentSession = session;
+		return true;
+	}
 
-		if (getCurrentUser() == null) {
+	/**
+	 * Logs a user in with their own session, whether or not other users are
+	 * logged in. Credentials are checked with the registrar, then the student
+	 * and faculty directories.
+	 * 
+	 * @param id       - id of user
+	 * @param password - password of user
+	 * @return the user's new session, or null if the password does not match
+	 * @throws IllegalArgumentException if the user id does not match with a
+	 *                                  registrar, student or faculty.
+	 */
+	public Session openSession(String id, String password) {
+		LoginEvent event = new LoginEvent();
+		event.begin();
+		long start = System.nanoTime();
+		User user = null;
+		try {
+			user = authenticate(id, password);
+		} finally {
+			Metrics.LOGIN.record(start, user != null);
+			event.commit(id, user != null);
+		}
+		return user == null ? null : sessions.open(user);
+	}
 
-			// check with the registrar first that password and id match
-			if (registrar.getId().equals(id)) {
-				String localHashPW = hashPW(password);
-				if (registrar.getPassword().equals(localHashPW)) {
-					currentUser = registrar;
-					return true;
-				}
-				return false;
-			} else {
-				// check if there is an existing student otherwise throw exception
-				Student s = studentDirectory.getStudentById(id);
-				Faculty f = facultyDirectory.getFacultyById(id);
+	/**
+	 * Returns the user with the given id if the password is theirs.
+	 * 
+	 * @param id       - id of user
+	 * @param password - password of user
+	 * @return the user, or null if the password does not match
+	 * @throws IllegalArgumentException if the user id does not match with a
+	 *                                  registrar, student or faculty.
+	 */
+	private User authenticate(String id, String password) {
+		// check with the registrar first that password and id match
+		if (registrar.getId().equals(id)) {
+			if (PasswordHasher.matches(password, registrar.getPassword())) {
+				return registrar;
+			}
+			return null;
+		}
+		// check if there is an existing student otherwise throw exception
+		Student s = studentDirectory.getStudentById(id);
+		Faculty f = facultyDirectory.getFacultyById(id);
 
-				if (s == null && f == null) {
-					throw new IllegalArgumentException("User doesn't exist.");
-				}
+		if (s == null && f == null) {
+			throw new IllegalArgumentException("User doesn't exist.");
+		}
 
-				// check the student id and password to match
-				if (s != null && f == null) {
-					String localHashPW = hashPW(password);
-					if (s.getPassword().equals(localHashPW)) {
-						currentUser = s;
-						return true;
-					}
-				} else if (s == null && f != null) {
-					String localHashPW = hashPW(password);
-					if (f.getPassword().equals(localHashPW)) {
-						currentUser = f;
-						return true;
-					}
-				}
+		// check the student id and password to match
+		if (s != null && f == null) {
+			if (PasswordHasher.matches(password, s.getPassword())) {
+				return s;
+			}
+		} else if (s == null && f != null) {
+			if (PasswordHasher.matches(password, f.getPassword())) {
+				return f;
 			}
 		}
-		// non matching passwords return false
-		return false;
+		// non matching passwords
+		return null;
+	}
+
+	/**
+	 * Returns the open session with the given token.
+	 * 
+	 * @param token - token of the session
+	 * @return the session, or null if no open session has the token
+	 */
+	public Session getSession(String token) {
+		return sessions.getSession(token);
+	}
+
+	/**
+	 * Logs out the user of a session. Closing a session that is not open does
+	 * nothing.
+	 * 
+	 * @param session - session to close
+	 */
+	public void closeSession(Session session) {
+		sessions.close(session);
+	}
 
+	/**
+	 * Returns the number of open sessions.
+	 * 
+	 * @return number of logged in sessions
+	 */
+	public int getNumSessions() {
+		return sessions.size();
 	}
 
 	/**
 	 * Logs the user out
 	 */
-	public void logout() {
-		currentUser = null;
+	public synchronized void logout() {
+		Session session = currentSession;
+		currentSession = null;
+		sessions.close(session);
 	}
 
 	/**
@@ -211,17 +312,61 @@ public class RegistrationManager {
 	 * @return the current user
 	 */
 	public User getCurrentUser() {
+		Session session = currentSession;
+		return session == null ? null : session.getUser();
+	}
+
+	/**
+	 * Returns the user of a session.
+	 * 
+	 * @param session - session to read
+	 * @return the session's user, or null if the session is null
+	 * @throws IllegalArgumentException if the session has been closed
+	 */
+	private User userOf(Session session) {
+		if (session == null) {
+			return null;
+		}
+		if (!sessions.isOpen(session)) {
+			throw new IllegalArgumentException("Invalid session.");
+		}
+		return session.getUser();
+	}
 
-		return currentUser;
+	/**
+	 * Returns the student logged in through a session.
+	 * 
+	 * @param session - session to read
+	 * @return the logged in student
+	 * @throws IllegalArgumentException if the session has been closed or its user
+	 *                                  is not a student
+	 */
+	private Student studentOf(Session session) {
+		User user = userOf(session);
+		if (!(user instanceof Student)) {
+			throw new IllegalArgumentException("Illegal Action");
+		}
+		return (Student) user;
 	}
 
 	/**
-	 * Clears data from both course catalog and student directory
+	 * Clears data from both course catalog and student directory. Every session
+	 * is closed, since its user is no longer in the directories.
 	 */
-	public void clearData() {
+	public synchronized void clearData() {
+		closeAllSessions();
 		courseCatalog.newCourseCatalog();
 		studentDirectory.newStudentDirectory();
 		facultyDirectory.newFacultyDirectory();
+		generation = 0;
+	}
+
+	/**
+	 * Logs every user out, including the current user.
+	 */
+	private void closeAllSessions() {
+		currentSession = null;
+		sessions.closeAll();
 	}
 
 	private static class Registrar extends User {
@@ -246,24 +391,110 @@ public class RegistrationManager {
 	 * @return true if enrolled
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
-		}
+		return enrollStudentInCourse(currentSession, c);
+	}
+
+	/**
+	 * Returns true if the student logged in through the session can enroll in the
+	 * given course.
+	 * 
+	 * @param session - session of the student
+	 * @param c       - course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the session is closed, its user is not
+	 *                                  a student, or the change was made but the
+	 *                                  open operation log can not be written
+	 */
+	public boolean enrollStudentInCourse(Session session, Course c) {
+		Student s = studentOf(session);
+		EnrollAttemptEvent event = new EnrollAttemptEvent();
+		event.begin();
+		long start = System.nanoTime();
+		boolean enrolled = enroll(s, c, event);
+		Metrics.ENROLL.record(start, enrolled);
+		event.commit(s.getId(), c, enrolled);
+		return enrolled;
+	}
+
+	/**
+	 * Enrolls a student in a course while holding the student's lock and then the
+	 * course's lock.
+	 * 
+	 * @param s     - student enrolling
+	 * @param c     - course to enroll in
+	 * @param event - event to tell whether the student was waitlisted, or null
+	 * @return true if enrolled
+	 */
+	private boolean enroll(Student s, Course c, EnrollAttemptEvent event) {
+		long logged = 0;
+		boolean enrolled = false;
+		Student promoted = null;
+		USER_LOCKS.lock(s);
 		try {
-			Student s = (Student) currentUser;
-			Schedule schedule = s.getSchedule();
-			CourseRoll roll = c.getCourseRoll();
+			COURSE_LOCKS.lock(c);
+			try {
+				try {
+					Schedule schedule = s.getSchedule();
+					CourseRoll roll = c.getCourseRoll();
 
-			if (s.canAdd(c) && roll.canEnroll(s)) {
-				roll.enroll(s);
-				schedule.addCourseToSchedule(c);
-				return true;
+					if (s.canAdd(c) && roll.canEnroll(s)) {
+						if (event != null) {
+							event.setWaitlisted(roll.getOpenSeats() <= 0);
+						}
+						roll.enroll(s);
+						try {
+							schedule.addCourseToSchedule(c);
+						} catch (IllegalArgumentException e) {
+							// take the student back off the roll so it matches their schedule
+							promoted = roll.drop(s);
+							throw e;
+						}
+						enrolled = true;
+					}
+				} catch (IllegalArgumentException e) {
+					enrolled = false;
+				}
+				// a log that can not be written fails the call, not the enrollment
+				if (enrolled) {
+					logged = log(OperationLog.ENROLL, s.getId(), c.getName(), c.getSection());
+				}
+			} finally {
+				COURSE_LOCKS.unlock(c);
 			}
-
-		} catch (IllegalArgumentException e) {
-			return false;
+		} finally {
+			USER_LOCKS.unlock(s);
 		}
-		return false;
+		promote(promoted, c);
+		if (enrolled) {
+			syncLog(logged);
+		}
+		return enrolled;
+	}
+
+	/**
+	 * Returns every course in the catalog the logged in student could add: it fits
+	 * their schedule and their remaining credits.
+	 * 
+	 * @return courses the student can add, in catalog order
+	 * @throws IllegalArgumentException if the current user is not a student
+	 */
+	public List<Course> getCoursesThatFit() {
+		return getCoursesThatFit(currentSession);
+	}
+
+	/**
+	 * Returns every course in the catalog the student logged in through the
+	 * session could add: it fits their schedule and their remaining credits.
+	 * 
+	 * @param session - session of the student
+	 * @return courses the student can add, in catalog order
+	 * @throws IllegalArgumentException if the session is closed or its user is not
+	 *                                  a student
+	 */
+	public List<Course> getCoursesThatFit(Session session) {
+		Student s = studentOf(session);
+		Schedule schedule = s.getSchedule();
+		return courseCatalog.getCoursesThatFit(schedule, s.getMaxCredits() - schedule.getScheduleCredits());
 	}
 
 	/**
@@ -273,16 +504,83 @@ public class RegistrationManager {
 	 * @return true if dropped
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
-		}
+		return dropStudentFromCourse(currentSession, c);
+	}
+
+	/**
+	 * Returns true if the student logged in through the session can drop the
+	 * given course.
+	 * 
+	 * @param session - session of the student
+	 * @param c       - course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the session is closed, its user is not
+	 *                                  a student, or the change was made but the
+	 *                                  open operation log can not be written
+	 */
+	public boolean dropStudentFromCourse(Session session, Course c) {
+		Student s = studentOf(session);
+		DropEvent event = new DropEvent();
+		event.begin();
+		long start = System.nanoTime();
+		boolean dropped = drop(s, c);
+		Metrics.DROP.record(start, dropped);
+		event.commit(s.getId(), c, dropped);
+		return dropped;
+	}
+
+	/**
+	 * Drops a student from a course while holding the student's lock and then the
+	 * course's lock.
+	 * 
+	 * @param s - student dropping
+	 * @param c - course to drop
+	 * @return true if dropped
+	 */
+	private boolean drop(Student s, Course c) {
+		long logged = 0;
+		boolean dropped = false;
+		boolean changed = false;
+		Student promoted = null;
+		USER_LOCKS.lock(s);
 		try {
-			Student s = (Student) currentUser;
-			c.getCourseRoll().drop(s);
-			return s.getSchedule().removeCourseFromSchedule(c);
-		} catch (IllegalArgumentException e) {
-			return false;
+			COURSE_LOCKS.lock(c);
+			try {
+				try {
+					CourseRoll roll = c.getCourseRoll();
+					int students = studentsOn(roll);
+					promoted = roll.drop(s);
+					changed = studentsOn(roll) != students;
+					dropped = s.getSchedule().removeCourseFromSchedule(c);
+					changed |= dropped;
+				} catch (IllegalArgumentException e) {
+					dropped = false;
+				}
+				// a drop that fails part way may still have changed the roll, and
+				// replaying it fails the same way
+				if (changed) {
+					logged = log(OperationLog.DROP, s.getId(), c.getName(), c.getSection());
+				}
+			} finally {
+				COURSE_LOCKS.unlock(c);
+			}
+		} finally {
+			USER_LOCKS.unlock(s);
+			// the promoted student gets the seat even if the log can not be written
+			promote(promoted, c);
 		}
+		syncLog(logged);
+		return dropped;
+	}
+
+	/**
+	 * Returns the number of students enrolled in or waiting for a course.
+	 * 
+	 * @param roll - roll of the course
+	 * @return enrolled and waitlisted students
+	 */
+	private static int studentsOn(CourseRoll roll) {
+		return roll.getEnrollmentCap() - roll.getOpenSeats() + roll.getNumberOnWaitlist();
 	}
 
 	/**
@@ -290,21 +588,117 @@ public class RegistrationManager {
 	 * and then resetting the schedule.
 	 */
 	public void resetSchedule() {
-		if (!(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
-		}
+		resetSchedule(currentSession);
+	}
+
+	/**
+	 * Resets the schedule of the student logged in through the session by dropping
+	 * them from every course and then resetting the schedule.
+	 * 
+	 * @param session - session of the student
+	 * @throws IllegalArgumentException if the session is closed, its user is not
+	 *                                  a student, or the change was made but the
+	 *                                  open operation log can not be written
+	 */
+	public void resetSchedule(Session session) {
+		reset(studentOf(session));
+	}
+
+	/**
+	 * Drops a student from every course in their schedule and resets it, holding
+	 * the student's lock and then the locks of all of the scheduled courses.
+	 * 
+	 * @param s - student whose schedule is reset
+	 */
+	private void reset(Student s) {
+		long logged = 0;
+		Student[] promoted = {};
+		Course[] courses = {};
+		USER_LOCKS.lock(s);
 		try {
-			Student s = (Student) currentUser;
 			Schedule schedule = s.getSchedule();
-			String[][] scheduleArray = schedule.getScheduledCourses();
-			for (int i = 0; i < scheduleArray.length; i++) {
-				Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
-				c.getCourseRoll().drop(s);
+			courses = new Course[schedule.getNumScheduledCourses()];
+			promoted = new Student[courses.length];
+			for (int i = 0; i < courses.length; i++) {
+				courses[i] = schedule.getScheduledCourse(i);
+			}
+			int[] stripes = COURSE_LOCKS.lockAll((Object[]) courses);
+			try {
+				try {
+					for (int i = 0; i < courses.length; i++) {
+						promoted[i] = courses[i].getCourseRoll().drop(s);
+					}
+					schedule.resetSchedule();
+				} catch (IllegalArgumentException e) {
+					// do nothing
+				}
+				logged = log(OperationLog.RESET, s.getId());
+			} finally {
+				COURSE_LOCKS.unlockAll(stripes);
+			}
+		} finally {
+			USER_LOCKS.unlock(s);
+			// the promoted students get their seats even if the log can not be written
+			for (int i = 0; i < promoted.length; i++) {
+				promote(promoted[i], courses[i]);
 			}
-			schedule.resetSchedule();
-		} catch (IllegalArgumentException e) {
-			// do nothing
 		}
+		syncLog(logged);
+	}
+
+	/**
+	 * Puts a course on the schedule of a student promoted off its waitlist,
+	 * holding that student's lock and then the course's lock like any other
+	 * change to them. The locks of the drop that promoted them must already be
+	 * released. A student who joined the waitlist through the manager already has
+	 * the course on their schedule, so usually nothing changes. If the course can
+	 * not be added, the student is taken back off the roll and the next student
+	 * on the waitlist is promoted in their place.
+	 * 
+	 * @param promoted - student promoted off the waitlist, or null for no one
+	 * @param c        - course they were promoted into
+	 */
+	private void promote(Student promoted, Course c) {
+		Student next = promoted;
+		while (next != null) {
+			Student p = next;
+			next = null;
+			USER_LOCKS.lock(p);
+			try {
+				COURSE_LOCKS.lock(c);
+				try {
+					CourseRoll roll = c.getCourseRoll();
+					Schedule schedule = p.getSchedule();
+					if (roll.isEnrolled(p) && !isScheduled(schedule, c)) {
+						try {
+							schedule.addCourseToSchedule(c);
+						} catch (IllegalArgumentException e) {
+							next = roll.drop(p);
+						}
+					}
+				} finally {
+					COURSE_LOCKS.unlock(c);
+				}
+			} finally {
+				USER_LOCKS.unlock(p);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether a course is on a schedule.
+	 * 
+	 * @param schedule - schedule to look in
+	 * @param c        - course to look for
+	 * @return true if the schedule has the course
+	 */
+	private static boolean isScheduled(Schedule schedule, Course c) {
+		for (int i = 0; i < schedule.getNumScheduledCourses(); i++) {
+			if (c.isDuplicate(schedule.getScheduledCourse(i))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -326,9 +720,25 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the current user is not the registrar
 	 */
 	public boolean addFacultyToCourse(Course c, Faculty f) {
-		if (currentUser instanceof Registrar) {
-			return f.getSchedule().addCourseToSchedule(c);
-		} else if (currentUser != null && !(currentUser instanceof Registrar)) {
+		return addFacultyToCourse(currentSession, c, f);
+	}
+
+	/**
+	 * Adds a course to a faculty schedule, exceptions propagate to the caller. The
+	 * session's user must be the registrar.
+	 * 
+	 * @param session - session of the registrar
+	 * @param c       - course being added
+	 * @param f       - faculty whos schedule is adding the course
+	 * @return whether the faculty is successfully added
+	 * @throws IllegalArgumentException if the session is closed or its user is not
+	 *                                  the registrar
+	 */
+	public boolean addFacultyToCourse(Session session, Course c, Faculty f) {
+		User user = userOf(session);
+		if (user instanceof Registrar) {
+			return assign(f, c);
+		} else if (user != null) {
 			throw new IllegalArgumentException();
 		}
 		return false;
@@ -344,9 +754,25 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the current user is not the registrar
 	 */
 	public boolean removeFacultyFromCourse(Course c, Faculty f) {
-		if (currentUser instanceof Registrar) {
-			return f.getSchedule().removeCourseFromSchedule(c);
-		} else if (currentUser != null && !(currentUser instanceof Registrar)) {
+		return removeFacultyFromCourse(currentSession, c, f);
+	}
+
+	/**
+	 * Removes a course from a faculty schedule, exceptions propagate to the
+	 * caller. The session's user must be the registrar.
+	 * 
+	 * @param session - session of the registrar
+	 * @param c       - course being removed
+	 * @param f       - faculty whos schedule is removing the course.
+	 * @return whether the faculty can be removed
+	 * @throws IllegalArgumentException if the session is closed or its user is not
+	 *                                  the registrar
+	 */
+	public boolean removeFacultyFromCourse(Session session, Course c, Faculty f) {
+		User user = userOf(session);
+		if (user instanceof Registrar) {
+			return unassign(f, c);
+		} else if (user != null) {
 			throw new IllegalArgumentException();
 		}
 		return false;
@@ -359,10 +785,383 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the current user is not the registrar
 	 */
 	public void resetFacultySchedule(Faculty f) {
-		if (currentUser instanceof Registrar) {
-			f.getSchedule().resetSchedule();
-		} else if (currentUser != null && !(currentUser instanceof Registrar)) {
+		resetFacultySchedule(currentSession, f);
+	}
+
+	/**
+	 * Resets a faculty schedule if the session's user is the registrar.
+	 * 
+	 * @param session - session of the registrar
+	 * @param f       - faculty whos schedule is being reset.
+	 * @throws IllegalArgumentException if the session is closed or its user is not
+	 *                                  the registrar
+	 */
+	public void resetFacultySchedule(Session session, Faculty f) {
+		User user = userOf(session);
+		if (user instanceof Registrar) {
+			resetFaculty(f);
+		} else if (user != null) {
 			throw new IllegalArgumentException();
 		}
 	}
+
+	/**
+	 * Adds a course to a faculty schedule while holding the faculty's lock and
+	 * then the course's lock.
+	 * 
+	 * @param f - faculty being assigned the course
+	 * @param c - course being added
+	 * @return whether the course was added
+	 * @throws IllegalArgumentException if the course can not be added
+	 */
+	private boolean assign(Faculty f, Course c) {
+		long logged = 0;
+		boolean added;
+		USER_LOCKS.lock(f);
+		try {
+			COURSE_LOCKS.lock(c);
+			try {
+				added = f.getSchedule().addCourseToSchedule(c);
+				if (added) {
+					// the instructor is saved with the course
+					courseCatalog.courseUpdated(c);
+					logged = log(OperationLog.ASSIGN, f.getId(), c.getName(), c.getSection());
+				}
+			} finally {
+				COURSE_LOCKS.unlock(c);
+			}
+		} finally {
+			USER_LOCKS.unlock(f);
+		}
+		syncLog(logged);
+		return added;
+	}
+
+	/**
+	 * Removes a course from a faculty schedule while holding the faculty's lock
+	 * and then the course's lock.
+	 * 
+	 * @param f - faculty losing the course
+	 * @param c - course being removed
+	 * @return whether the course was removed
+	 */
+	private boolean unassign(Faculty f, Course c) {
+		long logged = 0;
+		boolean removed;
+		USER_LOCKS.lock(f);
+		try {
+			COURSE_LOCKS.lock(c);
+			try {
+				removed = f.getSchedule().removeCourseFromSchedule(c);
+				if (removed) {
+					courseCatalog.courseUpdated(c);
+					logged = log(OperationLog.UNASSIGN, f.getId(), c.getName(), c.getSection());
+				}
+			} finally {
+				COURSE_LOCKS.unlock(c);
+			}
+		} finally {
+			USER_LOCKS.unlock(f);
+		}
+		syncLog(logged);
+		return removed;
+	}
+
+	/**
+	 * Resets a faculty schedule while holding the faculty's lock.
+	 * 
+	 * @param f - faculty whose schedule is reset
+	 */
+	private void resetFaculty(Faculty f) {
+		long logged;
+		USER_LOCKS.lock(f);
+		try {
+			Course[] courses = new Course[f.getSchedule().getNumScheduledCourses()];
+			for (int i = 0; i < courses.length; i++) {
+				courses[i] = f.getSchedule().getScheduledCourse(i);
+			}
+			f.getSchedule().resetSchedule();
+			for (Course c : courses) {
+				courseCatalog.courseUpdated(c);
+			}
+			logged = log(OperationLog.RESET_FACULTY, f.getId());
+		} finally {
+			USER_LOCKS.unlock(f);
+		}
+		syncLog(logged);
+	}
+
+	/**
+	 * Replays the operations in a log on top of the loaded catalog and
+	 * directories, then appends every later change to the log. Operations naming
+	 * a student, faculty or course that is not loaded, or that can no longer be
+	 * applied, are skipped. A log restarted by a snapshot newer than the loaded
+	 * data can not be replayed, and a log older than the loaded snapshot is
+	 * already part of it and is started again.
+	 * 
+	 * @param fileName - name of the log file, created if it does not exist
+	 * @return number of operations replayed
+	 * @throws IllegalArgumentException if a log is already open, the log follows a
+	 *                                  newer snapshot, or the file can not be read
+	 *                                  or written
+	 */
+	public synchronized int openOperationLog(String fileName) {
+		if (operationLog != null) {
+			throw new IllegalArgumentException("Log already open.");
+		}
+		return openOperationLog(new OperationLog(fileName), fileName);
+	}
+
+	/**
+	 * Replays the operations in a log file and then appends every later change
+	 * through the given log, as openOperationLog(String) does. Tests use it to
+	 * supply a log that fails.
+	 * 
+	 * @param log      - log opened on the file
+	 * @param fileName - name of the log file
+	 * @return number of operations replayed
+	 * @throws IllegalArgumentException if the log follows a newer snapshot, or the
+	 *                                  file can not be read or written
+	 */
+	synchronized int openOperationLog(OperationLog log, String fileName) {
+		int replayed = 0;
+		try {
+			List<String[]> operations = OperationLog.readOperations(fileName);
+			int first = 0;
+			long logGeneration = 0;
+			if (!operations.isEmpty() && operations.get(0).length == 2
+					&& OperationLog.CHECKPOINT.equals(operations.get(0)[0])) {
+				logGeneration = Long.parseLong(operations.get(0)[1]);
+				first = 1;
+			}
+			if (logGeneration > generation) {
+				throw new IllegalArgumentException("Log is newer than the loaded data.");
+			} else if (logGeneration < generation) {
+				log.restart(OperationLog.CHECKPOINT, Long.toString(generation));
+			} else {
+				for (int i = first; i < operations.size(); i++) {
+					if (replay(operations.get(i))) {
+						replayed++;
+					}
+				}
+			}
+		} catch (FileNotFoundException e) {
+			log.close();
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		} catch (IllegalArgumentException e) {
+			log.close();
+			throw e;
+		}
+		operationLog = log;
+		return replayed;
+	}
+
+	/**
+	 * Saves the complete registration state to a binary snapshot: the catalog,
+	 * the directories, the rolls and waitlists, and every schedule. Every user and
+	 * course lock is held while the state is copied, so the snapshot falls between
+	 * registrations. The catalog and each directory are copied while they are
+	 * locked, so a course or user added or removed at the same time is either in
+	 * the snapshot or not. An open operation log is then started again, since the
+	 * snapshot holds everything in it.
+	 * 
+	 * @param fileName - file to save to
+	 * @throws IllegalArgumentException if the file can not be written
+	 */
+	public synchronized void saveSnapshot(String fileName) {
+		int[] users = USER_LOCKS.lockEvery();
+		try {
+			int[] courses = COURSE_LOCKS.lockEvery();
+			try {
+				RegistrationSnapshot snapshot = new RegistrationSnapshot(generation + 1,
+						courseCatalog.getCourses(), studentDirectory.getStudents(), facultyDirectory.getFaculty());
+				SnapshotIO.writeSnapshot(fileName, snapshot);
+				generation = snapshot.getGeneration();
+				OperationLog log = operationLog;
+				if (log != null) {
+					log.restart(OperationLog.CHECKPOINT, Long.toString(generation));
+				}
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write file " + fileName);
+			} finally {
+				COURSE_LOCKS.unlockAll(courses);
+			}
+		} finally {
+			USER_LOCKS.unlockAll(users);
+		}
+	}
+
+	/**
+	 * Replaces the catalog, directories, rolls and schedules with those saved in a
+	 * snapshot, and logs every user out. An operation log opened afterwards
+	 * replays only the changes made since the snapshot.
+	 * 
+	 * @param fileName - file to load
+	 * @throws IllegalArgumentException if a log is open, or the file can not be
+	 *                                  read or is not a snapshot
+	 */
+	public synchronized void loadSnapshot(String fileName) {
+		if (operationLog != null) {
+			throw new IllegalArgumentException("Log already open.");
+		}
+		try {
+			RegistrationSnapshot snapshot = SnapshotIO.readSnapshot(fileName);
+			closeAllSessions();
+			courseCatalog.loadCourses(snapshot.getCourses());
+			studentDirectory.loadStudents(snapshot.getStudents());
+			facultyDirectory.loadFaculty(snapshot.getFaculty());
+			generation = snapshot.getGeneration();
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Forces the open operation log to disk and closes it. Later changes are not
+	 * logged.
+	 */
+	public synchronized void closeOperationLog() {
+		OperationLog log = operationLog;
+		operationLog = null;
+		if (log != null) {
+			log.close();
+		}
+	}
+
+	/**
+	 * Starts saving the catalog and directories to record files in the
+	 * background. Every interval each of them that changed since it was last
+	 * saved to its file is written again, so any number of changes within an
+	 * interval are saved together.
+	 * 
+	 * @param courseFile     - file to save the catalog to, or null to not save it
+	 * @param studentFile    - file to save the student directory to, or null to
+	 *                       not save it
+	 * @param facultyFile    - file to save the faculty directory to, or null to
+	 *                       not save it
+	 * @param intervalMillis - milliseconds between saves
+	 * @throws IllegalArgumentException if autosave is already running or the
+	 *                                  interval is not positive
+	 */
+	public synchronized void startAutoSave(String courseFile, String studentFile, String facultyFile,
+			long intervalMillis) {
+		if (autoSaver != null) {
+			throw new IllegalArgumentException("Autosave already running.");
+		}
+		autoSaver = new AutoSaver(() -> saveRecords(courseFile, studentFile, facultyFile), intervalMillis);
+	}
+
+	/**
+	 * Saves anything changed since the last autosave and stops autosave.
+	 * 
+	 * @throws IllegalArgumentException if the last save fails
+	 */
+	public synchronized void stopAutoSave() {
+		AutoSaver saver = autoSaver;
+		autoSaver = null;
+		if (saver != null) {
+			saver.close();
+		}
+	}
+
+	/**
+	 * Returns the autosave that is running.
+	 * 
+	 * @return the autosave, or null if it is not running
+	 */
+	public synchronized AutoSaver getAutoSaver() {
+		return autoSaver;
+	}
+
+	/**
+	 * Saves each of the catalog and directories that has a file and changed since
+	 * it was last saved there.
+	 * 
+	 * @param courseFile  - file to save the catalog to, or null
+	 * @param studentFile - file to save the student directory to, or null
+	 * @param facultyFile - file to save the faculty directory to, or null
+	 * @throws IllegalArgumentException if a file can not be written
+	 */
+	private void saveRecords(String courseFile, String studentFile, String facultyFile) {
+		if (courseFile != null) {
+			courseCatalog.saveCourseCatalog(courseFile);
+		}
+		if (studentFile != null) {
+			studentDirectory.saveStudentDirectory(studentFile);
+		}
+		if (facultyFile != null) {
+			facultyDirectory.saveFacultyDirectory(facultyFile);
+		}
+	}
+
+	/**
+	 * Applies one logged operation again.
+	 * 
+	 * @param operation - fields of the logged record
+	 * @return true if the operation was applied
+	 */
+	private boolean replay(String[] operation) {
+		String kind = operation[0];
+		if (operation.length == 2 && OperationLog.RESET.equals(kind)) {
+			Student s = studentDirectory.getStudentById(operation[1]);
+			if (s != null) {
+				reset(s);
+			}
+			return s != null;
+		}
+		if (operation.length == 2 && OperationLog.RESET_FACULTY.equals(kind)) {
+			Faculty f = facultyDirectory.getFacultyById(operation[1]);
+			if (f != null) {
+				resetFaculty(f);
+			}
+			return f != null;
+		}
+		if (operation.length != 4) {
+			return false;
+		}
+		Course c = courseCatalog.getCourseFromCatalog(operation[2], operation[3]);
+		Student s = studentDirectory.getStudentById(operation[1]);
+		Faculty f = facultyDirectory.getFacultyById(operation[1]);
+		if (c == null) {
+			return false;
+		}
+		try {
+			if (OperationLog.ENROLL.equals(kind) && s != null) {
+				return enroll(s, c, null);
+			} else if (OperationLog.DROP.equals(kind) && s != null) {
+				drop(s, c);
+				return true;
+			} else if (OperationLog.ASSIGN.equals(kind) && f != null) {
+				return assign(f, c);
+			} else if (OperationLog.UNASSIGN.equals(kind) && f != null) {
+				return unassign(f, c);
+			}
+		} catch (IllegalArgumentException e) {
+			// the assignment is already in the saved catalog
+		}
+		return false;
+	}
+
+	/**
+	 * Appends an operation to the open log.
+	 * 
+	 * @param fields - kind of operation followed by its values
+	 * @return number of the record, or 0 if no log is open
+	 */
+	private long log(String... fields) {
+		OperationLog log = operationLog;
+		return log == null ? 0 : log.append(fields);
+	}
+
+	/**
+	 * Waits until a logged operation is on disk.
+	 * 
+	 * @param record - number returned by log(), or 0 if nothing was logged
+	 */
+	private void syncLog(long record) {
+		OperationLog log = operationLog;
+		if (log != null && record > 0) {
+			log.sync(record);
+		}
+	}
 }
\ No newline at end of file
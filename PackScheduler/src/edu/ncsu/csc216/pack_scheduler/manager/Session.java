@@ -0,0 +1,71 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * A Session is the handle a logged in user acts through. It pairs the user with
+ * a random token that identifies the session to the SessionRegistry that opened
+ * it, so a client can hold on to the token and look the session up again. A
+ * session stays valid until it is closed, or until it goes unused for longer
+ * than the idle timeout of its registry.
+ *
+ * @author Ashten Herr
+ */
+public class Session {
+
+	/** Token identifying the session */
+	private final String token;
+	/** User logged in through the session */
+	private final User user;
+	/** Time the session was last used, in the nanoseconds of its registry */
+	private volatile long lastUsed;
+
+	/**
+	 * Creates a session. Sessions are only created by a SessionRegistry.
+	 *
+	 * @param token - token identifying the session
+	 * @param user  - user logged in through the session
+	 * @param now   - time the session is opened
+	 */
+	Session(String token, User user, long now) {
+		this.token = token;
+		this.user = user;
+		this.lastUsed = now;
+	}
+
+	/**
+	 * Returns the token identifying the session.
+	 *
+	 * @return the session token
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * Returns the user logged in through the session.
+	 *
+	 * @return the session's user
+	 */
+	public User getUser() {
+		return user;
+	}
+
+	/**
+	 * Returns the time the session was last used.
+	 *
+	 * @return last use, in the nanoseconds of the registry
+	 */
+	long getLastUsed() {
+		return lastUsed;
+	}
+
+	/**
+	 * Records that the session was used.
+	 *
+	 * @param now - time of the use
+	 */
+	void touch(long now) {
+		lastUsed = now;
+	}
+}
@@ -0,0 +1,178 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * SessionRegistry tracks the open sessions of any number of logged in users.
+ * Each session gets a token of random bytes that can not be guessed from other
+ * tokens. Sessions can be opened, looked up and closed from many threads at
+ * once. A session that goes unused for longer than the idle timeout is closed:
+ * it is dropped when it is next looked up, and sessions nobody looks up again
+ * are swept out as new ones are opened.
+ *
+ * @author Ashten Herr
+ */
+public class SessionRegistry {
+
+	/** Number of random bytes in a token */
+	private static final int TOKEN_BYTES = 24;
+	/** Idle timeout of a registry when none is given */
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+	/** Open sessions by token */
+	private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+	/** Source of the tokens */
+	private final SecureRandom random = new SecureRandom();
+	/** Nanoseconds a session can go unused before it is closed */
+	private final long idleTimeout;
+	/** Source of the current time in nanoseconds */
+	private final LongSupplier clock;
+	/** Time of the last sweep for idle sessions */
+	private volatile long lastSweep;
+
+	/**
+	 * Creates a registry with the default idle timeout.
+	 */
+	public SessionRegistry() {
+		this(DEFAULT_IDLE_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates a registry that closes sessions left unused for the given time.
+	 *
+	 * @param idleTimeoutMillis - milliseconds a session can go unused
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 */
+	public SessionRegistry(long idleTimeoutMillis) {
+		this(idleTimeoutMillis, System::nanoTime);
+	}
+
+	/**
+	 * Creates a registry that reads the time from the given clock, so tests can
+	 * move time forward.
+	 *
+	 * @param idleTimeoutMillis - milliseconds a session can go unused
+	 * @param clock             - source of the current time in nanoseconds
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 */
+	SessionRegistry(long idleTimeoutMillis, LongSupplier clock) {
+		if (idleTimeoutMillis <= 0) {
+			throw new IllegalArgumentException("Invalid idle timeout.");
+		}
+		this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+		this.clock = clock;
+		this.lastSweep = clock.getAsLong();
+	}
+
+	/**
+	 * Opens a new session for a user.
+	 *
+	 * @param user - user logging in
+	 * @return the new session
+	 * @throws IllegalArgumentException if the user is null
+	 */
+	public Session open(User user) {
+		if (user == null) {
+			throw new IllegalArgumentException("Invalid user.");
+		}
+		long now = clock.getAsLong();
+		if (now - lastSweep >= idleTimeout) {
+			lastSweep = now;
+			sessions.values().removeIf(s -> isIdle(s, now));
+		}
+		while (true) {
+			byte[] bytes = new byte[TOKEN_BYTES];
+			random.nextBytes(bytes);
+			Session session = new Session(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), user, now);
+			if (sessions.putIfAbsent(session.getToken(), session) == null) {
+				return session;
+			}
+		}
+	}
+
+	/**
+	 * Returns the open session with a token, counting the lookup as a use.
+	 *
+	 * @param token - token of the session
+	 * @return the session, or null if no open session has the token
+	 */
+	public Session getSession(String token) {
+		Session session = token == null ? null : sessions.get(token);
+		return use(session) ? session : null;
+	}
+
+	/**
+	 * Returns whether a session is open in this registry, counting the check as
+	 * a use.
+	 *
+	 * @param session - session to check
+	 * @return true if the session is open
+	 */
+	public boolean isOpen(Session session) {
+		return session != null && sessions.get(session.getToken()) == session && use(session);
+	}
+
+	/**
+	 * Records a use of an open session, or closes it if it has been idle too
+	 * long.
+	 *
+	 * @param session - open session being used, or null
+	 * @return true if the session is still open
+	 */
+	private boolean use(Session session) {
+		if (session == null) {
+			return false;
+		}
+		long now = clock.getAsLong();
+		if (isIdle(session, now)) {
+			sessions.remove(session.getToken(), session);
+			return false;
+		}
+		session.touch(now);
+		return true;
+	}
+
+	/**
+	 * Returns whether a session has gone unused for longer than the idle
+	 * timeout.
+	 *
+	 * @param session - session to check
+	 * @param now     - current time
+	 * @return true if the session is idle
+	 */
+	private boolean isIdle(Session session, long now) {
+		return now - session.getLastUsed() > idleTimeout;
+	}
+
+	/**
+	 * Closes a session. Closing a session that is not open does nothing.
+	 *
+	 * @param session - session to close
+	 * @return true if the session was open
+	 */
+	public boolean close(Session session) {
+		return session != null && sessions.remove(session.getToken(), session);
+	}
+
+	/**
+	 * Closes every open session.
+	 */
+	public void closeAll() {
+		sessions.clear();
+	}
+
+	/**
+	 * Returns the number of open sessions.
+	 *
+	 * @return number of open sessions
+	 */
+	public int size() {
+		return sessions.size();
+	}
+}
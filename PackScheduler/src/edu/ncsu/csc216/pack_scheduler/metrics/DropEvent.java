@@ -0,0 +1,48 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * A flight recorder event for a student dropping a course, timed from before
+ * the student and course are locked until the drop is logged.
+ *
+ * @author Ashten Herr
+ */
+@Name(Events.PREFIX + "Drop")
+@Label("Drop")
+@Category({ Events.CATEGORY, "Registration" })
+@Description("A student dropping a course or leaving its waitlist")
+public class DropEvent extends Event {
+
+	/** Id of the student */
+	@Label("Student Id")
+	String studentId;
+	/** Name and section of the course */
+	@Label("Course")
+	String courseKey;
+	/** Whether the course was removed from the student's schedule */
+	@Label("Dropped")
+	boolean dropped;
+
+	/**
+	 * Ends the event and commits it if it is being recorded.
+	 *
+	 * @param studentId - id of the student
+	 * @param course    - course the student dropped
+	 * @param dropped   - whether the drop succeeded
+	 */
+	public void commit(String studentId, Course course, boolean dropped) {
+		if (shouldCommit()) {
+			this.studentId = studentId;
+			this.courseKey = Events.courseKey(course);
+			this.dropped = dropped;
+			commit();
+		}
+	}
+}
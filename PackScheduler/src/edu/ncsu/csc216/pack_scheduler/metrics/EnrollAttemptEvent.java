@@ -0,0 +1,70 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * A flight recorder event for a student trying to enroll in a course, timed
+ * from before the student and course are locked until the enrollment is
+ * logged.
+ *
+ * @author Ashten Herr
+ */
+@Name(Events.PREFIX + "EnrollAttempt")
+@Label("Enroll Attempt")
+@Category({ Events.CATEGORY, "Registration" })
+@Description("A student trying to enroll in a course")
+public class EnrollAttemptEvent extends Event {
+
+	/** Outcome of an enrollment that put the student in the course */
+	public static final String ENROLLED = "enrolled";
+	/** Outcome of an enrollment that put the student on the waitlist */
+	public static final String WAITLISTED = "waitlisted";
+	/** Outcome of an enrollment that was refused */
+	public static final String REFUSED = "refused";
+
+	/** Id of the student */
+	@Label("Student Id")
+	String studentId;
+	/** Name and section of the course */
+	@Label("Course")
+	String courseKey;
+	/** What the attempt did */
+	@Label("Outcome")
+	String outcome;
+	/** Whether the student was put on the waitlist */
+	@Label("Waitlisted")
+	boolean waitlisted;
+
+	/**
+	 * Records whether the student went on the waitlist, which is only known
+	 * while the course is locked.
+	 *
+	 * @param waitlisted - whether the student was put on the waitlist
+	 */
+	public void setWaitlisted(boolean waitlisted) {
+		this.waitlisted = waitlisted;
+	}
+
+	/**
+	 * Ends the event and commits it if it is being recorded.
+	 *
+	 * @param studentId - id of the student
+	 * @param course    - course the student tried to enroll in
+	 * @param enrolled  - whether the attempt succeeded
+	 */
+	public void commit(String studentId, Course course, boolean enrolled) {
+		if (shouldCommit()) {
+			this.studentId = studentId;
+			this.courseKey = Events.courseKey(course);
+			this.waitlisted = enrolled && waitlisted;
+			this.outcome = !enrolled ? REFUSED : waitlisted ? WAITLISTED : ENROLLED;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Names shared by the flight recorder events. Each event is created and begun
+ * where its operation starts and committed where it ends. A commit checks
+ * shouldCommit() before filling in any field, so when the event is not being
+ * recorded an operation only pays for creating the event, which the JIT can
+ * usually remove.
+ *
+ * Start a recording with the events enabled, for example with
+ * -XX:StartFlightRecording, and open it in JDK Mission Control to see them
+ * next to garbage collections and lock contention.
+ *
+ * @author Ashten Herr
+ */
+public class Events {
+
+	/** Prefix of every event's name */
+	public static final String PREFIX = "edu.ncsu.csc216.pack_scheduler.";
+	/** Category every event is in */
+	public static final String CATEGORY = "PackScheduler";
+
+	/** Record type of course record files */
+	public static final String COURSES = "course";
+	/** Record type of student record files */
+	public static final String STUDENTS = "student";
+	/** Record type of faculty record files */
+	public static final String FACULTY = "faculty";
+
+	/**
+	 * Returns the name and section of a course as they are shown in events.
+	 *
+	 * @param course - course to name, or null
+	 * @return the name and section separated by a dash, or null for no course
+	 */
+	static String courseKey(Course course) {
+		return course == null ? null : course.getName() + "-" + course.getSection();
+	}
+}
@@ -0,0 +1,152 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in nanoseconds that many threads can record into
+ * without locking. Durations below 8 each have their own bucket. Above that,
+ * every power of two is split into 8 buckets of equal width, so a bucket is
+ * never wider than an eighth of the values in it and a percentile is never
+ * more than 12.5% above the true value. Every positive long fits in the 488
+ * buckets, so nothing is ever rescaled.
+ *
+ * Recording adds one to a bucket and to the count, sum and max, each with its
+ * own atomic update. A reader that runs while values are recorded can see a
+ * value in some of these and not yet in others, so the statistics of a busy
+ * histogram are close but not exact.
+ *
+ * @author Ashten Herr
+ */
+public class LatencyHistogram {
+
+	/** Bits of each value below its highest bit used to pick a bucket */
+	private static final int SUB_BITS = 3;
+	/** Buckets each power of two is split into */
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	/** Number of buckets, enough for any positive long */
+	static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+	/** Number of values recorded in each bucket */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	/** Number of values recorded */
+	private final LongAdder count = new LongAdder();
+	/** Sum of the values recorded */
+	private final LongAdder sum = new LongAdder();
+	/** Largest value recorded */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a duration. A negative duration, from a clock that went backwards,
+	 * is recorded as 0.
+	 *
+	 * @param nanos - duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		buckets.incrementAndGet(bucketOf(value));
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 *
+	 * @return number of values
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the sum of the values recorded.
+	 *
+	 * @return sum in nanoseconds
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * Returns the largest value recorded.
+	 *
+	 * @return largest value in nanoseconds, or 0 if nothing was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of the values recorded.
+	 *
+	 * @return mean in nanoseconds, or 0 if nothing was recorded
+	 */
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Returns a value that the given percentage of recorded values are at or
+	 * below: the top of the bucket the percentile falls in, or the largest value
+	 * recorded if that is smaller.
+	 *
+	 * @param percent - percentage of values, from 0 to 100
+	 * @return the percentile in nanoseconds, or 0 if nothing was recorded
+	 * @throws IllegalArgumentException if percent is not from 0 to 100
+	 */
+	public long getPercentile(double percent) {
+		if (!(percent >= 0 && percent <= 100)) {
+			throw new IllegalArgumentException("Invalid percentile.");
+		}
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percent / 100 * total));
+		long seen = 0;
+		int bucket = 0;
+		while (bucket < BUCKETS - 1 && seen + counts[bucket] < rank) {
+			seen += counts[bucket];
+			bucket++;
+		}
+		return Math.min(upperBound(bucket), getMax());
+	}
+
+	/**
+	 * Returns the bucket a value is recorded in.
+	 *
+	 * @param value - value that is not negative
+	 * @return index of its bucket
+	 */
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the largest value recorded in a bucket.
+	 *
+	 * @param bucket - index of the bucket
+	 * @return largest value of the bucket
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,41 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for a user logging in, timed over checking their
+ * password.
+ *
+ * @author Ashten Herr
+ */
+@Name(Events.PREFIX + "Login")
+@Label("Login")
+@Category({ Events.CATEGORY, "Registration" })
+@Description("A user logging in")
+public class LoginEvent extends Event {
+
+	/** Id the user logged in with */
+	@Label("User Id")
+	String userId;
+	/** Whether the id and password matched */
+	@Label("Succeeded")
+	boolean succeeded;
+
+	/**
+	 * Ends the event and commits it if it is being recorded.
+	 *
+	 * @param userId    - id the user logged in with
+	 * @param succeeded - whether the login succeeded
+	 */
+	public void commit(String userId, boolean succeeded) {
+		if (shouldCommit()) {
+			this.userId = userId;
+			this.succeeded = succeeded;
+			commit();
+		}
+	}
+}
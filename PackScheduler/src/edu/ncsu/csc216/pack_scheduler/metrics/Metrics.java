@@ -0,0 +1,109 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The statistics kept for registration operations and record files. Each is
+ * registered with the platform MBean server the first time this class is
+ * used, as edu.ncsu.csc216.pack_scheduler:type=Operation,name= followed by
+ * its name, so it can be watched with jconsole or any other JMX client.
+ *
+ * @author Ashten Herr
+ */
+public class Metrics {
+
+	/** Domain of the registered MBeans */
+	public static final String DOMAIN = "edu.ncsu.csc216.pack_scheduler";
+
+	/** Every statistic, in the order it was created */
+	private static final List<OperationStats> ALL = new ArrayList<OperationStats>();
+
+	/** Logins, failing when the id or password is wrong */
+	public static final OperationStats LOGIN = create("login");
+	/** Enrollments, failing when the student can not enroll */
+	public static final OperationStats ENROLL = create("enroll");
+	/** Drops, failing when the student was not dropped */
+	public static final OperationStats DROP = create("drop");
+	/** Students added to a waitlist */
+	public static final OperationStats WAITLIST_ADD = create("waitlistAdd");
+	/** Students promoted off a waitlist */
+	public static final OperationStats WAITLIST_PROMOTION = create("waitlistPromotion");
+	/** Course lookups in the catalog, failing when there is no such course */
+	public static final OperationStats CATALOG_LOOKUP = create("catalogLookup");
+	/** Course record files read */
+	public static final OperationStats COURSE_LOAD = create("courseLoad");
+	/** Course record files written */
+	public static final OperationStats COURSE_SAVE = create("courseSave");
+	/** Student record files read */
+	public static final OperationStats STUDENT_LOAD = create("studentLoad");
+	/** Student record files written */
+	public static final OperationStats STUDENT_SAVE = create("studentSave");
+	/** Faculty record files read */
+	public static final OperationStats FACULTY_LOAD = create("facultyLoad");
+	/** Faculty record files written */
+	public static final OperationStats FACULTY_SAVE = create("facultySave");
+
+	static {
+		register();
+	}
+
+	/**
+	 * Returns every statistic kept.
+	 *
+	 * @return the statistics, in a read only list
+	 */
+	public static List<OperationStats> getAll() {
+		return Collections.unmodifiableList(ALL);
+	}
+
+	/**
+	 * Returns the name a statistic is registered under.
+	 *
+	 * @param stats - statistic to name
+	 * @return its object name
+	 * @throws IllegalArgumentException if the statistic's name can not be used in
+	 *                                  an object name
+	 */
+	public static ObjectName objectName(OperationStats stats) {
+		try {
+			return new ObjectName(DOMAIN + ":type=Operation,name=" + stats.getName());
+		} catch (JMException e) {
+			throw new IllegalArgumentException("Invalid operation name.");
+		}
+	}
+
+	/**
+	 * Creates a statistic and adds it to the list of all of them.
+	 *
+	 * @param name - name of the operation
+	 * @return the statistic
+	 */
+	private static OperationStats create(String name) {
+		OperationStats stats = new OperationStats(name);
+		ALL.add(stats);
+		return stats;
+	}
+
+	/**
+	 * Registers every statistic with the platform MBean server. A statistic that
+	 * can not be registered, such as when another copy of this class already did,
+	 * is still kept but can not be seen through JMX.
+	 */
+	private static void register() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (OperationStats stats : ALL) {
+			try {
+				server.registerMBean(stats, objectName(stats));
+			} catch (JMException e) {
+				// already registered by another class loader
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times one kind of operation, such as logging in or loading a
+ * record file. Operations are timed from a start taken with System.nanoTime()
+ * and recorded when they end, and an operation that is only counted, such as
+ * a promotion off a waitlist, is recorded with increment(). Nothing here
+ * locks, so recording from many threads does not make them wait on each
+ * other.
+ *
+ * @author Ashten Herr
+ */
+public class OperationStats implements OperationStatsMBean {
+
+	/** Nanoseconds in a millisecond */
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** Name of the operation */
+	private final String name;
+	/** Number of operations */
+	private final LongAdder count = new LongAdder();
+	/** Number of operations that failed */
+	private final LongAdder failures = new LongAdder();
+	/** Number of records read or written */
+	private final LongAdder records = new LongAdder();
+	/** Durations of the timed operations */
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	/**
+	 * Creates the statistics of an operation.
+	 *
+	 * @param name - name of the operation
+	 * @throws IllegalArgumentException if the name is null or empty
+	 */
+	public OperationStats(String name) {
+		if (name == null || name.isEmpty()) {
+			throw new IllegalArgumentException("Invalid operation name.");
+		}
+		this.name = name;
+	}
+
+	/**
+	 * Returns the name of the operation.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Records an operation that is counted but not timed.
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Records an operation that started at the given time and has just ended.
+	 *
+	 * @param startNanos - System.nanoTime() when the operation started
+	 * @param succeeded  - whether the operation succeeded
+	 */
+	public void record(long startNanos, boolean succeeded) {
+		latency.record(System.nanoTime() - startNanos);
+		count.increment();
+		if (!succeeded) {
+			failures.increment();
+		}
+	}
+
+	/**
+	 * Records a successful operation on a record file that started at the given
+	 * time and has just ended.
+	 *
+	 * @param startNanos - System.nanoTime() when the operation started
+	 * @param n          - number of records read or written
+	 */
+	public void record(long startNanos, int n) {
+		record(startNanos, true);
+		records.add(n);
+	}
+
+	/**
+	 * Returns the durations of the timed operations in nanoseconds.
+	 *
+	 * @return the histogram of durations
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	@Override
+	public long getRecords() {
+		return records.sum();
+	}
+
+	@Override
+	public double getMeanMillis() {
+		return latency.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getMaxMillis() {
+		return latency.getMax() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getMedianMillis() {
+		return latency.getPercentile(50) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double get95thPercentileMillis() {
+		return latency.getPercentile(95) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double get99thPercentileMillis() {
+		return latency.getPercentile(99) / NANOS_PER_MILLI;
+	}
+}
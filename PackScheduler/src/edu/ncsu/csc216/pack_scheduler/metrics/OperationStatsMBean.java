@@ -0,0 +1,67 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+/**
+ * The attributes of an OperationStats shown through JMX. Durations are in
+ * milliseconds.
+ *
+ * @author Ashten Herr
+ */
+public interface OperationStatsMBean {
+
+	/**
+	 * Returns the number of times the operation ran.
+	 *
+	 * @return number of operations
+	 */
+	long getCount();
+
+	/**
+	 * Returns the number of times the operation failed or was refused.
+	 *
+	 * @return number of failed operations
+	 */
+	long getFailures();
+
+	/**
+	 * Returns the number of records the operations read or wrote, for
+	 * operations on record files.
+	 *
+	 * @return number of records
+	 */
+	long getRecords();
+
+	/**
+	 * Returns the mean duration of the timed operations.
+	 *
+	 * @return mean duration
+	 */
+	double getMeanMillis();
+
+	/**
+	 * Returns the longest duration of the timed operations.
+	 *
+	 * @return longest duration
+	 */
+	double getMaxMillis();
+
+	/**
+	 * Returns the duration half the timed operations took at most.
+	 *
+	 * @return median duration
+	 */
+	double getMedianMillis();
+
+	/**
+	 * Returns the duration 95% of the timed operations took at most.
+	 *
+	 * @return 95th percentile duration
+	 */
+	double get95thPercentileMillis();
+
+	/**
+	 * Returns the duration 99% of the timed operations took at most.
+	 *
+	 * @return 99th percentile duration
+	 */
+	double get99thPercentileMillis();
+}
@@ -0,0 +1,50 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for a record file being read.
+ *
+ * @author Ashten Herr
+ */
+@Name(Events.PREFIX + "RecordFileLoad")
+@Label("Record File Load")
+@Category({ Events.CATEGORY, "Record Files" })
+@Description("A course, student or faculty record file being read")
+public class RecordFileLoadEvent extends Event {
+
+	/** File read */
+	@Label("File")
+	String fileName;
+	/** Kind of record in the file */
+	@Label("Record Type")
+	String recordType;
+	/** Lines read from the file */
+	@Label("Lines Read")
+	int linesRead;
+	/** Valid records read from the file */
+	@Label("Records")
+	int records;
+
+	/**
+	 * Ends the event and commits it if it is being recorded.
+	 *
+	 * @param fileName   - file read
+	 * @param recordType - kind of record in the file
+	 * @param linesRead  - lines read from the file
+	 * @param records    - valid records read from the file
+	 */
+	public void commit(String fileName, String recordType, int linesRead, int records) {
+		if (shouldCommit()) {
+			this.fileName = fileName;
+			this.recordType = recordType;
+			this.linesRead = linesRead;
+			this.records = records;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for a record file being written.
+ *
+ * @author Ashten Herr
+ */
+@Name(Events.PREFIX + "RecordFileSave")
+@Label("Record File Save")
+@Category({ Events.CATEGORY, "Record Files" })
+@Description("A course, student or faculty record file being written")
+public class RecordFileSaveEvent extends Event {
+
+	/** File written */
+	@Label("File")
+	String fileName;
+	/** Kind of record in the file */
+	@Label("Record Type")
+	String recordType;
+	/** Records written to the file */
+	@Label("Records")
+	int records;
+
+	/**
+	 * Ends the event and commits it if it is being recorded.
+	 *
+	 * @param fileName   - file written
+	 * @param recordType - kind of record in the file
+	 * @param records    - records written to the file
+	 */
+	public void commit(String fileName, String recordType, int records) {
+		if (shouldCommit()) {
+			this.fileName = fileName;
+			this.recordType = recordType;
+			this.records = records;
+			commit();
+		}
+	}
+}
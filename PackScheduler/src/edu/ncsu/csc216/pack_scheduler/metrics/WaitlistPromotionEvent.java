@@ -0,0 +1,49 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * A flight recorder event for the first student on a waitlist taking the seat
+ * of a student who dropped, timed over moving them from the waitlist to the
+ * roll.
+ *
+ * @author Ashten Herr
+ */
+@Name(Events.PREFIX + "WaitlistPromotion")
+@Label("Waitlist Promotion")
+@Category({ Events.CATEGORY, "Registration" })
+@Description("A student promoted off a course's waitlist")
+public class WaitlistPromotionEvent extends Event {
+
+	/** Id of the promoted student */
+	@Label("Student Id")
+	String studentId;
+	/** Name and section of the course */
+	@Label("Course")
+	String courseKey;
+	/** Students still on the waitlist */
+	@Label("Still Waiting")
+	int stillWaiting;
+
+	/**
+	 * Ends the event and commits it if it is being recorded.
+	 *
+	 * @param studentId    - id of the promoted student
+	 * @param course       - course of the waitlist
+	 * @param stillWaiting - students still on the waitlist
+	 */
+	public void commit(String studentId, Course course, int stillWaiting) {
+		if (shouldCommit()) {
+			this.studentId = studentId;
+			this.courseKey = Events.courseKey(course);
+			this.stillWaiting = stillWaiting;
+			commit();
+		}
+	}
+}
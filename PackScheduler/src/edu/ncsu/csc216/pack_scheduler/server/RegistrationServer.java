@@ -0,0 +1,492 @@
+package edu.ncsu.csc216.pack_scheduler.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.manager.Session;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * RegistrationServer runs PackScheduler without the GUI, as an HTTP service
+ * backed by RegistrationManager. Each request runs on its own virtual thread
+ * when the JVM has them, or on a cached thread pool when it does not.
+ *
+ * Parameters are sent as a form encoded body for POST requests or as a query
+ * string for GET requests. A user logs in through /login and sends the session
+ * token it returns with every other request, either as a "token" parameter or
+ * in an "Authorization: Bearer" header. Tables are returned as plain text with
+ * one row per line and tab separated columns.
+ *
+ * <ul>
+ * <li>POST /login (id, password) - returns the session token</li>
+ * <li>POST /logout - closes the session</li>
+ * <li>GET /catalog - name, section, title, meeting string and capacity of every
+ * course</li>
+ * <li>POST /enroll (name, section) - returns true if the student enrolled</li>
+ * <li>POST /drop (name, section) - returns true if the student dropped</li>
+ * <li>GET /schedule - name, section, title, meeting string and open seats of
+ * the student's courses</li>
+ * </ul>
+ *
+ * A request that the manager rejects returns 400 with the reason, a request
+ * without an open session returns 401, and a request whose body is larger
+ * than MAX_BODY bytes returns 413 without the rest of the body being read.
+ * Any other failure returns 500 and leaves the server running.
+ *
+ * @author Ashten Herr
+ */
+public class RegistrationServer {
+
+	/** Port used when none is given */
+	public static final int DEFAULT_PORT = 8080;
+	/** Largest request body read, in bytes */
+	public static final int MAX_BODY = 1 << 16;
+	/** Status of a successful request */
+	private static final int OK = 200;
+	/** Status of a request the manager rejects */
+	private static final int BAD_REQUEST = 400;
+	/** Status of a request without an open session */
+	private static final int UNAUTHORIZED = 401;
+	/** Status of a request for a path that does not exist */
+	private static final int NOT_FOUND = 404;
+	/** Status of a request with the wrong method */
+	private static final int BAD_METHOD = 405;
+	/** Status of a request whose body is too large */
+	private static final int TOO_LARGE = 413;
+	/** Status of a request that failed for an unexpected reason */
+	private static final int SERVER_ERROR = 500;
+	/** Prefix of a session token in an Authorization header */
+	private static final String BEARER = "Bearer ";
+
+	/** Manager the requests act through */
+	private RegistrationManager manager;
+	/** HTTP server accepting the requests */
+	private HttpServer server;
+	/** Executor running the requests */
+	private ExecutorService executor;
+
+	/**
+	 * Creates a server for the manager bound to the given port. The server does
+	 * not accept requests until it is started.
+	 *
+	 * @param manager - manager the requests act through
+	 * @param port    - port to listen on, or 0 for any free port
+	 * @throws IOException if the port can not be bound
+	 */
+	public RegistrationServer(RegistrationManager manager, int port) throws IOException {
+		this.manager = manager;
+		server = HttpServer.create(new InetSocketAddress(port), 0);
+		server.createContext("/login", exchange -> handle(exchange, "POST", this::login));
+		server.createContext("/logout", exchange -> handle(exchange, "POST", this::logout));
+		server.createContext("/catalog", exchange -> handle(exchange, "GET", this::catalog));
+		server.createContext("/enroll", exchange -> handle(exchange, "POST", this::enroll));
+		server.createContext("/drop", exchange -> handle(exchange, "POST", this::drop));
+		server.createContext("/schedule", exchange -> handle(exchange, "GET", this::schedule));
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		executor = newRequestExecutor();
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * Stops accepting requests and waits up to the given time for requests in
+	 * progress to finish.
+	 *
+	 * @param delaySeconds - seconds to wait for requests in progress
+	 */
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return the bound port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns an executor that runs each request on a new virtual thread. Virtual
+	 * threads are looked up by reflection so the server also runs on JVMs without
+	 * them, where a cached thread pool is used instead.
+	 *
+	 * @return executor for the requests
+	 */
+	private static ExecutorService newRequestExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * An action behind one path of the server.
+	 */
+	private interface Action {
+
+		/**
+		 * Runs the action.
+		 *
+		 * @param params  - parameters of the request
+		 * @param session - session of the request, or null if it has none
+		 * @return body of the response
+		 * @throws UnauthorizedException if the action needs a session and has none
+		 */
+		String run(Map<String, String> params, Session session);
+	}
+
+	/**
+	 * Thrown by an action that needs an open session when the request has none.
+	 */
+	private static class UnauthorizedException extends RuntimeException {
+
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Creates the exception.
+		 */
+		UnauthorizedException() {
+			super("Not logged in.");
+		}
+	}
+
+	/**
+	 * Thrown when a request body is larger than MAX_BODY.
+	 */
+	private static class TooLargeException extends RuntimeException {
+
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Creates the exception.
+		 */
+		TooLargeException() {
+			super("Request body too large.");
+		}
+	}
+
+	/**
+	 * Runs an action for a request and sends its response.
+	 *
+	 * @param exchange - request and response
+	 * @param method   - method the path accepts
+	 * @param action   - action to run
+	 * @throws IOException if the request can not be read or the response sent
+	 */
+	private void handle(HttpExchange exchange, String method, Action action) throws IOException {
+		try {
+			if (!method.equals(exchange.getRequestMethod())) {
+				send(exchange, BAD_METHOD, "Use " + method + ".");
+				return;
+			}
+			Map<String, String> params = parameters(exchange);
+			Session session = manager.getSession(token(exchange, params));
+			send(exchange, OK, action.run(params, session));
+		} catch (UnauthorizedException e) {
+			send(exchange, UNAUTHORIZED, e.getMessage());
+		} catch (TooLargeException e) {
+			send(exchange, TOO_LARGE, e.getMessage());
+		} catch (IllegalArgumentException e) {
+			send(exchange, BAD_REQUEST, e.getMessage() == null ? "Invalid request." : e.getMessage());
+		} catch (RuntimeException e) {
+			send(exchange, SERVER_ERROR, "Internal error.");
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Logs a user in. An unknown id gets the same response as a wrong password,
+	 * so the response does not tell which ids exist.
+	 *
+	 * @param params  - id and password
+	 * @param session - ignored
+	 * @return the new session token
+	 * @throws UnauthorizedException if there is no such user or the password does
+	 *                               not match
+	 */
+	private String login(Map<String, String> params, Session session) {
+		String id = required(params, "id");
+		String password = required(params, "password");
+		Session opened;
+		try {
+			opened = manager.openSession(id, password);
+		} catch (IllegalArgumentException e) {
+			throw new UnauthorizedException();
+		}
+		if (opened == null) {
+			throw new UnauthorizedException();
+		}
+		return opened.getToken();
+	}
+
+	/**
+	 * Logs the user of a session out.
+	 *
+	 * @param params  - ignored
+	 * @param session - session to close
+	 * @return empty body
+	 */
+	private String logout(Map<String, String> params, Session session) {
+		manager.closeSession(requireSession(session));
+		return "";
+	}
+
+	/**
+	 * Lists the course catalog.
+	 *
+	 * @param params  - ignored
+	 * @param session - session of any user
+	 * @return one row per course
+	 */
+	private String catalog(Map<String, String> params, Session session) {
+		requireSession(session);
+		return table(manager.getCourseCatalog().getCourseCatalog());
+	}
+
+	/**
+	 * Enrolls the student of a session in a course.
+	 *
+	 * @param params  - name and section of the course
+	 * @param session - session of the student
+	 * @return true if the student enrolled
+	 */
+	private String enroll(Map<String, String> params, Session session) {
+		return String.valueOf(manager.enrollStudentInCourse(requireSession(session), course(params)));
+	}
+
+	/**
+	 * Drops the student of a session from a course.
+	 *
+	 * @param params  - name and section of the course
+	 * @param session - session of the student
+	 * @return true if the student dropped
+	 */
+	private String drop(Map<String, String> params, Session session) {
+		return String.valueOf(manager.dropStudentFromCourse(requireSession(session), course(params)));
+	}
+
+	/**
+	 * Lists the schedule of the student of a session.
+	 *
+	 * @param params  - ignored
+	 * @param session - session of the student
+	 * @return one row per scheduled course
+	 * @throws IllegalArgumentException if the user is not a student
+	 */
+	private String schedule(Map<String, String> params, Session session) {
+		if (!(requireSession(session).getUser() instanceof Student)) {
+			throw new IllegalArgumentException("Illegal Action");
+		}
+		return table(((Student) session.getUser()).getSchedule().getScheduledCourses());
+	}
+
+	/**
+	 * Returns the catalog course named by the request.
+	 *
+	 * @param params - name and section of the course
+	 * @return the course
+	 * @throws IllegalArgumentException if the course is not in the catalog
+	 */
+	private Course course(Map<String, String> params) {
+		Course c = manager.getCourseCatalog().getCourseFromCatalog(required(params, "name"),
+				required(params, "section"));
+		if (c == null) {
+			throw new IllegalArgumentException("Course not found.");
+		}
+		return c;
+	}
+
+	/**
+	 * Returns the session of a request that needs one.
+	 *
+	 * @param session - session of the request
+	 * @return the session
+	 * @throws UnauthorizedException if the request has no open session
+	 */
+	private static Session requireSession(Session session) {
+		if (session == null) {
+			throw new UnauthorizedException();
+		}
+		return session;
+	}
+
+	/**
+	 * Returns a parameter the request must have.
+	 *
+	 * @param params - parameters of the request
+	 * @param name   - name of the parameter
+	 * @return value of the parameter
+	 * @throws IllegalArgumentException if the parameter is missing
+	 */
+	private static String required(Map<String, String> params, String name) {
+		String value = params.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing " + name + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the session token of a request.
+	 *
+	 * @param exchange - request
+	 * @param params   - parameters of the request
+	 * @return the token, or null if the request has none
+	 */
+	private static String token(HttpExchange exchange, Map<String, String> params) {
+		String header = exchange.getRequestHeaders().getFirst("Authorization");
+		if (header != null && header.startsWith(BEARER)) {
+			return header.substring(BEARER.length()).trim();
+		}
+		return params.get("token");
+	}
+
+	/**
+	 * Reads the parameters of a request from its query string and, for a POST, its
+	 * form encoded body.
+	 *
+	 * @param exchange - request
+	 * @return parameters by name
+	 * @throws IOException       if the body can not be read
+	 * @throws TooLargeException if the body is larger than MAX_BODY
+	 */
+	private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+		Map<String, String> params = new HashMap<String, String>();
+		decode(exchange.getRequestURI().getRawQuery(), params);
+		if ("POST".equals(exchange.getRequestMethod())) {
+			decode(new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8), params);
+		}
+		return params;
+	}
+
+	/**
+	 * Decodes form encoded parameters into a map.
+	 *
+	 * @param encoded - encoded parameters, may be null
+	 * @param params  - map the parameters are put in
+	 */
+	private static void decode(String encoded, Map<String, String> params) {
+		if (encoded == null || encoded.isEmpty()) {
+			return;
+		}
+		for (String pair : encoded.split("&")) {
+			int eq = pair.indexOf('=');
+			String name = eq < 0 ? pair : pair.substring(0, eq);
+			String value = eq < 0 ? "" : pair.substring(eq + 1);
+			params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+					URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Reads a stream to its end, stopping as soon as it holds more than MAX_BODY
+	 * bytes.
+	 *
+	 * @param in - stream to read
+	 * @return bytes of the stream
+	 * @throws IOException       if the stream can not be read
+	 * @throws TooLargeException if the stream holds more than MAX_BODY bytes
+	 */
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int n;
+		while ((n = in.read(buffer)) > 0) {
+			if (out.size() + n > MAX_BODY) {
+				throw new TooLargeException();
+			}
+			out.write(buffer, 0, n);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Returns a table as lines of tab separated columns.
+	 *
+	 * @param rows - rows of the table
+	 * @return the table as text
+	 */
+	private static String table(String[][] rows) {
+		StringBuilder text = new StringBuilder();
+		for (String[] row : rows) {
+			text.append(String.join("\t", row)).append('\n');
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Sends a plain text response.
+	 *
+	 * @param exchange - request to respond to
+	 * @param status   - HTTP status
+	 * @param body     - text of the response
+	 * @throws IOException if the response can not be sent
+	 */
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+	}
+
+	/**
+	 * Loads the given record files into the manager and serves it until the
+	 * process is stopped. Run from the PackScheduler directory, since the
+	 * manager reads registrar.properties from the working directory:
+	 *
+	 * <pre>
+	 * java -cp bin:lib/CSC217Collections.jar edu.ncsu.csc216.pack_scheduler.server.RegistrationServer 8080 courses.txt students.txt faculty.txt
+	 * </pre>
+	 *
+	 * @param args - port, then optional course, student and faculty record files
+	 * @throws IOException if the port can not be bound
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		RegistrationManager manager = RegistrationManager.getInstance();
+		if (args.length > 1) {
+			manager.getCourseCatalog().loadCoursesFromFile(args[1]);
+		}
+		if (args.length > 2) {
+			manager.getStudentDirectory().loadStudentsFromFile(args[2]);
+		}
+		if (args.length > 3) {
+			manager.getFacultyDirectory().loadFacultyFromFile(args[3]);
+		}
+		RegistrationServer registrationServer = new RegistrationServer(manager, port);
+		registrationServer.start();
+		System.out.println("PackScheduler listening on port " + registrationServer.getPort());
+	}
+}
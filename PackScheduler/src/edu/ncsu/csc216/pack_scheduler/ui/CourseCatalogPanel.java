@@ -7,6 +7,7 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.FileNotFoundException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -23,9 +24,10 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.ParsedCourseRecords;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 
 /**
@@ -141,6 +143,7 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		
 		//Set up Catalog table
 		courseCatalogTableModel = new CourseCatalogTableModel();
+		catalog.addRowListener(courseCatalogTableModel);
 		tableCourseCatalog = new JTable(courseCatalogTableModel);
 		tableCourseCatalog.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 		tableCourseCatalog.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -346,28 +349,42 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 	public void actionPerformed(ActionEvent e) {
 		if (e.getSource() == btnLoadCourseCatalog) {
 			String fileName = getFileName(true);
-			try {
-				catalog.loadCoursesFromFile(fileName);
-				courseCatalogTableModel.updateData();
-				scrollCourseCatalog.revalidate();
-				scrollCourseCatalog.repaint();
-				courseCatalogTableModel.fireTableDataChanged();
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			new RecordFileWorker<ParsedCourseRecords>(this, "Loading Course Catalog", true) {
+				@Override
+				protected ParsedCourseRecords doInBackground() {
+					try {
+						return CourseRecordIO.parseCourseRecords(fileName, this);
+					} catch (FileNotFoundException fnfe) {
+						throw new IllegalArgumentException("Unable to read file");
+					}
+				}
+
+				@Override
+				protected void finished(ParsedCourseRecords parsed) {
+					// the table is reloaded by the catalog's row events
+					catalog.loadCourses(CourseRecordIO.resolveInstructors(parsed,
+							RegistrationManager.getInstance().getFacultyDirectory().getFaculty()));
+					scrollCourseCatalog.revalidate();
+					scrollCourseCatalog.repaint();
+				}
+			}.start();
 		} else if (e.getSource() == btnSaveCourseCatalog) {
 			String fileName = getFileName(false);
-			try {
-				catalog.saveCourseCatalog(fileName);
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			new RecordFileWorker<Boolean>(this, "Saving Course Catalog", false) {
+				@Override
+				protected Boolean doInBackground() {
+					return catalog.saveCourseCatalog(fileName);
+				}
+
+				@Override
+				protected void finished(Boolean saved) {
+					// nothing to swap in after a save
+				}
+			}.start();
 		} else if (e.getSource() == btnNewCourseCatalog) {
 			catalog.newCourseCatalog();
-			courseCatalogTableModel.updateData();
 			scrollCourseCatalog.revalidate();
 			scrollCourseCatalog.repaint();
-			courseCatalogTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddCourse) {
 			String name = txtName.getText();
 			String title = txtTitle.getText();
@@ -462,7 +479,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			courseCatalogTableModel.updateData();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableCourseCatalog.getSelectedRow();
 			if (row == -1) {
@@ -470,11 +486,10 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			} else {
 				try {
 					catalog.removeCourseFromCatalog(courseCatalogTableModel.getValueAt(row, 0).toString(), courseCatalogTableModel.getValueAt(row, 1).toString());
-				} catch (ArrayIndexOutOfBoundsException aioobe) {
+				} catch (IndexOutOfBoundsException ioobe) {
 					JOptionPane.showMessageDialog(this, "No course selected.");
 				}
 			}
-			courseCatalogTableModel.updateData();
 		}
 		
 		this.validate();
@@ -511,80 +526,37 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 	 * the list of Courses to the user.
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
 		 * Constructs the {@link CourseCatalogTableModel} by requesting the latest information
 		 * from the {@link RequirementTrackerModel}.
 		 */
 		public CourseCatalogTableModel() {
+			super(new String[] {"Name", "Section", "Title", "Meeting Information", "Open Seats"});
 			updateData();
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
+		 * Returns every row of the {@link CourseCatalog}.
+		 * @return the rows of the catalog
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
+		@Override
+		protected Object[][] readRows() {
+			return catalog.getCourseCatalog();
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
+		 * Returns one row of the {@link CourseCatalog}.
+		 * @param idx - index of the row
+		 * @return the row of the catalog
 		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col - collumn at given index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * 
-		 * @param row - row at given index
-		 * @param col - collumn at given index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with {@link Course} information from the {@link CourseCatalog}.
-		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object[] readRow(int idx) {
+			return catalog.getCourseCatalogRow(idx);
 		}
 	}
-
 }
\ No newline at end of file
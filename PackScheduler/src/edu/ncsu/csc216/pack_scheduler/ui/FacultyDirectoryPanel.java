@@ -7,6 +7,7 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.FileNotFoundException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -26,7 +27,10 @@ import javax.swing.border.TitledBorder;
 import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
 
 /**
  * Creates a user interface for working with the FacultyDirectory.
@@ -221,22 +225,38 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 	public void actionPerformed(ActionEvent e) {
 		if (e.getSource() == btnLoadFacultyList) {
 			String fileName = getFileName(true);
-			try {
-				facultyDirectory.loadFacultyFromFile(fileName);
-				facultyDirectoryTableModel.updateData();
-				scrollFacultyDirectory.revalidate();
-				scrollFacultyDirectory.repaint();
-				facultyDirectoryTableModel.fireTableDataChanged();
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			new RecordFileWorker<LinkedList<Faculty>>(this, "Loading Faculty Directory", true) {
+				@Override
+				protected LinkedList<Faculty> doInBackground() {
+					try {
+						return FacultyRecordIO.readFacultyRecords(fileName, this);
+					} catch (FileNotFoundException fnfe) {
+						throw new IllegalArgumentException("Unable to read file " + fileName);
+					}
+				}
+
+				@Override
+				protected void finished(LinkedList<Faculty> faculty) {
+					facultyDirectory.loadFaculty(faculty);
+					facultyDirectoryTableModel.updateData();
+					scrollFacultyDirectory.revalidate();
+					scrollFacultyDirectory.repaint();
+					facultyDirectoryTableModel.fireTableDataChanged();
+				}
+			}.start();
 		} else if (e.getSource() == btnSaveFacultyList) {
 			String fileName = getFileName(false);
-			try {
-				facultyDirectory.saveFacultyDirectory(fileName);
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			new RecordFileWorker<Boolean>(this, "Saving Faculty Directory", false) {
+				@Override
+				protected Boolean doInBackground() {
+					return facultyDirectory.saveFacultyDirectory(fileName);
+				}
+
+				@Override
+				protected void finished(Boolean saved) {
+					// nothing to swap in after a save
+				}
+			}.start();
 		} else if (e.getSource() == btnNewFacultyList) {
 			facultyDirectory.newFacultyDirectory();
 			facultyDirectoryTableModel.updateData();
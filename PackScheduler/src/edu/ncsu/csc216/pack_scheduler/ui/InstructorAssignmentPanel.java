@@ -149,6 +149,7 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 
 		// Set up Catalog table
 		catalogTableModel = new CourseCatalogTableModel();
+		catalog.addRowListener(catalogTableModel);
 		tableCatalog = new JTable(catalogTableModel) {
 			private static final long serialVersionUID = 1L;
 
@@ -178,6 +179,9 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 
 			@Override
 			public void valueChanged(ListSelectionEvent e) {
+				if (tableCatalog.getSelectedRow() == -1) {
+					return;
+				}
 				String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 				String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 				Course c = catalog.getCourseFromCatalog(name, section);
@@ -376,7 +380,6 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 					JOptionPane.showMessageDialog(this, iae.getMessage());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnRemoveFacultyFromCourse) {
 			int catalogRow = tableCatalog.getSelectedRow();
 			int facultyRow = tableFaculty.getSelectedRow();
@@ -395,7 +398,6 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 				updateCourseDetails(c);
 				updateFacultyDetails(f);
 			}
-			updateTables();
 		} else if (e.getSource() == btnReset) {
 			int facultyRow = tableFaculty.getSelectedRow();
 			if (facultyRow == -1) {
@@ -403,7 +405,6 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 			} else {
 				Faculty f = facultyDirectory.getFacultyById(tableFaculty.getValueAt(facultyRow, 2).toString());
 				RegistrationManager.getInstance().resetFacultySchedule(f);
-				updateTables();
 			}
 		}
 
@@ -412,7 +413,9 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 	}
 
 	/**
-	 * Updates the catalog and schedule tables.
+	 * Updates the catalog and faculty tables. Assignments made in the panel reach
+	 * the catalog table through row events, so this is only needed when the panel
+	 * is shown.
 	 */
 	public void updateTables() {
 		catalogTableModel.updateData();
@@ -461,84 +464,39 @@ public class InstructorAssignmentPanel extends JPanel implements ActionListener
 	 * 
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends RowTableModel {
 
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String[] columnNames = { "Name", "Section", "Title", "Meeting Information", "Open Seats" };
-		/** Data stored in the table */
-		private Object[][] data;
 
 		/**
 		 * Constructs the {@link CourseCatalogTableModel} by requesting the latest
 		 * information from the {@link RequirementTrackerModel}.
 		 */
 		public CourseCatalogTableModel() {
+			super(new String[] { "Name", "Section", "Title", "Meeting Information", "Open Seats" });
 			updateData();
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * 
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
+		 * Returns every row of the {@link CourseCatalog}.
 		 * 
-		 * @return the number of rows in the table.
+		 * @return the rows of the catalog
 		 */
-		public int getRowCount() {
-			if (data == null)
-				return 0;
-			return data.length;
+		@Override
+		protected Object[][] readRows() {
+			return catalog.getCourseCatalog();
 		}
 
 		/**
-		 * Returns the column name at the given index.
+		 * Returns one row of the {@link CourseCatalog}.
 		 * 
-		 * @param col - column at given index
-		 * @return the column name at the given column.
+		 * @param idx - index of the row
+		 * @return the row of the catalog
 		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * 
-		 * @param row - row of index
-		 * @param col - col of index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * 
-		 * @param value Object to modify in the data.
-		 * @param row   location to modify the data.
-		 * @param col   location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-
-		/**
-		 * Updates the given model with {@link Course} information from the
-		 * {@link CourseCatalog}.
-		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object[] readRow(int idx) {
+			return catalog.getCourseCatalogRow(idx);
 		}
 	}
 
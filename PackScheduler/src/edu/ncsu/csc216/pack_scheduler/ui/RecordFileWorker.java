@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dialog;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import edu.ncsu.csc216.pack_scheduler.io.LoadProgress;
+
+/**
+ * Reads or writes a record file off the event dispatch thread. The file is
+ * read by doInBackground(), which should build new records without touching
+ * the container they are for, and finished() then swaps them into the
+ * container on the event dispatch thread in one call. If the work takes long
+ * enough to notice, a dialog shows the lines read and rejected so far, and can
+ * cancel a load. A cancelled load never calls finished(), so the container
+ * keeps what it had. An IllegalArgumentException from either step is shown
+ * to the user.
+ *
+ * @author Ashten Herr
+ * @param <T> - type of what doInBackground() reads
+ */
+abstract class RecordFileWorker<T> extends SwingWorker<T, int[]> implements LoadProgress {
+
+	/** Milliseconds to wait before showing the progress dialog */
+	private static final int DIALOG_DELAY = 500;
+
+	/** Component the dialog and any error are shown over */
+	private Component parent;
+	/** Dialog that shows the progress */
+	private JDialog dialog;
+	/** Label for the lines read and rejected */
+	private JLabel lblProgress;
+	/** Timer that shows the dialog if the work is not done yet */
+	private Timer timer;
+
+	/**
+	 * Creates a worker and the dialog it shows once started.
+	 *
+	 * @param parent      - component to show the dialog and any error over
+	 * @param title       - title of the dialog
+	 * @param cancellable - whether the dialog has a button to cancel the work
+	 */
+	RecordFileWorker(Component parent, String title, boolean cancellable) {
+		this.parent = parent;
+		dialog = new JDialog(SwingUtilities.getWindowAncestor(parent), title, Dialog.ModalityType.DOCUMENT_MODAL);
+		dialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+		lblProgress = new JLabel("Working...");
+		JProgressBar bar = new JProgressBar();
+		bar.setIndeterminate(true);
+		JPanel pnl = new JPanel(new BorderLayout(5, 5));
+		pnl.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+		pnl.add(lblProgress, BorderLayout.NORTH);
+		pnl.add(bar, BorderLayout.CENTER);
+		if (cancellable) {
+			JButton btnCancel = new JButton("Cancel");
+			btnCancel.addActionListener(e -> cancel(true));
+			pnl.add(btnCancel, BorderLayout.SOUTH);
+		}
+		dialog.add(pnl);
+		dialog.pack();
+		dialog.setLocationRelativeTo(parent);
+		timer = new Timer(DIALOG_DELAY, e -> {
+			if (!isDone()) {
+				dialog.setVisible(true);
+			}
+		});
+		timer.setRepeats(false);
+	}
+
+	/**
+	 * Starts the work on a background thread. Must be called on the event
+	 * dispatch thread.
+	 */
+	void start() {
+		execute();
+		timer.start();
+	}
+
+	/**
+	 * Swaps what was read into its container. Called on the event dispatch
+	 * thread, and only if the work finished without being cancelled.
+	 *
+	 * @param result - what doInBackground() returned
+	 */
+	protected abstract void finished(T result);
+
+	@Override
+	public boolean linesRead(int linesRead, int rejected) {
+		publish(new int[] { linesRead, rejected });
+		return !isCancelled();
+	}
+
+	@Override
+	protected void process(List<int[]> chunks) {
+		int[] latest = chunks.get(chunks.size() - 1);
+		lblProgress.setText("Lines read: " + latest[0] + ", rejected: " + latest[1]);
+	}
+
+	@Override
+	protected void done() {
+		timer.stop();
+		dialog.dispose();
+		if (isCancelled()) {
+			return;
+		}
+		try {
+			finished(get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			String message = e.getCause() instanceof IllegalArgumentException ? e.getCause().getMessage()
+					: "Unable to use file";
+			JOptionPane.showMessageDialog(parent, message);
+		} catch (IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(parent, e.getMessage());
+		}
+	}
+}
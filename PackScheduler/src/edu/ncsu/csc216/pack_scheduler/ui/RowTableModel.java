@@ -0,0 +1,209 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+
+/**
+ * A table model that keeps a copy of the rows of a container and updates it
+ * from the container's row events, so a change to one row copies only that
+ * row rather than the whole container. Events sent on the event dispatch
+ * thread are applied to the rows they name. Events sent from any other thread
+ * can not be applied while the container is locked, so they reload every row
+ * on the event dispatch thread once it is free. Until that reload runs the
+ * rows are out of date, so events sent on the event dispatch thread are left
+ * to the reload as well, and an event that can not be applied reloads every
+ * row.
+ *
+ * @author Ashten Herr
+ */
+abstract class RowTableModel extends AbstractTableModel implements RowListener {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Column names for the table */
+	private String[] columnNames;
+	/** Data stored in the table */
+	private List<Object[]> data;
+	/** Whether a reload has been scheduled and has not started yet */
+	private volatile boolean reloadPending;
+
+	/**
+	 * Creates a model with no rows.
+	 *
+	 * @param columnNames - column names for the table
+	 */
+	RowTableModel(String[] columnNames) {
+		this.columnNames = columnNames;
+		this.data = new ArrayList<Object[]>();
+	}
+
+	/**
+	 * Returns every row of the container.
+	 *
+	 * @return the rows, or null if there is nothing to show
+	 */
+	protected abstract Object[][] readRows();
+
+	/**
+	 * Returns one row of the container.
+	 *
+	 * @param idx - index of the row
+	 * @return the row
+	 */
+	protected abstract Object[] readRow(int idx);
+
+	/**
+	 * Reloads every row from the container.
+	 */
+	public void updateData() {
+		// cleared before reading, so an event sent during the read schedules
+		// another reload
+		reloadPending = false;
+		Object[][] rows = readRows();
+		data = new ArrayList<Object[]>(rows == null ? 0 : rows.length);
+		if (rows != null) {
+			Collections.addAll(data, rows);
+		}
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Returns the number of columns in the table.
+	 *
+	 * @return the number of columns in the table.
+	 */
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	/**
+	 * Returns the number of rows in the table.
+	 *
+	 * @return the number of rows in the table.
+	 */
+	public int getRowCount() {
+		return data.size();
+	}
+
+	/**
+	 * Returns the column name at the given index.
+	 *
+	 * @param col - column at given index
+	 * @return the column name at the given column.
+	 */
+	public String getColumnName(int col) {
+		return columnNames[col];
+	}
+
+	/**
+	 * Returns the data at the given {row, col} index.
+	 *
+	 * @param row - row at given index
+	 * @param col - column at given index
+	 * @return the data at the given location.
+	 */
+	public Object getValueAt(int row, int col) {
+		return data.get(row)[col];
+	}
+
+	/**
+	 * Sets the given value to the given {row, col} location. The row is copied
+	 * first, since rows can be display arrays shared with the container.
+	 *
+	 * @param value Object to modify in the data.
+	 * @param row   location to modify the data.
+	 * @param col   location to modify the data.
+	 */
+	public void setValueAt(Object value, int row, int col) {
+		Object[] copy = data.get(row).clone();
+		copy[col] = value;
+		data.set(row, copy);
+		fireTableCellUpdated(row, col);
+	}
+
+	@Override
+	public void rowsInserted(int first, int last) {
+		if (canApply()) {
+			try {
+				for (int i = first; i <= last; i++) {
+					data.add(i, readRow(i));
+				}
+				fireTableRowsInserted(first, last);
+			} catch (IndexOutOfBoundsException e) {
+				updateData();
+			}
+		}
+	}
+
+	@Override
+	public void rowsUpdated(int first, int last) {
+		if (canApply()) {
+			try {
+				for (int i = first; i <= last; i++) {
+					data.set(i, readRow(i));
+				}
+				fireTableRowsUpdated(first, last);
+			} catch (IndexOutOfBoundsException e) {
+				updateData();
+			}
+		}
+	}
+
+	@Override
+	public void rowsDeleted(int first, int last) {
+		if (canApply()) {
+			try {
+				data.subList(first, last + 1).clear();
+				fireTableRowsDeleted(first, last);
+			} catch (IndexOutOfBoundsException e) {
+				updateData();
+			}
+		}
+	}
+
+	@Override
+	public void rowsReplaced() {
+		if (SwingUtilities.isEventDispatchThread()) {
+			updateData();
+		} else {
+			scheduleReload();
+		}
+	}
+
+	/**
+	 * Returns whether an event can be applied to the rows now. An event from
+	 * another thread schedules a reload instead, and an event on the event
+	 * dispatch thread is left to a reload that is already scheduled.
+	 *
+	 * @return true if the caller is the event dispatch thread and no reload is
+	 *         pending
+	 */
+	private boolean canApply() {
+		if (SwingUtilities.isEventDispatchThread()) {
+			return !reloadPending;
+		}
+		scheduleReload();
+		return false;
+	}
+
+	/**
+	 * Schedules a reload of every row on the event dispatch thread, unless one
+	 * is already pending.
+	 */
+	private void scheduleReload() {
+		if (!reloadPending) {
+			reloadPending = true;
+			SwingUtilities.invokeLater(() -> {
+				if (reloadPending) {
+					updateData();
+				}
+			});
+		}
+	}
+}
@@ -7,6 +7,7 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.FileNotFoundException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -25,7 +26,10 @@ import javax.swing.border.TitledBorder;
 import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RecordLoadResult;
+import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
 
 /**
  * Creates a user interface for working with the StudentDirectory.
@@ -216,22 +220,38 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 	public void actionPerformed(ActionEvent e) {
 		if (e.getSource() == btnLoadStudentList) {
 			String fileName = getFileName(true);
-			try {
-				studentDirectory.loadStudentsFromFile(fileName);
-				studentDirectoryTableModel.updateData();
-				scrollStudentDirectory.revalidate();
-				scrollStudentDirectory.repaint();
-				studentDirectoryTableModel.fireTableDataChanged();
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			new RecordFileWorker<RecordLoadResult<Student>>(this, "Loading Student Directory", true) {
+				@Override
+				protected RecordLoadResult<Student> doInBackground() {
+					try {
+						return StudentRecordIO.bulkLoadStudentRecords(fileName, this);
+					} catch (FileNotFoundException fnfe) {
+						throw new IllegalArgumentException("Unable to read file " + fileName);
+					}
+				}
+
+				@Override
+				protected void finished(RecordLoadResult<Student> result) {
+					studentDirectory.loadStudents(result.getRecords());
+					studentDirectoryTableModel.updateData();
+					scrollStudentDirectory.revalidate();
+					scrollStudentDirectory.repaint();
+					studentDirectoryTableModel.fireTableDataChanged();
+				}
+			}.start();
 		} else if (e.getSource() == btnSaveStudentList) {
 			String fileName = getFileName(false);
-			try {
-				studentDirectory.saveStudentDirectory(fileName);
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			new RecordFileWorker<Boolean>(this, "Saving Student Directory", false) {
+				@Override
+				protected Boolean doInBackground() {
+					return studentDirectory.saveStudentDirectory(fileName);
+				}
+
+				@Override
+				protected void finished(Boolean saved) {
+					// nothing to swap in after a save
+				}
+			}.start();
 		} else if (e.getSource() == btnNewStudentList) {
 			studentDirectory.newStudentDirectory();
 			studentDirectoryTableModel.updateData();
@@ -17,18 +17,19 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
 
 /**
  * Creates a user interface for students to register for classes.
@@ -108,6 +109,10 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	private CourseCatalog catalog;
 	/** Current user's schedule */
 	private Schedule schedule;
+	/** Course shown in the course details */
+	private Course detailsCourse;
+	/** Shows the new seat counts when the roll of the course in the details changes */
+	private final RowListener detailsListener = () -> SwingUtilities.invokeLater(() -> updateCourseDetails(detailsCourse));
 	
 	
 	/**
@@ -161,6 +166,7 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 					
 		//Set up Catalog table
 		catalogTableModel = new CourseTableModel(true);
+		catalog.addRowListener(catalogTableModel);
 		tableCatalog = new JTable(catalogTableModel) {
 			private static final long serialVersionUID = 1L;
 			
@@ -185,6 +191,9 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 
 			@Override
 			public void valueChanged(ListSelectionEvent e) {
+				if (tableCatalog.getSelectedRow() == -1) {
+					return;
+				}
 				String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 				String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 				Course c = catalog.getCourseFromCatalog(name, section);
@@ -314,7 +323,6 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 					JOptionPane.showMessageDialog(this, iae.getMessage());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableSchedule.getSelectedRow();
 			if (row == -1) {
@@ -324,10 +332,8 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 					JOptionPane.showMessageDialog(this, "Cannot drop student from " + tableSchedule.getValueAt(row, 0).toString());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnReset) {
 			RegistrationManager.getInstance().resetSchedule();
-			updateTables();
 		} else if (e.getSource() == btnSetScheduleTitle) {
 			try {
 				schedule.setTitle(txtScheduleTitle.getText()); 
@@ -342,7 +348,9 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	}
 	
 	/**
-	 * Updates the catalog and schedule tables.
+	 * Updates the catalog and schedule tables. Changes made while the panel is
+	 * shown reach the tables through row events, so this is only needed when the
+	 * current user changes.
 	 */
 	public void updateTables() {
 		catalogTableModel.updateData();
@@ -355,6 +363,15 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	 * @param c - course
 	 */
 	private void updateCourseDetails(Course c) {
+		if (c != detailsCourse) {
+			if (detailsCourse != null) {
+				detailsCourse.getCourseRoll().removeRowListener(detailsListener);
+			}
+			if (c != null) {
+				c.getCourseRoll().addRowListener(detailsListener);
+			}
+			detailsCourse = c;
+		}
 		if (c != null) {
 			lblName.setText(c.getName());
 			lblSection.setText(c.getSection());
@@ -373,14 +390,10 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	 * the list of {@link Course}s to the user.
 	 * @author Sarah Heckman
 	 */
-	private class CourseTableModel extends AbstractTableModel {
+	private class CourseTableModel extends RowTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Days", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		/** Boolean flag if the model applies to the catalog or schedule */
 		private boolean isCatalog;
 		
@@ -390,82 +403,64 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 		 * @param isCatalog - isCatalog
 		 */
 		public CourseTableModel(boolean isCatalog) {
+			super(new String[] {"Name", "Section", "Title", "Meeting Days", "Open Seats"});
 			this.isCatalog = isCatalog;
 			updateData();
 		}
-
-		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * 
-		 * @param col - column
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * 
-		 * @param row - row
-		 * @param col - collumn
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
 		
 		/**
 		 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
+		 * The schedule model moves its row listener to the current user's schedule.
 		 */
-		private void updateData() {
-			if (isCatalog) {
-				data = catalog.getCourseCatalog();
-			} else {
+		@Override
+		public void updateData() {
+			if (!isCatalog) {
 				currentUser = (Student)RegistrationManager.getInstance().getCurrentUser();
-				if (currentUser != null) {
-					schedule = currentUser.getSchedule();
+				Schedule current = currentUser == null ? null : currentUser.getSchedule();
+				if (current != schedule) {
+					if (schedule != null) {
+						schedule.removeRowListener(this);
+					}
+					if (current != null) {
+						current.addRowListener(this);
+					}
+					schedule = current;
+				}
+				if (schedule != null) {
 					txtScheduleTitle.setText(schedule.getTitle());
 					borderSchedule.setTitle(schedule.getTitle());
 					scrollSchedule.setToolTipText(schedule.getTitle());
-					data = schedule.getScheduledCourses();
 					
 					StudentRegistrationPanel.this.repaint();
 					StudentRegistrationPanel.this.validate();
 				}
 			}
+			super.updateData();
 		}
-	}
 
+		/**
+		 * Returns every row of the catalog or the current user's schedule.
+		 * @return the rows, or null if no one is logged in
+		 */
+		@Override
+		protected Object[][] readRows() {
+			if (isCatalog) {
+				return catalog.getCourseCatalog();
+			}
+			return schedule == null ? null : schedule.getScheduledCourses();
+		}
+
+		/**
+		 * Returns one row of the catalog or the current user's schedule.
+		 * @param idx - index of the row
+		 * @return the row
+		 */
+		@Override
+		protected Object[] readRow(int idx) {
+			if (isCatalog) {
+				return catalog.getCourseCatalogRow(idx);
+			}
+			return schedule.getScheduledCourse(idx).getShortDisplayArray();
+		}
+	}
 }
\ No newline at end of file
@@ -1,11 +1,17 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListeners;
 
 /**
- * A Faculty's schedule
+ * A Faculty's schedule. Row listeners are told which rows of
+ * getScheduledCourses() each change inserts or deletes.
  * 
  * @author Sarah Heckman
  */
@@ -15,6 +21,8 @@ public class FacultySchedule {
 	private LinkedListRecursive<Course> schedule;
 	/** Instructor id for updating courses */
 	private String instructorId;
+	/** Listeners of the rows of the schedule */
+	private final RowListeners rowListeners = new RowListeners();
 
 	/**
 	 * Creates an empty schedule.
@@ -35,26 +43,77 @@ public class FacultySchedule {
 	 */
 	public boolean addCourseToSchedule(Course course) {
 		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course) && schedule.get(i).getSection().equals(course.getSection())) {
-
-				throw new IllegalArgumentException("Already assigned " + course.getName());
-			}
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
-			}
+			checkAssignment(schedule.get(i), course);
 		}
 		if (course.getInstructorId() != null) {
 			throw new IllegalArgumentException("The course already has an instructor.");
 		}
 		if (schedule.add(course)) {
 			course.setInstructorId(instructorId);
+			rowListeners.fireInserted(schedule.size() - 1, schedule.size() - 1);
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Adds several courses to the schedule in order. The scheduled courses are
+	 * copied out of the list once and every course is checked against the copy,
+	 * rather than walking the list again for each course. A course that can not
+	 * be added for any of the reasons addCourseToSchedule() gives is skipped and
+	 * the rest are still added.
+	 * 
+	 * @param courses - courses to add to the schedule
+	 * @return the courses that could not be added, in order
+	 */
+	public List<Course> addCoursesToSchedule(List<Course> courses) {
+		List<Course> scheduled = new ArrayList<Course>(schedule.size() + courses.size());
+		for (int i = 0; i < schedule.size(); i++) {
+			scheduled.add(schedule.get(i));
+		}
+		int first = scheduled.size();
+		List<Course> rejected = new ArrayList<Course>();
+		for (Course course : courses) {
+			try {
+				for (int i = 0; i < scheduled.size(); i++) {
+					checkAssignment(scheduled.get(i), course);
+				}
+				if (course.getInstructorId() == null && schedule.add(course)) {
+					course.setInstructorId(instructorId);
+					scheduled.add(course);
+				} else {
+					rejected.add(course);
+				}
+			} catch (IllegalArgumentException e) {
+				rejected.add(course);
+			}
+		}
+		if (scheduled.size() > first) {
+			rowListeners.fireInserted(first, scheduled.size() - 1);
+		}
+		return rejected;
+	}
+
+	/**
+	 * Checks that a course can be assigned alongside a scheduled course.
+	 * 
+	 * @param scheduled - course already in the schedule
+	 * @param course    - course to assign
+	 * @throws IllegalArgumentException if the course is the same as the scheduled
+	 *                                  course or conflicts with it
+	 */
+	private void checkAssignment(Course scheduled, Course course) {
+		if (scheduled.isDuplicate(course) && scheduled.getSection().equals(course.getSection())) {
+
+			throw new IllegalArgumentException("Already assigned " + course.getName());
+		}
+		try {
+			scheduled.checkConflict(course);
+		} catch (ConflictException e) {
+			throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
+		}
+	}
+
 	/**
 	 * Removes a course from the schedule.
 	 * 
@@ -65,8 +124,16 @@ public class FacultySchedule {
 		if (course == null) {
 			return false;
 		}
-		if (schedule.remove(course)) {
+		int row = -1;
+		for (int i = 0; row < 0 && i < schedule.size(); i++) {
+			if (schedule.get(i).equals(course)) {
+				row = i;
+			}
+		}
+		if (row >= 0) {
+			schedule.remove(row);
 			course.setInstructorId(null);
+			rowListeners.fireDeleted(row, row);
 			return true;
 		}
 		return false;
@@ -76,10 +143,10 @@ public class FacultySchedule {
 	 * Resets the schedule to an empty schedule
 	 */
 	public void resetSchedule() {
-		int startingSize = schedule.size();
-		for (int i = 0; i < startingSize; i++) {
-			removeCourseFromSchedule(schedule.get(0)); // also removes from Course
+		while (!schedule.isEmpty()) {
+			schedule.remove(0).setInstructorId(null); // also removes from Course
 		}
+		rowListeners.fireReplaced();
 	}
 
 	/**
@@ -88,7 +155,7 @@ public class FacultySchedule {
 	 * @return list of scheduled Courses
 	 */
 	public String[][] getScheduledCourses() {
-		String[][] scheduleArray = new String[schedule.size()][4];
+		String[][] scheduleArray = new String[schedule.size()][];
 		for (int i = 0; i < schedule.size(); i++) {
 			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
 		}
@@ -104,4 +171,35 @@ public class FacultySchedule {
 		return schedule.size();
 	}
 
+	/**
+	 * Returns the course at the given position in the schedule.
+	 * 
+	 * @param idx - position of the course
+	 * @return the scheduled course
+	 * @throws IndexOutOfBoundsException if idx is not a position in the schedule
+	 */
+	public Course getScheduledCourse(int idx) {
+		return schedule.get(idx);
+	}
+
+	/**
+	 * Adds a listener to be told of changes to the rows of getScheduledCourses().
+	 * 
+	 * @param listener - listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addRowListener(RowListener listener) {
+		rowListeners.add(listener);
+	}
+
+	/**
+	 * Removes a row listener.
+	 * 
+	 * @param listener - listener to remove
+	 * @return true if it was a listener
+	 */
+	public boolean removeRowListener(RowListener listener) {
+		return rowListeners.remove(listener);
+	}
+
 }
\ No newline at end of file
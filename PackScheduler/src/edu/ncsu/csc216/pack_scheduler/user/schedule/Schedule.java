@@ -6,11 +6,14 @@ package edu.ncsu.csc216.pack_scheduler.user.schedule;
 import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListeners;
 
 /**
  * Class which creates a schedule, handles adding/removing courses. Also
  * controls the title of the schedule with naming the title. Can return a 2D
- * array of schedule information which contains courses.
+ * array of schedule information which contains courses. Row listeners are told
+ * which rows of that array each change inserts or deletes.
  * 
  * @author Aditya Konidena
  * @author Ashten Herr
@@ -23,10 +26,6 @@ public class Schedule {
 	 */
 	private static final String DEFAULT_TITLE = "My Schedule";
 
-	/**
-	 * Represents the array size to hold a courses information to return
-	 */
-	private static final int ARRAY_SIZE = 4;
 	/**
 	 * An ArrayList of courses
 	 */
@@ -35,6 +34,8 @@ public class Schedule {
 	 * Schedule title
 	 */
 	private String title;
+	/** Listeners of the rows of the schedule */
+	private final RowListeners rowListeners = new RowListeners();
 
 	/**
 	 * Constructor for Schedule
@@ -53,7 +54,7 @@ public class Schedule {
 	 *                                  there is a conflict
 	 * @return true if course is added, false otherwise
 	 */
-	public boolean addCourseToSchedule(Course course) {
+	public synchronized boolean addCourseToSchedule(Course course) {
 		if (course == null) {
 			throw new NullPointerException();
 		}
@@ -69,6 +70,7 @@ public class Schedule {
 		}
 
 		schedule.add(course);
+		rowListeners.fireInserted(schedule.size() - 1, schedule.size() - 1);
 		return true;
 	}
 
@@ -79,13 +81,14 @@ public class Schedule {
 	 * @param course - course object being removed from the schedule
 	 * @return - whether the course was successfully removed
 	 */
-	public boolean removeCourseFromSchedule(Course course) {
+	public synchronized boolean removeCourseFromSchedule(Course course) {
 		if (course == null) {
 			return false;
 		}
 		for (int i = 0; i < schedule.size(); i++) {
 			if (course.isDuplicate(schedule.get(i))) {
 				schedule.remove(i);
+				rowListeners.fireDeleted(i, i);
 				return true;
 			}
 		}
@@ -96,9 +99,10 @@ public class Schedule {
 	 * Resets the schedule by creating a new array list of courses. Sets title to
 	 * the default title.
 	 */
-	public void resetSchedule() {
+	public synchronized void resetSchedule() {
 		schedule = new ArrayList<Course>();
 		setTitle(DEFAULT_TITLE);
+		rowListeners.fireReplaced();
 	}
 
 	/**
@@ -108,20 +112,49 @@ public class Schedule {
 	 * @return the 2D array of course information.
 	 */
 	public String[][] getScheduledCourses() {
-		String[][] scheduleArray = new String[schedule.size()][ARRAY_SIZE];
-		for (int i = 0; i < schedule.size(); i++) {
-			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
+		// the display arrays read course rolls, which lock their roll and may add
+		// to this schedule, so only the copy of the courses is made under this lock
+		Course[] courses;
+		synchronized (this) {
+			courses = new Course[schedule.size()];
+			for (int i = 0; i < schedule.size(); i++) {
+				courses[i] = schedule.get(i);
+			}
+		}
+		String[][] scheduleArray = new String[courses.length][];
+		for (int i = 0; i < courses.length; i++) {
+			scheduleArray[i] = courses[i].getShortDisplayArray();
 		}
 		return scheduleArray;
 	}
 
+	/**
+	 * Returns the number of courses in the schedule.
+	 * 
+	 * @return number of scheduled courses.
+	 */
+	public synchronized int getNumScheduledCourses() {
+		return schedule.size();
+	}
+
+	/**
+	 * Returns the course at the given position in the schedule.
+	 * 
+	 * @param idx - position of the course
+	 * @return the scheduled course
+	 * @throws IndexOutOfBoundsException if idx is not a position in the schedule
+	 */
+	public synchronized Course getScheduledCourse(int idx) {
+		return schedule.get(idx);
+	}
+
 	/**
 	 * Sets the title of a schedule, title can not be null.
 	 * 
 	 * @param title - title to set the schedule to
 	 * @throws IllegalArgumentException if the title is null
 	 */
-	public void setTitle(String title) {
+	public synchronized void setTitle(String title) {
 		if (title == null) {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
@@ -134,7 +167,7 @@ public class Schedule {
 	 * 
 	 * @return title of the schedule.
 	 */
-	public String getTitle() {
+	public synchronized String getTitle() {
 		return title;
 	}
 	
@@ -143,7 +176,7 @@ public class Schedule {
 	 * 
 	 * @return how many credits a schedule currently holds.
 	 */
-	public int getScheduleCredits() {
+	public synchronized int getScheduleCredits() {
 		int sum = 0;
 		for (int i = 0; i < schedule.size(); i++) {
 			sum = sum + schedule.get(i).getCredits();
@@ -157,7 +190,7 @@ public class Schedule {
 	 * @param c - course being tested for the possibility to be added.
 	 * @return - whether the course can be added or not.
 	 */
-	public boolean canAdd(Course c) {
+	public synchronized boolean canAdd(Course c) {
 		if (c == null) {
 			return false;
 		}
@@ -175,4 +208,24 @@ public class Schedule {
 		return true;
 	}
 
+	/**
+	 * Adds a listener to be told of changes to the rows of getScheduledCourses().
+	 * 
+	 * @param listener - listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addRowListener(RowListener listener) {
+		rowListeners.add(listener);
+	}
+
+	/**
+	 * Removes a row listener.
+	 * 
+	 * @param listener - listener to remove
+	 * @return true if it was a listener
+	 */
+	public boolean removeRowListener(RowListener listener) {
+		return rowListeners.remove(listener);
+	}
+
 }
@@ -0,0 +1,112 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a save on a background thread at a fixed interval. The save is expected
+ * to write only what changed since it last ran, so however many changes are
+ * made between two runs they reach disk in one write. Runs never overlap, and a
+ * failed run, whatever it throws, is remembered and tried again at the next
+ * interval.
+ *
+ * @author Ashten Herr
+ */
+public class AutoSaver {
+
+	/** Thread the save runs on */
+	private ScheduledExecutorService executor;
+	/** Save to run */
+	private Runnable save;
+	/** Held while the save runs, so runs do not overlap */
+	private final Object saveLock = new Object();
+	/** Number of times the save has run */
+	private long runs;
+	/** Error thrown by the last run, null if it succeeded */
+	private volatile RuntimeException lastError;
+
+	/**
+	 * Starts running a save every interval, the first one interval from now.
+	 *
+	 * @param save           - save to run
+	 * @param intervalMillis - milliseconds between the end of a run and the start
+	 *                       of the next
+	 * @throws IllegalArgumentException if the save is null or the interval is not
+	 *                                  positive
+	 */
+	public AutoSaver(Runnable save, long intervalMillis) {
+		if (save == null || intervalMillis <= 0) {
+			throw new IllegalArgumentException("Invalid autosave.");
+		}
+		this.save = save;
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "autosave");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(() -> {
+			try {
+				saveNow();
+			} catch (RuntimeException e) {
+				// kept for getLastError() and tried again next time; letting it
+				// escape would cancel every later run
+			}
+		}, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Runs the save on the calling thread, after any run in progress finishes.
+	 * Whatever the save throws is kept for getLastError() and thrown on.
+	 *
+	 * @throws IllegalArgumentException if the save fails
+	 */
+	public void saveNow() {
+		synchronized (saveLock) {
+			runs++;
+			try {
+				save.run();
+				lastError = null;
+			} catch (RuntimeException e) {
+				lastError = e;
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of times the save has run.
+	 *
+	 * @return number of runs
+	 */
+	public long getNumRuns() {
+		synchronized (saveLock) {
+			return runs;
+		}
+	}
+
+	/**
+	 * Returns the error thrown by the last run of the save.
+	 *
+	 * @return the error, or null if the last run succeeded
+	 */
+	public RuntimeException getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * Stops the background runs and runs the save one last time, so nothing
+	 * changed before this call is left unsaved.
+	 *
+	 * @throws IllegalArgumentException if the last save fails
+	 */
+	public void close() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		saveNow();
+	}
+}
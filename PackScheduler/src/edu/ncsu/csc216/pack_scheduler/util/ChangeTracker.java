@@ -0,0 +1,107 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Counts the changes made to a container and remembers the file it was last
+ * saved to, so a save can be skipped when the container has not changed since
+ * and the file has not been touched since. A file counts as touched when its
+ * size or last modified time no longer match the ones it had when it was
+ * saved.
+ *
+ * @author Ashten Herr
+ */
+public class ChangeTracker {
+
+	/** Number of changes made */
+	private long changes;
+	/** File last saved to, null if never saved */
+	private Path savedFile;
+	/** Number of changes made when the file was saved */
+	private long savedChanges;
+	/** Last modified time of the file when it was saved */
+	private FileTime savedTime;
+	/** Size of the file when it was saved */
+	private long savedSize;
+
+	/**
+	 * Records a change to the container.
+	 */
+	public synchronized void markChanged() {
+		changes++;
+	}
+
+	/**
+	 * Returns the number of changes made so far, to pass to saved() once the
+	 * container as of this count has been written.
+	 *
+	 * @return number of changes
+	 */
+	public synchronized long getChanges() {
+		return changes;
+	}
+
+	/**
+	 * Returns whether the container has changed since it was last saved to any
+	 * file.
+	 *
+	 * @return true if there are unsaved changes
+	 */
+	public synchronized boolean isChanged() {
+		return savedFile == null || changes != savedChanges;
+	}
+
+	/**
+	 * Returns whether the given file already holds the container: it was the last
+	 * file saved to, nothing has changed since, and the file is as it was left.
+	 *
+	 * @param fileName - file about to be saved to
+	 * @return true if saving to the file would write what it already holds
+	 */
+	public synchronized boolean isSaved(String fileName) {
+		if (savedFile == null || changes != savedChanges || !savedFile.equals(pathOf(fileName))) {
+			return false;
+		}
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(savedFile, BasicFileAttributes.class);
+			return attributes.size() == savedSize && attributes.lastModifiedTime().equals(savedTime);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Records that the container, as it was after the given number of changes,
+	 * was written to a file.
+	 *
+	 * @param fileName - file written
+	 * @param changes  - value of getChanges() when the container was written
+	 */
+	public synchronized void saved(String fileName, long changes) {
+		Path file = pathOf(fileName);
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			savedFile = file;
+			savedChanges = changes;
+			savedTime = attributes.lastModifiedTime();
+			savedSize = attributes.size();
+		} catch (IOException e) {
+			savedFile = null;
+		}
+	}
+
+	/**
+	 * Returns the absolute path of a file name.
+	 *
+	 * @param fileName - name of the file
+	 * @return absolute path of the file
+	 */
+	private static Path pathOf(String fileName) {
+		return Paths.get(fileName).toAbsolutePath().normalize();
+	}
+}
@@ -0,0 +1,172 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Queue that holds at most one element for each key and can find or remove an
+ * element without dequeuing the elements in front of it. Elements are kept in
+ * a LinkedHashMap from their key, so enqueue, dequeue, contains and remove are
+ * all constant time and elements leave in the order they were added. The key
+ * of an element must not change while it is in the queue.
+ *
+ * @author Ashten Herr
+ * @param <E> - type of element
+ */
+public class LinkedSetQueue<E> implements Queue<E> {
+
+	/** Capacity of the queue */
+	private int capacity;
+
+	/** Elements of the queue keyed by their key, in the order they were added */
+	private LinkedHashMap<Object, E> elements;
+
+	/** Function giving the key of an element */
+	private Function<? super E, ?> keyOf;
+
+	/**
+	 * Constructs a queue whose elements are their own keys.
+	 *
+	 * @param capacity - capacity of the queue
+	 * @throws IllegalArgumentException if the capacity is negative
+	 */
+	public LinkedSetQueue(int capacity) {
+		this(capacity, Function.identity());
+	}
+
+	/**
+	 * Constructs a queue that tells elements apart by the given key.
+	 *
+	 * @param capacity - capacity of the queue
+	 * @param keyOf    - function giving the key of an element
+	 * @throws IllegalArgumentException if the capacity is negative or keyOf is
+	 *                                  null
+	 */
+	public LinkedSetQueue(int capacity, Function<? super E, ?> keyOf) {
+		if (keyOf == null) {
+			throw new IllegalArgumentException();
+		}
+		elements = new LinkedHashMap<Object, E>();
+		this.keyOf = keyOf;
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Adds an element to the back of the queue.
+	 *
+	 * @param element - element being added
+	 * @throws NullPointerException     if the element is null
+	 * @throws IllegalArgumentException if the queue has reached capacity or an
+	 *                                  element with the same key is in the queue
+	 */
+	@Override
+	public void enqueue(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		if (elements.size() >= capacity) {
+			throw new IllegalArgumentException();
+		}
+		Object key = keyOf.apply(element);
+		if (elements.containsKey(key)) {
+			throw new IllegalArgumentException();
+		}
+		elements.put(key, element);
+	}
+
+	/**
+	 * Removes the element at the front of the queue and returns it.
+	 *
+	 * @return element that was removed
+	 * @throws NoSuchElementException if the queue is empty
+	 */
+	@Override
+	public E dequeue() {
+		if (elements.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		Iterator<E> front = elements.values().iterator();
+		E element = front.next();
+		front.remove();
+		return element;
+	}
+
+	/**
+	 * Returns whether an element with the same key as the given element is in
+	 * the queue.
+	 *
+	 * @param element - element to look for
+	 * @return true if the element is in the queue
+	 */
+	public boolean contains(E element) {
+		return element != null && elements.containsKey(keyOf.apply(element));
+	}
+
+	/**
+	 * Removes the element with the same key as the given element from wherever it
+	 * is in the queue. The order of the other elements does not change.
+	 *
+	 * @param element - element to remove
+	 * @return true if an element was removed
+	 */
+	public boolean remove(E element) {
+		return element != null && elements.remove(keyOf.apply(element)) != null;
+	}
+
+	/**
+	 * Returns the elements of the queue from front to back.
+	 *
+	 * @return a new list of the elements
+	 */
+	public List<E> toList() {
+		return new ArrayList<E>(elements.values());
+	}
+
+	/**
+	 * Returns whether the queue is empty.
+	 *
+	 * @return true if the queue is empty
+	 */
+	@Override
+	public boolean isEmpty() {
+		return elements.isEmpty();
+	}
+
+	/**
+	 * Returns the size of the queue.
+	 *
+	 * @return number of elements in the queue
+	 */
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	/**
+	 * Returns the capacity of the queue.
+	 *
+	 * @return capacity of the queue
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Sets the capacity of the queue.
+	 *
+	 * @param capacity - capacity to set the queue to
+	 * @throws IllegalArgumentException if the capacity is negative or less than
+	 *                                  the size of the queue
+	 */
+	@Override
+	public void setCapacity(int capacity) {
+		if (capacity < 0 || capacity < elements.size()) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+	}
+}
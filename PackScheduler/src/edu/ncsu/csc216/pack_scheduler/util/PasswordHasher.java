@@ -0,0 +1,167 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes passwords with SHA-256 the way they are stored for users, and checks
+ * passwords against stored hashes. Each thread keeps one digest and reuses it
+ * for every password it hashes, so hashing many passwords, on one thread or
+ * several, does not look up a new digest each time.
+ *
+ * A stored hash is the SHA-256 digest of the password's UTF-8 bytes written as
+ * 64 lowercase hex digits, so it is the same on every platform and never holds
+ * a comma or line break. Hashes stored by older versions are the digest bytes
+ * decoded as text in the platform charset, which can not be turned back into
+ * the digest. Those are still accepted as they are, or wrapped by migrate() as
+ * LEGACY_PREFIX followed by the hex of their UTF-8 bytes so they can be written
+ * to record files safely. Every comparison is of bytes, in time that does not
+ * depend on where they differ.
+ *
+ * @author Ashten Herr
+ */
+public class PasswordHasher {
+
+	/** Length of a stored hash */
+	public static final int HASH_LENGTH = 64;
+
+	/** Start of a wrapped hash stored by an older version */
+	public static final String LEGACY_PREFIX = "legacy:";
+
+	/** Hashing algorithm */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** Hex digits in the order of their values */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/** Digest of each thread, reset after every use */
+	private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("Cannot hash password");
+		}
+	});
+
+	/**
+	 * Returns the hash of a password, as it is stored.
+	 *
+	 * @param password - password to hash
+	 * @return the hashed password
+	 * @throws IllegalArgumentException if the password can not be hashed
+	 */
+	public static String hash(String password) {
+		return toHex(DIGESTS.get().digest(password.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Returns whether a password is the one a stored hash was made from. The hash
+	 * may be in any of the forms described above.
+	 *
+	 * @param password - password to check
+	 * @param stored   - hash stored for the user
+	 * @return true if the password matches
+	 * @throws IllegalArgumentException if the password can not be hashed
+	 */
+	public static boolean matches(String password, String stored) {
+		if (isCanonical(stored)) {
+			byte[] digest = DIGESTS.get().digest(password.getBytes(StandardCharsets.UTF_8));
+			return MessageDigest.isEqual(digest, fromHex(stored, 0));
+		}
+		byte[] legacy = legacyHash(password).getBytes(StandardCharsets.UTF_8);
+		if (stored.startsWith(LEGACY_PREFIX) && isHex(stored, LEGACY_PREFIX.length())) {
+			return MessageDigest.isEqual(legacy, fromHex(stored, LEGACY_PREFIX.length()));
+		}
+		return MessageDigest.isEqual(legacy, stored.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns whether a stored hash is in the current form.
+	 *
+	 * @param stored - stored hash
+	 * @return true if it is 64 lowercase hex digits
+	 */
+	public static boolean isCanonical(String stored) {
+		return stored.length() == HASH_LENGTH && isHex(stored, 0);
+	}
+
+	/**
+	 * Returns a stored hash in a form that can be written to a record file. A
+	 * hash in the current form or already wrapped is returned as it is, and a
+	 * hash stored by an older version is wrapped.
+	 *
+	 * @param stored - stored hash
+	 * @return the hash to store instead
+	 */
+	public static String migrate(String stored) {
+		if (isCanonical(stored) || stored.startsWith(LEGACY_PREFIX) && isHex(stored, LEGACY_PREFIX.length())) {
+			return stored;
+		}
+		return LEGACY_PREFIX + toHex(stored.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the hash older versions stored for a password: the digest of the
+	 * password in the platform charset, decoded as text in that charset.
+	 *
+	 * @param password - password to hash
+	 * @return the old form of the hash
+	 */
+	private static String legacyHash(String password) {
+		return new String(DIGESTS.get().digest(password.getBytes()));
+	}
+
+	/**
+	 * Returns bytes as lowercase hex digits.
+	 *
+	 * @param bytes - bytes to write
+	 * @return two hex digits per byte
+	 */
+	private static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Returns whether a string is an even number of lowercase hex digits from the
+	 * given position to its end.
+	 *
+	 * @param s     - string to check
+	 * @param start - position of the first digit
+	 * @return true if the rest of the string is hex
+	 */
+	private static boolean isHex(String s, int start) {
+		if ((s.length() - start) % 2 != 0) {
+			return false;
+		}
+		for (int i = start; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the bytes written as hex digits from the given position to the end
+	 * of a string checked with isHex().
+	 *
+	 * @param hex   - string of hex digits
+	 * @param start - position of the first digit
+	 * @return the bytes
+	 */
+	private static byte[] fromHex(String hex, int start) {
+		byte[] bytes = new byte[(hex.length() - start) / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) (Character.digit(hex.charAt(start + 2 * i), 16) << 4
+					| Character.digit(hex.charAt(start + 2 * i + 1), 16));
+		}
+		return bytes;
+	}
+}
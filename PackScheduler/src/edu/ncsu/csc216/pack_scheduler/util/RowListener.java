@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+/**
+ * Listens for changes to the rows of a container that is shown as a table,
+ * such as the course catalog or a schedule. Rows are numbered the way the
+ * container orders them, and every range is inclusive. Events are sent on the
+ * thread that made the change, while the container is still locked, so a
+ * listener must not wait on another thread.
+ *
+ * Only rowsReplaced() has to be implemented. The other events call it by
+ * default, so a listener that only needs to know something changed can be a
+ * lambda.
+ *
+ * @author Ashten Herr
+ */
+@FunctionalInterface
+public interface RowListener {
+
+	/**
+	 * Called after rows were inserted. The rows now at first through last are
+	 * the new ones.
+	 *
+	 * @param first - index of the first inserted row
+	 * @param last  - index of the last inserted row
+	 */
+	default void rowsInserted(int first, int last) {
+		rowsReplaced();
+	}
+
+	/**
+	 * Called after the rows at first through last changed in place.
+	 *
+	 * @param first - index of the first changed row
+	 * @param last  - index of the last changed row
+	 */
+	default void rowsUpdated(int first, int last) {
+		rowsReplaced();
+	}
+
+	/**
+	 * Called after rows were deleted. The indexes are the ones the rows had
+	 * before they were deleted.
+	 *
+	 * @param first - index of the first deleted row
+	 * @param last  - index of the last deleted row
+	 */
+	default void rowsDeleted(int first, int last) {
+		rowsReplaced();
+	}
+
+	/**
+	 * Called after every row may have changed, such as when the container was
+	 * cleared or loaded.
+	 */
+	void rowsReplaced();
+}
@@ -0,0 +1,106 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The listeners of a container's rows, and the events sent to them. Listeners
+ * can be added and removed from any thread, including while an event is being
+ * sent. A container with no listeners can check hasListeners() to skip
+ * working out the rows of a change. Events are sent after the container has
+ * changed, so an exception thrown by a listener is passed to the thread's
+ * uncaught exception handler rather than thrown into the change, and the other
+ * listeners are still told.
+ *
+ * @author Ashten Herr
+ */
+public class RowListeners {
+
+	/** Listeners in the order they were added */
+	private final CopyOnWriteArrayList<RowListener> listeners = new CopyOnWriteArrayList<RowListener>();
+
+	/**
+	 * Adds a listener. A listener added twice is sent each event twice.
+	 *
+	 * @param listener - listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void add(RowListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Invalid listener.");
+		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listener - listener to remove
+	 * @return true if it was a listener
+	 */
+	public boolean remove(RowListener listener) {
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * Returns whether there are any listeners.
+	 *
+	 * @return true if an event would be sent to someone
+	 */
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Tells every listener rows were inserted.
+	 *
+	 * @param first - index of the first inserted row
+	 * @param last  - index of the last inserted row
+	 */
+	public void fireInserted(int first, int last) {
+		fire(l -> l.rowsInserted(first, last));
+	}
+
+	/**
+	 * Tells every listener rows changed in place.
+	 *
+	 * @param first - index of the first changed row
+	 * @param last  - index of the last changed row
+	 */
+	public void fireUpdated(int first, int last) {
+		fire(l -> l.rowsUpdated(first, last));
+	}
+
+	/**
+	 * Tells every listener rows were deleted.
+	 *
+	 * @param first - index of the first deleted row
+	 * @param last  - index of the last deleted row
+	 */
+	public void fireDeleted(int first, int last) {
+		fire(l -> l.rowsDeleted(first, last));
+	}
+
+	/**
+	 * Tells every listener all the rows may have changed.
+	 */
+	public void fireReplaced() {
+		fire(RowListener::rowsReplaced);
+	}
+
+	/**
+	 * Sends an event to every listener.
+	 *
+	 * @param event - event to send to a listener
+	 */
+	private void fire(Consumer<RowListener> event) {
+		for (RowListener l : listeners) {
+			try {
+				event.accept(l);
+			} catch (RuntimeException e) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Array backed list that keeps its elements in their natural order. Elements
+ * are placed with a binary search, so finding an element or its insertion
+ * point is logarithmic, and a whole collection can be loaded with one sort
+ * instead of one insertion per element. Like SortedList, null elements and
+ * elements equal to one already in the list are not allowed.
+ *
+ * @author Ashten Herr
+ * @param <E> - type of the list, must be comparable to itself.
+ */
+public class SortedArrayList<E extends Comparable<E>> extends AbstractList<E> {
+
+	/** Initial size of the list. */
+	private static final int INIT_SIZE = 10;
+
+	/** Elements of the list in sorted order. */
+	private E[] list;
+
+	/** Current size of the list. */
+	private int size;
+
+	/**
+	 * Constructs an empty sorted list.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public SortedArrayList() {
+		list = (E[]) new Comparable[INIT_SIZE];
+		size = 0;
+	}
+
+	/**
+	 * Constructs a sorted list holding the given elements. The elements are sorted
+	 * once rather than inserted one at a time.
+	 *
+	 * @param elements - elements to put in the list, in any order
+	 * @throws NullPointerException     if an element is null
+	 * @throws IllegalArgumentException if two of the elements are equal
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public SortedArrayList(Collection<? extends E> elements) {
+		E[] sorted = (E[]) elements.toArray(new Comparable[Math.max(elements.size(), INIT_SIZE)]);
+		int count = elements.size();
+		for (int i = 0; i < count; i++) {
+			if (sorted[i] == null) {
+				throw new NullPointerException();
+			}
+		}
+		Arrays.sort(sorted, 0, count);
+		for (int i = 1; i < count; i++) {
+			if (sorted[i - 1].compareTo(sorted[i]) == 0 && equalInRun(sorted, i, sorted[i])) {
+				throw new IllegalArgumentException("Element already in list.");
+			}
+		}
+		list = sorted;
+		size = count;
+	}
+
+	/**
+	 * Adds an element at its sorted position. An element is placed after any
+	 * elements that compare as equal to it.
+	 *
+	 * @param element - element to add
+	 * @return true, as the element is always added
+	 * @throws NullPointerException     if the element is null
+	 * @throws IllegalArgumentException if the element is already in the list
+	 */
+	@Override
+	public boolean add(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		int idx = upperBound(element);
+		if (equalInRun(list, idx, element)) {
+			throw new IllegalArgumentException("Element already in list.");
+		}
+		if (size == list.length) {
+			list = Arrays.copyOf(list, list.length * 2);
+		}
+		System.arraycopy(list, idx, list, idx + 1, size - idx);
+		list[idx] = element;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 *
+	 * @param index - index of the element
+	 * @return element at the index
+	 * @throws IndexOutOfBoundsException if the index is not in the list
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return list[index];
+	}
+
+	/**
+	 * Removes the element at the given index.
+	 *
+	 * @param index - index of the element to remove
+	 * @return element that was removed
+	 * @throws IndexOutOfBoundsException if the index is not in the list
+	 */
+	@Override
+	public E remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		E removed = list[index];
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		size--;
+		list[size] = null;
+		modCount++;
+		return removed;
+	}
+
+	/**
+	 * Returns the index of an element equal to the given object using a binary
+	 * search, or -1 if the list has no such element.
+	 *
+	 * @param o - object to find
+	 * @return index of the object, -1 if it is not in the list
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public int indexOf(Object o) {
+		if (o == null || size == 0) {
+			return -1;
+		}
+		E element;
+		int idx;
+		try {
+			element = (E) o;
+			idx = upperBound(element);
+		} catch (ClassCastException e) {
+			return -1;
+		}
+		// search back through the elements that compare as equal
+		for (int i = idx - 1; i >= 0 && list[i].compareTo(element) == 0; i--) {
+			if (list[i].equals(element)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns whether an element equal to the given object is in the list.
+	 *
+	 * @param o - object to find
+	 * @return true if the object is in the list
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	/**
+	 * Removes every element from the list.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(list, 0, size, null);
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns the size of the list.
+	 *
+	 * @return number of elements in the list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the first index whose element is ordered after the given element.
+	 *
+	 * @param element - element to place
+	 * @return index just past the last element that is not ordered after it
+	 */
+	private int upperBound(E element) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list[mid].compareTo(element) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Checks the run of elements that compare as equal to the element and end just
+	 * before end for one that is also equal to it.
+	 *
+	 * @param array   - sorted array to check
+	 * @param end     - index after the last element of the run
+	 * @param element - element being checked
+	 * @param <E>     - type of the elements
+	 * @return true if an element in the run equals the given element
+	 */
+	private static <E extends Comparable<E>> boolean equalInRun(E[] array, int end, E element) {
+		for (int i = end - 1; i >= 0 && array[i].compareTo(element) == 0; i--) {
+			if (array[i].equals(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,134 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by any number of objects. Each object maps to one
+ * lock (its stripe) by identity, so the same object always gets the same lock
+ * and objects on different stripes can be locked by different threads at once.
+ * When several objects are locked together their stripes are locked in
+ * ascending order, so two threads locking overlapping groups can not deadlock.
+ *
+ * @author Ashten Herr
+ */
+public class StripedLocks {
+
+	/** Locks of the stripes */
+	private ReentrantLock[] locks;
+
+	/**
+	 * Creates a set of locks. The number of stripes is rounded up to a power of
+	 * two.
+	 *
+	 * @param stripes - number of stripes
+	 * @throws IllegalArgumentException if stripes is less than 1
+	 */
+	public StripedLocks(int stripes) {
+		if (stripes < 1 || stripes > 1 << 30) {
+			throw new IllegalArgumentException();
+		}
+		int size = Integer.highestOneBit(stripes);
+		if (size < stripes) {
+			size <<= 1;
+		}
+		locks = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Returns the stripe an object is locked by.
+	 *
+	 * @param key - object to find the stripe of
+	 * @return stripe of the object
+	 */
+	public int stripeFor(Object key) {
+		int h = System.identityHashCode(key);
+		// spread the high bits so nearby hash codes use different stripes
+		h ^= h >>> 16;
+		return h & (locks.length - 1);
+	}
+
+	/**
+	 * Locks the stripe of an object, waiting until it is available.
+	 *
+	 * @param key - object to lock
+	 */
+	public void lock(Object key) {
+		locks[stripeFor(key)].lock();
+	}
+
+	/**
+	 * Unlocks the stripe of an object locked by lock().
+	 *
+	 * @param key - object to unlock
+	 */
+	public void unlock(Object key) {
+		locks[stripeFor(key)].unlock();
+	}
+
+	/**
+	 * Locks the stripes of all of the objects in ascending stripe order, locking
+	 * each stripe once even if several objects share it.
+	 *
+	 * @param keys - objects to lock
+	 * @return stripes that were locked, to pass to unlockAll()
+	 */
+	public int[] lockAll(Object... keys) {
+		int[] stripes = new int[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			stripes[i] = stripeFor(keys[i]);
+		}
+		Arrays.sort(stripes);
+		int count = 0;
+		for (int i = 0; i < stripes.length; i++) {
+			if (count == 0 || stripes[count - 1] != stripes[i]) {
+				stripes[count++] = stripes[i];
+			}
+		}
+		stripes = Arrays.copyOf(stripes, count);
+		for (int i = 0; i < stripes.length; i++) {
+			locks[stripes[i]].lock();
+		}
+		return stripes;
+	}
+
+	/**
+	 * Locks every stripe in ascending order, which excludes every other holder of
+	 * these locks.
+	 *
+	 * @return stripes that were locked, to pass to unlockAll()
+	 */
+	public int[] lockEvery() {
+		int[] stripes = new int[locks.length];
+		for (int i = 0; i < locks.length; i++) {
+			stripes[i] = i;
+			locks[i].lock();
+		}
+		return stripes;
+	}
+
+	/**
+	 * Unlocks stripes locked by lockAll() or lockEvery(), in the reverse of the order they were
+	 * locked.
+	 *
+	 * @param stripes - stripes returned by lockAll()
+	 */
+	public void unlockAll(int[] stripes) {
+		for (int i = stripes.length - 1; i >= 0; i--) {
+			locks[stripes[i]].unlock();
+		}
+	}
+
+	/**
+	 * Returns whether the current thread holds the stripe of an object.
+	 *
+	 * @param key - object to check
+	 * @return true if the current thread holds the object's stripe
+	 */
+	public boolean isHeldByCurrentThread(Object key) {
+		return locks[stripeFor(key)].isHeldByCurrentThread();
+	}
+}
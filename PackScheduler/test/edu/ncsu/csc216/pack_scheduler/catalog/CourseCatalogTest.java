@@ -7,12 +7,18 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingRowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
 
 /**
  * Class to test methods in CourseCatalog class
@@ -122,6 +128,77 @@ public class CourseCatalogTest {
 
 	}
 
+	/**
+	 * Tests that course lookups stay in sync with the catalog as courses are
+	 * loaded, added, and removed.
+	 */
+	@Test
+	public void testCourseLookupAfterChanges() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		assertEquals("CSC216", cc.getCourseFromCatalog("CSC216", "601").getName());
+		assertNull(cc.getCourseFromCatalog("CSC216", "003"));
+
+		// remove a course from the middle of the catalog
+		assertTrue(cc.removeCourseFromCatalog("CSC216", "002"));
+		assertNull(cc.getCourseFromCatalog("CSC216", "002"));
+		assertFalse(cc.removeCourseFromCatalog("CSC216", "002"));
+		assertEquals(12, cc.getCourseCatalog().length);
+		assertEquals("601", cc.getCourseCatalog()[4][1]);
+
+		// add it back and find it again
+		assertTrue(cc.addCourseToCatalog("CSC216", TITLE, "002", CREDITS, INSTRUCTOR_ID, 10, MEETING_DAYS, START_TIME,
+				END_TIME));
+		assertEquals("002", cc.getCourseFromCatalog("CSC216", "002").getSection());
+		assertEquals("002", cc.getCourseCatalog()[4][1]);
+
+		// clearing the catalog clears the lookups
+		List<Course> courses = cc.getCourses();
+		cc.newCourseCatalog();
+		assertNull(cc.getCourseFromCatalog("CSC216", "001"));
+		// the list was copied, so it keeps the courses
+		assertEquals(13, courses.size());
+	}
+
+	/**
+	 * Tests that lookups from other threads keep finding a course while courses
+	 * are added to the catalog.
+	 * 
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testConcurrentLookup() throws InterruptedException {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		Thread writer = new Thread(() -> {
+			for (int i = 100; i < 1000; i++) {
+				cc.addCourseToCatalog("ZZZ" + i, TITLE, "001", CREDITS, INSTRUCTOR_ID, 10, "A", 0, 0);
+			}
+		});
+		int[] misses = new int[2];
+		Thread[] readers = new Thread[misses.length];
+		for (int r = 0; r < readers.length; r++) {
+			int reader = r;
+			readers[r] = new Thread(() -> {
+				while (writer.isAlive()) {
+					if (cc.getCourseFromCatalog("CSC216", "001") == null) {
+						misses[reader]++;
+					}
+				}
+			});
+		}
+		writer.start();
+		for (Thread reader : readers) {
+			reader.start();
+		}
+		writer.join();
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		assertArrayEquals(new int[2], misses);
+		assertEquals(913, cc.getCourses().size());
+	}
+
 	/**
 	 * Test CourseCatalog.resetSchedule()
 	 */
@@ -202,6 +279,42 @@ public class CourseCatalogTest {
 		assertEquals("Data Structures and Algorithms", catalog[12][2]);
 	}
 
+	/**
+	 * Tests that saving the catalog only writes when it changed since it was last
+	 * saved to the same file, or the file was touched.
+	 * 
+	 * @throws IOException if the test file can not be changed
+	 */
+	@Test
+	public void testSaveCourseCatalogChanged() throws IOException {
+		String fileName = "test-files/actual_changed_export.txt";
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		assertTrue(cc.isChanged());
+		assertTrue(cc.saveCourseCatalog(fileName));
+		assertFalse(cc.isChanged());
+		assertFalse(cc.saveCourseCatalog(fileName));
+		assertTrue(cc.saveCourseCatalog("test-files/actual_schedule_export.txt"));
+		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
+		assertTrue(cc.saveCourseCatalog(fileName));
+
+		assertFalse(cc.removeCourseFromCatalog("CSC492", "001"));
+		assertFalse(cc.saveCourseCatalog(fileName));
+		assertTrue(cc.removeCourseFromCatalog(NAME, SECTION));
+		assertTrue(cc.isChanged());
+		assertTrue(cc.saveCourseCatalog(fileName));
+		assertFalse(cc.saveCourseCatalog(fileName));
+
+		cc.markChanged();
+		assertTrue(cc.saveCourseCatalog(fileName));
+		Files.write(FileSystems.getDefault().getPath(fileName), "edited".getBytes());
+		assertTrue(cc.saveCourseCatalog(fileName));
+		CourseCatalog saved = new CourseCatalog();
+		saved.loadCoursesFromFile(fileName);
+		assertEquals(12, saved.getCourseCatalog().length);
+		Files.delete(FileSystems.getDefault().getPath(fileName));
+	}
+
 	/**
 	 * Test CourseCatalog.exportSchedule().
 	 */
@@ -243,4 +356,86 @@ public class CourseCatalogTest {
 		}
 	}
 
+	/**
+	 * Tests getCoursesThatFit against checking each course with Schedule.canAdd.
+	 */
+	@Test
+	public void testGetCoursesThatFit() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		Schedule schedule = new Schedule();
+
+		// an empty schedule fits every course within the credits
+		assertEquals(13, cc.getCoursesThatFit(schedule, 18).size());
+		List<Course> labs = cc.getCoursesThatFit(schedule, 1);
+		assertEquals(4, labs.size());
+		assertEquals("CSC217", labs.get(0).getName());
+		assertEquals("202", labs.get(0).getSection());
+
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("CSC216", "001"));
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("CSC226", "001"));
+		List<Course> fits = cc.getCoursesThatFit(schedule, 12);
+		String[][] catalog = cc.getCourseCatalog();
+		int expected = 0;
+		for (int i = 0; i < catalog.length; i++) {
+			Course c = cc.getCourseFromCatalog(catalog[i][0], catalog[i][1]);
+			if (schedule.canAdd(c)) {
+				assertEquals(c, fits.get(expected));
+				expected++;
+			}
+		}
+		assertEquals(expected, fits.size());
+		assertFalse(fits.contains(cc.getCourseFromCatalog("CSC216", "601")));
+		assertFalse(fits.contains(cc.getCourseFromCatalog("CSC316", "001")));
+		assertTrue(fits.contains(cc.getCourseFromCatalog("CSC230", "001")));
+
+		// the index follows changes to the catalog
+		assertTrue(cc.removeCourseFromCatalog("CSC230", "001"));
+		assertFalse(cc.getCoursesThatFit(schedule, 12).contains(cc.getCourseFromCatalog("CSC230", "001")));
+		assertTrue(cc.addCourseToCatalog("CSC230", "C and Software Tools", "002", 3, "dbsturgi", 10, "F", 1000,
+				1100));
+		assertFalse(cc.getCoursesThatFit(schedule, 12).contains(cc.getCourseFromCatalog("CSC230", "002")));
+		assertTrue(cc.addCourseToCatalog("CSC230", "C and Software Tools", "003", 3, "dbsturgi", 10, "F", 1030,
+				1100));
+		assertTrue(cc.getCoursesThatFit(schedule, 12).contains(cc.getCourseFromCatalog("CSC230", "003")));
+
+		try {
+			cc.getCoursesThatFit(null, 12);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid schedule.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that row listeners are told which rows of getCourseCatalog() each
+	 * change touches.
+	 */
+	@Test
+	public void testRowListener() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		List<String> events = new ArrayList<String>();
+		RowListener listener = new RecordingRowListener(events);
+		cc.addRowListener(listener);
+
+		// after CSC116-001 through 003
+		assertTrue(cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "004", 3, null, 10, "F", 800,
+				900));
+		assertEquals("004", cc.getCourseCatalogRow(3)[1]);
+		assertFalse(cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "004", 3, null, 10, "F", 800,
+				900));
+		assertTrue(cc.removeCourseFromCatalog(NAME, SECTION));
+		assertFalse(cc.removeCourseFromCatalog(NAME, SECTION));
+		cc.courseUpdated(cc.getCourseFromCatalog("CSC116", "001"));
+		cc.loadCoursesFromFile(validTestFile);
+		cc.newCourseCatalog();
+		assertEquals(Arrays.asList("inserted 3-3", "deleted 4-4", "updated 0-0", "replaced", "replaced"), events);
+		assertEquals(0, cc.getCourseCatalog().length);
+
+		assertTrue(cc.removeRowListener(listener));
+		assertFalse(cc.removeRowListener(listener));
+		cc.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, 10, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(5, events.size());
+	}
 }
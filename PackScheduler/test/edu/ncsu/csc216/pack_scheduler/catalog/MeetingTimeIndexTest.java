@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests MeetingTimeIndex.
+ *
+ * @author Ashten Herr
+ */
+public class MeetingTimeIndexTest {
+
+	/** Course meeting MW 9:10-11:00 */
+	private Course c116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW", 910,
+			1100);
+	/** Course meeting TH 13:30-14:45 */
+	private Course c216 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH",
+			1330, 1445);
+	/** Course meeting M 8:00-18:00, the longest course */
+	private Course c217 = new Course("CSC217", "Software Development Fundamentals Lab", "202", 1, "sesmith5", 10, "M",
+			800, 1800);
+	/** Course meeting MWF 11:00-11:50 */
+	private Course c226 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes",
+			10, "MWF", 1100, 1150);
+	/** Arranged course */
+	private Course c316 = new Course("CSC316", "Data Structures and Algorithms", "601", 3, "jtking", 10, "A");
+
+	/**
+	 * Tests finding the courses that conflict with an activity.
+	 */
+	@Test
+	public void testAddConflicts() {
+		MeetingTimeIndex index = new MeetingTimeIndex(Arrays.asList(c116, c216, c217, c226, c316));
+		HashSet<Course> conflicts = new HashSet<Course>();
+
+		// a Friday morning course only meets CSC226
+		index.addConflicts(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "F", 1030, 1100),
+				conflicts);
+		assertEquals(new HashSet<Course>(Arrays.asList(c226)), conflicts);
+
+		// the long Monday course is found from a late start time
+		conflicts.clear();
+		index.addConflicts(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "M", 1700, 1730),
+				conflicts);
+		assertEquals(new HashSet<Course>(Arrays.asList(c217)), conflicts);
+
+		// times that touch conflict, on every day the activity meets
+		conflicts.clear();
+		index.addConflicts(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "WH", 1445, 1500),
+				conflicts);
+		assertEquals(new HashSet<Course>(Arrays.asList(c216)), conflicts);
+		index.addConflicts(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "W", 800, 910),
+				conflicts);
+		assertEquals(new HashSet<Course>(Arrays.asList(c216, c116)), conflicts);
+
+		// arranged courses conflict with nothing
+		conflicts.clear();
+		index.addConflicts(new Course("CSC230", "C and Software Tools", "601", 3, "dbsturgi", 10, "A"), conflicts);
+		assertTrue(conflicts.isEmpty());
+		index.addConflicts(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "TH", 0, 2359),
+				conflicts);
+		assertEquals(new HashSet<Course>(Arrays.asList(c216)), conflicts);
+	}
+
+	/**
+	 * Tests that the index keeps its own copy of the courses it indexed.
+	 */
+	@Test
+	public void testGetCourses() {
+		List<Course> courses = new ArrayList<Course>(Arrays.asList(c216, c116, c316));
+		MeetingTimeIndex index = new MeetingTimeIndex(courses);
+		courses.add(c226);
+		assertEquals(Arrays.asList(c216, c116, c316), index.getCourses());
+		try {
+			index.getCourses().add(c226);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(3, index.getCourses().size());
+		}
+	}
+
+	/**
+	 * Tests an index with no courses.
+	 */
+	@Test
+	public void testEmptyIndex() {
+		MeetingTimeIndex index = new MeetingTimeIndex(Arrays.<Course>asList());
+		HashSet<Course> conflicts = new HashSet<Course>();
+		index.addConflicts(c116, conflicts);
+		assertTrue(conflicts.isEmpty());
+	}
+}
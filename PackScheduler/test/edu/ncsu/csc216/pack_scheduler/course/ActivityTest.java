@@ -133,4 +133,64 @@ public class ActivityTest {
 		assertEquals("Check course meeting string", "WF 11:00AM-1:00PM", a2.getMeetingString());
 	}
 
+	/**
+	 * Tests that explainConflict reports the shared days and overlapping time.
+	 */
+	@Test
+	public void testExplainConflict() {
+		Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 20, "MWF", 1330,
+				1445);
+		Activity a2 = new Course("CSC226", "Discrete Mathematics", "001", 3, "sesmith5", 20, "TWF", 1400, 1515);
+		ConflictExplanation explanation = a1.explainConflict(a2);
+		assertEquals("WF", explanation.getSharedDays());
+		assertEquals(1400, explanation.getOverlapStart());
+		assertEquals(1445, explanation.getOverlapEnd());
+		assertEquals("Conflict on WF 2:00PM-2:45PM", explanation.toString());
+		assertEquals("WF", a2.explainConflict(a1).getSharedDays());
+
+		// times that only touch conflict
+		Activity a3 = new Course("CSC230", "C and Software Tools", "001", 3, "sesmith5", 20, "M", 1445, 1600);
+		explanation = a1.explainConflict(a3);
+		assertEquals("M", explanation.getSharedDays());
+		assertEquals(1445, explanation.getOverlapStart());
+		assertEquals(1445, explanation.getOverlapEnd());
+
+		// no shared day or no shared time is not a conflict
+		Activity a4 = new Course("CSC230", "C and Software Tools", "001", 3, "sesmith5", 20, "TH", 1330, 1445);
+		assertNull(a1.explainConflict(a4));
+		Activity a5 = new Course("CSC230", "C and Software Tools", "001", 3, "sesmith5", 20, "MWF", 1446, 1600);
+		assertNull(a1.explainConflict(a5));
+
+		// arranged activities never conflict
+		Activity a6 = new Course("CSC230", "C and Software Tools", "001", 3, "sesmith5", 20, "A");
+		Activity a7 = new Course("CSC316", "Data Structures", "001", 3, "sesmith5", 20, "A");
+		assertNull(a6.explainConflict(a7));
+		assertNull(a6.explainConflict(a1));
+	}
+
+	/**
+	 * Tests that the conflict check still applies after the meeting days change.
+	 */
+	@Test
+	public void testCheckConflictAfterMeetingChange() {
+		Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 20, "MW", 1330,
+				1445);
+		Activity a2 = new Course("CSC226", "Discrete Mathematics", "001", 3, "sesmith5", 20, "TH", 1330, 1445);
+		assertNull(a1.explainConflict(a2));
+		a2.setMeetingDaysAndTime("HF", 900, 1000);
+		assertNull(a1.explainConflict(a2));
+		a2.setMeetingDaysAndTime("WF", 1400, 1500);
+		try {
+			a1.checkConflict(a2);
+			fail();
+		} catch (ConflictException e) {
+			assertEquals("Schedule conflict.", e.getMessage());
+		}
+		a2.setMeetingDaysAndTime("A", 0, 0);
+		try {
+			a1.checkConflict(a2);
+		} catch (ConflictException e) {
+			fail();
+		}
+	}
 }
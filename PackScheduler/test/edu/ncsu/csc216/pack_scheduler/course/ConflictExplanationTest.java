@@ -0,0 +1,25 @@
+package edu.ncsu.csc216.pack_scheduler.course;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests ConflictExplanation.
+ *
+ * @author Ashten Herr
+ */
+public class ConflictExplanationTest {
+
+	/**
+	 * Tests the fields and description of an explanation.
+	 */
+	@Test
+	public void testConflictExplanation() {
+		ConflictExplanation explanation = new ConflictExplanation("MH", 905, 1200);
+		assertEquals("MH", explanation.getSharedDays());
+		assertEquals(905, explanation.getOverlapStart());
+		assertEquals(1200, explanation.getOverlapEnd());
+		assertEquals("Conflict on MH 9:05AM-12:00PM", explanation.toString());
+	}
+}
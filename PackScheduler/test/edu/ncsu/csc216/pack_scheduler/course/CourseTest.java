@@ -4,6 +4,8 @@ import static org.junit.Assert.*;
 
 import org.junit.Test;
 
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
 /**
  * Tests the Course class.
  * 
@@ -756,6 +758,82 @@ public class CourseTest {
 		assertEquals("TH 11:45AM-2:25PM", c4.getMeetingString());
 	}
 
+	/**
+	 * Tests that the display arrays are shared until a field they show changes.
+	 */
+	@Test
+	public void testDisplayArraysCached() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, null, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		String[] shortDisplay = c.getShortDisplayArray();
+		String[] longDisplay = c.getLongDisplayArray();
+		String[] catalogDisplay = c.getCatalogDisplayArray();
+		assertSame(shortDisplay, c.getShortDisplayArray());
+		assertSame(longDisplay, c.getLongDisplayArray());
+		assertSame(catalogDisplay, c.getCatalogDisplayArray());
+		assertArrayEquals(new String[] {NAME, SECTION, TITLE, "MW 1:30PM-2:45PM", "20"}, shortDisplay);
+		assertArrayEquals(new String[] {NAME, SECTION, TITLE, "3", null, "MW 1:30PM-2:45PM", ""}, longDisplay);
+		assertArrayEquals(new String[] {NAME, SECTION, TITLE, "MW 1:30PM-2:45PM", "20"}, catalogDisplay);
+
+		// the roll changes only the arrays that show it
+		c.getCourseRoll().enroll(new Student("First", "Last", "flast", "flast@ncsu.edu", "pw"));
+		assertEquals("19", c.getShortDisplayArray()[4]);
+		assertNotSame(shortDisplay, c.getShortDisplayArray());
+		assertSame(longDisplay, c.getLongDisplayArray());
+		assertSame(catalogDisplay, c.getCatalogDisplayArray());
+		c.getCourseRoll().setEnrollmentCap(30);
+		assertEquals("30", c.getCatalogDisplayArray()[4]);
+		assertEquals("29", c.getShortDisplayArray()[4]);
+
+		longDisplay = c.getLongDisplayArray();
+		c.setInstructorId(INSTRUCTOR_ID);
+		assertEquals(INSTRUCTOR_ID, c.getLongDisplayArray()[4]);
+		assertNotSame(longDisplay, c.getLongDisplayArray());
+
+		shortDisplay = c.getShortDisplayArray();
+		c.setMeetingDaysAndTime("A", 0, 0);
+		assertEquals("Arranged", c.getMeetingString());
+		assertEquals("Arranged", c.getShortDisplayArray()[3]);
+		assertEquals("Arranged", c.getLongDisplayArray()[5]);
+		assertEquals("Arranged", c.getCatalogDisplayArray()[3]);
+		assertNotSame(shortDisplay, c.getShortDisplayArray());
+
+		c.setTitle("New Title");
+		assertEquals("New Title", c.getShortDisplayArray()[2]);
+		c.setCredits(4);
+		assertEquals("4", c.getLongDisplayArray()[3]);
+	}
+
+	/**
+	 * Tests that a display array built while a field changes is never kept after
+	 * the change.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testDisplayArraysWhileChanging() throws InterruptedException {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME,
+				END_TIME);
+		Thread reader = new Thread(() -> {
+			for (int i = 0; i < 100000; i++) {
+				c.getShortDisplayArray();
+				c.getLongDisplayArray();
+				c.getCatalogDisplayArray();
+			}
+		});
+		reader.start();
+		int stale = 0;
+		for (int i = 0; reader.isAlive(); i++) {
+			String title = "Title " + i;
+			c.setTitle(title);
+			if (!title.equals(c.getShortDisplayArray()[2]) || !title.equals(c.getLongDisplayArray()[2])
+					|| !title.equals(c.getCatalogDisplayArray()[2])) {
+				stale++;
+			}
+		}
+		reader.join();
+		assertEquals(0, stale);
+	}
+
 	/**
 	 * Test the compareTo() method
 	 */
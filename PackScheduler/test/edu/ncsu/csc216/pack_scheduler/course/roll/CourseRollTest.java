@@ -2,10 +2,16 @@ package edu.ncsu.csc216.pack_scheduler.course.roll;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingRowListener;
+import edu.ncsu.csc216.pack_scheduler.util.RowListener;
 
 /**
  * Program that tests the methods in CourseRoll.java
@@ -201,14 +207,17 @@ public class CourseRollTest {
 			assertEquals(0, roll.getOpenSeats());
 			assertEquals(2, roll.getNumberOnWaitlist());
 			
-			//Drop a student enrolled in course
-			roll.drop(s);
+			//Drop a student enrolled in course, the first on the waitlist is promoted
+			assertSame(s11, roll.drop(s));
+			assertTrue(roll.isEnrolled(s11));
+			// the roll leaves the promoted student's schedule to the caller
+			assertEquals(0, s11.getSchedule().getNumScheduledCourses());
 			
 			assertEquals(0, roll.getOpenSeats());
 			assertEquals(1, roll.getNumberOnWaitlist());
 			
 			//Drop a student on the waitlist
-			roll.drop(s12);
+			assertNull(roll.drop(s12));
 			
 			assertEquals(0, roll.getOpenSeats());
 			assertEquals(0, roll.getNumberOnWaitlist());
@@ -245,4 +254,221 @@ public class CourseRollTest {
 		}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests filling the largest roll and finding students on it after their
+	 * information changes.
+	 */
+	@Test
+	public void testFullRoll() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", CourseRoll.MAX_ENROLLMENT, "A");
+		CourseRoll roll = c.getCourseRoll();
+		Student[] students = new Student[CourseRoll.MAX_ENROLLMENT];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "student@ncsu.edu", "pw");
+			assertTrue(roll.canEnroll(students[i]));
+			roll.enroll(students[i]);
+		}
+		assertEquals(0, roll.getOpenSeats());
+		for (int i = 0; i < students.length; i++) {
+			assertFalse(roll.canEnroll(students[i]));
+		}
+
+		// a student is still found after their fields change
+		students[100].setMaxCredits(12);
+		students[100].setEmail("changed@ncsu.edu");
+		assertFalse(roll.canEnroll(students[100]));
+		roll.drop(students[100]);
+		assertEquals(1, roll.getOpenSeats());
+		assertTrue(roll.canEnroll(students[100]));
+
+		// dropping a student that is not enrolled does not change the roll
+		roll.drop(new Student("Not", "Enrolled", "notenrolled", "student@ncsu.edu", "pw"));
+		assertEquals(1, roll.getOpenSeats());
+
+		roll.enroll(students[100]);
+		assertEquals(0, roll.getOpenSeats());
+		try {
+			roll.setEnrollmentCap(CourseRoll.MAX_ENROLLMENT - 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(CourseRoll.MAX_ENROLLMENT, roll.getEnrollmentCap());
+		}
+	}
+
+	/**
+	 * Tests the waitlist capacity and removing students from the middle of the
+	 * waitlist.
+	 */
+	@Test
+	public void testWaitlist() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", 10, "A");
+		CourseRoll roll = new CourseRoll(c, 10, 2);
+		assertEquals(2, roll.getWaitlistCap());
+		assertEquals(CourseRoll.DEFAULT_WAITLIST_SIZE, c.getCourseRoll().getWaitlistCap());
+
+		Student[] students = new Student[10];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "student@ncsu.edu", "pw");
+			roll.enroll(students[i]);
+		}
+		Student w1 = new Student("Wait", "One", "wait1", "student@ncsu.edu", "pw");
+		Student w2 = new Student("Wait", "Two", "wait2", "student@ncsu.edu", "pw");
+		Student w3 = new Student("Wait", "Three", "wait3", "student@ncsu.edu", "pw");
+		roll.enroll(w1);
+		assertFalse(roll.canEnroll(w1));
+		roll.enroll(w2);
+		assertEquals(2, roll.getNumberOnWaitlist());
+		assertFalse(roll.canEnroll(w3));
+		try {
+			roll.enroll(w3);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(2, roll.getNumberOnWaitlist());
+		}
+
+		// a larger waitlist has room for the third student
+		roll.setWaitlistCap(3);
+		assertTrue(roll.canEnroll(w3));
+		roll.enroll(w3);
+		try {
+			roll.setWaitlistCap(2);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(3, roll.getWaitlistCap());
+		}
+
+		// dropping from the middle keeps the order of the others
+		roll.drop(w2);
+		assertEquals(2, roll.getNumberOnWaitlist());
+		assertTrue(roll.canEnroll(w2));
+		roll.drop(students[0]);
+		assertEquals(1, roll.getNumberOnWaitlist());
+		assertFalse(roll.canEnroll(w1));
+		// w3 takes the seat w1 leaves
+		roll.drop(w1);
+		assertEquals(0, roll.getOpenSeats());
+		assertFalse(roll.canEnroll(w3));
+		roll.drop(students[1]);
+		assertEquals(0, roll.getNumberOnWaitlist());
+		assertEquals(1, roll.getOpenSeats());
+
+		try {
+			new CourseRoll(c, 10, -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// waitlist capacity can not be negative
+		}
+	}
+
+	/**
+	 * Tests restoring a roll and waitlist as they were, even with open seats.
+	 */
+	@Test
+	public void testRestore() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", 11, "A");
+		CourseRoll roll = new CourseRoll(c, 11, 2);
+		List<String> events = new ArrayList<String>();
+		roll.addRowListener(new RecordingRowListener(events));
+		List<Student> enrolled = new ArrayList<Student>();
+		for (int i = 0; i < 10; i++) {
+			enrolled.add(new Student("First", "Last", "id" + i, "student@ncsu.edu", "pw"));
+		}
+		Student w1 = new Student("Wait", "One", "wait1", "student@ncsu.edu", "pw");
+		Student w2 = new Student("Wait", "Two", "wait2", "student@ncsu.edu", "pw");
+
+		try {
+			roll.restore(enrolled, Arrays.asList(w1, w1));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(11, roll.getOpenSeats());
+			assertEquals(0, roll.getNumberOnWaitlist());
+		}
+		try {
+			roll.restore(enrolled, Arrays.asList(w1, enrolled.get(0)));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(11, roll.getOpenSeats());
+		}
+
+		// the open seat left by a raised cap stays open
+		roll.restore(enrolled, Arrays.asList(w1, w2));
+		assertEquals(1, roll.getOpenSeats());
+		assertEquals(Arrays.asList(w1, w2), roll.getWaitlistedStudents());
+		assertEquals(enrolled, roll.getEnrolledStudents());
+		assertTrue(events.isEmpty());
+
+		try {
+			roll.restore(new ArrayList<Student>(), new ArrayList<Student>());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, roll.getOpenSeats());
+		}
+	}
+
+	/**
+	 * Tests that students enrolling and dropping from many threads at once fill
+	 * the roll and the waitlist exactly. Each thread also enrolls and drops an
+	 * extra student so the roll and waitlist change under the other threads.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testConcurrentEnroll() throws InterruptedException {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", 10, "A");
+		CourseRoll roll = new CourseRoll(c, 100, 50);
+		Thread[] threads = new Thread[7];
+		for (int t = 0; t < threads.length; t++) {
+			int first = t * 20;
+			threads[t] = new Thread(() -> {
+				for (int i = first; i < first + 20; i++) {
+					roll.enroll(new Student("First", "Last", "id" + i, "student@ncsu.edu", "pw"));
+					Student extra = new Student("First", "Last", "extra" + i, "student@ncsu.edu", "pw");
+					roll.enroll(extra);
+					roll.drop(extra);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, roll.getOpenSeats());
+		assertEquals(40, roll.getNumberOnWaitlist());
+	}
+
+	/**
+	 * Tests that row listeners see enrolled students followed by waitlisted
+	 * students, and that a promoted student keeps their row.
+	 */
+	@Test
+	public void testRowListener() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", 10, "A");
+		CourseRoll roll = new CourseRoll(c, 10, 2);
+		List<String> events = new ArrayList<String>();
+		RowListener listener = new RecordingRowListener(events);
+		roll.addRowListener(listener);
+
+		Student[] students = new Student[12];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First", "Last", "id" + i, "student@ncsu.edu", "pw");
+			roll.enroll(students[i]);
+			assertEquals("inserted " + i + "-" + i, events.get(i));
+		}
+		events.clear();
+
+		// id10 moves from the front of the waitlist to the end of the roll
+		roll.drop(students[3]);
+		assertEquals(Arrays.asList("deleted 3-3", "updated 9-9"), events);
+		assertEquals(students[10], roll.getEnrolledStudents().get(9));
+		events.clear();
+
+		// id11 is first on the waitlist, after the 10 enrolled students
+		roll.drop(students[11]);
+		roll.drop(students[3]);
+		assertEquals(Arrays.asList("deleted 10-10"), events);
+
+		assertTrue(roll.removeRowListener(listener));
+		roll.drop(students[0]);
+		assertEquals(1, events.size());
+	}
+}
@@ -225,4 +225,46 @@ public class CourseNameValidatorTest {
 			fail();
 		}
 	}
+
+	/**
+	 * Test method for isValidName(). Valid names are accepted and invalid names
+	 * fail with the same message as isValid().
+	 */
+	@Test
+	public void testIsValidName() {
+		String[] valid = { "C101", "CS101", "CSC101", "CSCA101", "C101A", "CSCA101Z", "csc216" };
+		for (String name : valid) {
+			try {
+				assertTrue(CourseNameValidator.isValidName(name));
+			} catch (InvalidTransitionException e) {
+				fail(name + " is a valid course name");
+			}
+		}
+
+		String[] invalid = { "", "1", "CSC", "CSC1", "CSC11", "CSC1111", "CSCAB101", "CSC 101", "CSC101AB",
+				"CSC101A1", "CSC1A1", "101CSC", "C-101", "CSC101!", "C\u00C9CDE101", "CSC\u0661\u0662\u0663A1" };
+		for (String name : invalid) {
+			String expected = null;
+			try {
+				new CourseNameValidator().isValid(name);
+				fail(name + " is not a valid course name");
+			} catch (InvalidTransitionException e) {
+				expected = e.getMessage();
+			}
+			try {
+				CourseNameValidator.isValidName(name);
+				fail(name + " is not a valid course name");
+			} catch (InvalidTransitionException e) {
+				assertEquals(name, expected, e.getMessage());
+			}
+		}
+
+		// letters and digits past ASCII follow isValid()
+		try {
+			assertTrue(CourseNameValidator.isValidName("C\u00C9C216"));
+			assertTrue(CourseNameValidator.isValidName("CSC\u0662\u0661\u0666"));
+		} catch (InvalidTransitionException e) {
+			fail("Letters and digits past ASCII are allowed by isValid()");
+		}
+	}
 }
@@ -145,6 +145,33 @@ public class FacultyDirectoryTest {
 		assertEquals("fmeadow", facultyDirectory[1][2]);
 	}
 
+	/**
+	 * Tests getFacultyById() as faculty are loaded, removed, and added.
+	 */
+	@Test
+	public void testGetFacultyById() {
+		FacultyDirectory fd = new FacultyDirectory();
+		assertNull(fd.getFacultyById("awitt"));
+
+		fd.loadFacultyFromFile(validTestFile);
+		assertEquals("Witt", fd.getFacultyById("awitt").getLastName());
+		assertEquals("Brewer", fd.getFacultyById("bbrewer").getLastName());
+
+		assertTrue(fd.removeFaculty("bbrewer"));
+		assertNull(fd.getFacultyById("bbrewer"));
+		assertFalse(fd.removeFaculty("bbrewer"));
+
+		// a re-added member goes to the end of the directory
+		assertTrue(fd.addFaculty("Brent", "Brewer", "bbrewer", "bbrewer@ncsu.edu", PASSWORD, PASSWORD, 1));
+		assertEquals("bbrewer@ncsu.edu", fd.getFacultyById("bbrewer").getEmail());
+		String[][] facultyDirectory = fd.getFacultyDirectory();
+		assertEquals(8, facultyDirectory.length);
+		assertEquals("bbrewer", facultyDirectory[7][2]);
+
+		fd.newFacultyDirectory();
+		assertNull(fd.getFacultyById("awitt"));
+	}
+
 	/**
 	 * Test for saveFacultyDirectory()
 	 */
@@ -7,11 +7,15 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ncsu.csc216.pack_scheduler.io.RecordLoadResult;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 
 /**
@@ -180,7 +184,7 @@ public class StudentDirectoryTest {
 		sd.addStudent("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", "pw", 15);
 		assertEquals(1, sd.getStudentDirectory().length);
 		sd.saveStudentDirectory("test-files/actual_student_records.txt");
-		checkFiles("test-files/expected_student_records.txt", "test-files/actual_student_records.txt");
+		checkFiles("test-files/expected_student_directory_records.txt", "test-files/actual_student_records.txt");
 	}
 
 	/**
@@ -224,4 +228,85 @@ public class StudentDirectoryTest {
 		assertEquals(s.getLastName(), sd.getStudentById(ID).getLastName());
 		assertNull(sd.getStudentById("jumpingjack"));
 	}
+
+	/**
+	 * Tests that id lookups stay in sync with the directory across removing,
+	 * adding, and clearing students.
+	 */
+	@Test
+	public void testGetStudentByIdAfterChanges() {
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals("Frost", sd.getStudentById("efrost").getLastName());
+
+		assertTrue(sd.removeStudent("efrost"));
+		assertNull(sd.getStudentById("efrost"));
+		assertFalse(sd.removeStudent("efrost"));
+
+		// a removed id can be added again
+		assertTrue(sd.addStudent("Emerald", "Frost", "efrost", "efrost@ncsu.edu", PASSWORD, PASSWORD, MAX_CREDITS));
+		assertFalse(sd.addStudent(FIRST_NAME, LAST_NAME, "efrost", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals("efrost@ncsu.edu", sd.getStudentById("efrost").getEmail());
+		assertEquals(10, sd.getStudentDirectory().length);
+
+		List<Student> students = sd.getStudents();
+		sd.newStudentDirectory();
+		assertNull(sd.getStudentById("efrost"));
+		assertNull(sd.getStudentById(null));
+		assertFalse(sd.removeStudent(null));
+		// the list was copied, so it keeps the students
+		assertEquals(10, students.size());
+	}
+
+	/**
+	 * Tests importing students from rows with raw passwords: valid rows are added
+	 * with the same password hash addStudent() gives, and every rejected row is
+	 * reported with its reason.
+	 */
+	@Test
+	public void testImportStudents() {
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		assertTrue(sd.addStudent("Ada", "Lovelace", "alove", "alove@ncsu.edu", PASSWORD, PASSWORD, MAX_CREDITS));
+		List<String> rows = new ArrayList<String>();
+		rows.add("Grace,Hopper,ghopper,ghopper@ncsu.edu," + PASSWORD + ",15");
+		rows.add("Zahir,King,zking,zking@ncsu.edu," + PASSWORD + ",15");
+		rows.add("Grace,Hopper,ghopper,ghopper2@ncsu.edu," + PASSWORD + ",12");
+		rows.add("Alan,Turing,aturing,aturing@ncsu.edu,,15");
+		rows.add("Alan,Turing,aturing,aturing@ncsu.edu," + PASSWORD + ",fifteen");
+		rows.add("Alan,Turing,aturing,aturing@ncsu.edu," + PASSWORD + ",20");
+		rows.add("Alan,Turing,aturing,aturing@ncsu.edu," + PASSWORD + ",15,extra");
+		rows.add("Alan,Turing,aturing,aturing@ncsu.edu," + PASSWORD + ",15");
+		RecordLoadResult<Student> result = sd.importStudents(rows);
+
+		assertEquals(8, result.getLinesRead());
+		assertEquals(2, result.getRecords().size());
+		assertEquals("ghopper", result.getRecords().get(0).getId());
+		assertEquals("aturing", result.getRecords().get(1).getId());
+		assertEquals(Arrays.asList(2, 3, 4, 5, 6, 7), result.getRejectedLines());
+		assertEquals(Arrays.asList("Duplicate id zking", "Duplicate id ghopper", "Invalid password",
+				"Improper file format.", "Invalid max credits", "Improper file format."), result.getRejectReasons());
+
+		assertEquals(13, sd.getStudentDirectory().length);
+		assertEquals("ghopper@ncsu.edu", sd.getStudentById("ghopper").getEmail());
+		assertEquals(sd.getStudentById("alove").getPassword(), sd.getStudentById("aturing").getPassword());
+		String[][] directory = sd.getStudentDirectory();
+		for (int i = 1; i < directory.length; i++) {
+			assertTrue(sd.getStudentById(directory[i - 1][2]).compareTo(sd.getStudentById(directory[i][2])) < 0);
+		}
+		assertTrue(sd.isChanged());
+
+		// enough rows to parse in parallel
+		rows.clear();
+		for (int i = 0; i < 500; i++) {
+			rows.add("First,Last" + i + ",id" + i + ",id" + i + "@ncsu.edu,pw" + i + ",12");
+		}
+		result = sd.importStudents(rows);
+		assertEquals(500, result.getRecords().size());
+		assertEquals(0, result.getRejectedLines().size());
+		assertEquals(513, sd.getStudentDirectory().length);
+		assertEquals(new StudentDirectory().importStudents(rows.subList(499, 500)).getRecords().get(0)
+				.getPassword(), sd.getStudentById("id499").getPassword());
+		assertEquals(500, sd.importStudents(rows).getRejectedLines().size());
+	}
 }
@@ -8,13 +8,18 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * Tests CouresRecordIO.
@@ -81,7 +86,7 @@ public class CourseRecordIOTest {
 	@Test
 	public void testReadValidCourseRecords() {
 		try {
-			SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+			SortedArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
 			assertEquals(13, courses.size());
 
 			for (int i = 0; i < validCourses.length; i++) {
@@ -97,7 +102,7 @@ public class CourseRecordIOTest {
 	 */
 	@Test
 	public void testReadInvalidCourseRecords() {
-		SortedList<Course> courses;
+		SortedArrayList<Course> courses;
 		try {
 			courses = CourseRecordIO.readCourseRecords(invalidTestFile);
 			assertEquals(0, courses.size());
@@ -106,12 +111,108 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests parseCourseRecords().
+	 */
+	@Test
+	public void testParseCourseRecords() {
+		try {
+			ParsedCourseRecords parsed = CourseRecordIO.parseCourseRecords(validTestFile);
+			// the second CSC116-002 is a duplicate
+			assertEquals(13, parsed.size());
+			assertEquals("jdyoung2", parsed.getInstructorId(0));
+			assertEquals("spbalik", parsed.getInstructorId(1));
+			assertEquals("MW", parsed.getCourse(1).getMeetingDays());
+			assertEquals("tbdimitr", parsed.getInstructorId(2));
+			assertEquals("jtking", parsed.getInstructorId(12));
+			for (int i = 0; i < parsed.size(); i++) {
+				assertNull(parsed.getCourse(i).getInstructorId());
+			}
+
+			assertEquals(0, CourseRecordIO.parseCourseRecords(invalidTestFile).size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+		try {
+			CourseRecordIO.parseCourseRecords("test-files/no_such_file.txt");
+			fail();
+		} catch (FileNotFoundException e) {
+			// the file does not exist
+		}
+	}
+
+	/**
+	 * Tests that parseCourseRecords() reports the lines read and rejected, and
+	 * stops when the progress says to.
+	 */
+	@Test
+	public void testParseCourseRecordsProgress() {
+		List<int[]> reports = new ArrayList<int[]>();
+		try {
+			ParsedCourseRecords parsed = CourseRecordIO.parseCourseRecords(validTestFile, (l, r) -> {
+				reports.add(new int[] { l, r });
+				return true;
+			});
+			assertEquals(13, parsed.size());
+			// the file is shorter than an interval, so only its end is reported
+			assertEquals(1, reports.size());
+			assertArrayEquals(new int[] { 14, 1 }, reports.get(0));
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+		try {
+			CourseRecordIO.parseCourseRecords(validTestFile, (l, r) -> false);
+			fail();
+		} catch (CancellationException e) {
+			// the read was stopped
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests resolveInstructors().
+	 */
+	@Test
+	public void testResolveInstructors() {
+		try {
+			SortedArrayList<Course> courses = CourseRecordIO
+					.resolveInstructors(CourseRecordIO.parseCourseRecords(validTestFile), new ArrayList<Faculty>());
+			assertEquals(13, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+
+			Faculty sesmith5 = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+			Faculty jtking = new Faculty("Jason", "King", "jtking", "jtking@ncsu.edu", "pw", 3);
+			// conflicts with CSC316-001, so it can not be assigned
+			jtking.getSchedule().addCourseToSchedule(new Course("CSC326", "Software Engineering", "001", 3, null, 10,
+					"MW", 900, 1000));
+			courses = CourseRecordIO.resolveInstructors(CourseRecordIO.parseCourseRecords(validTestFile),
+					Arrays.asList(sesmith5, jtking));
+			assertEquals(12, courses.size());
+			assertEquals(5, sesmith5.getSchedule().getNumScheduledCourses());
+			assertEquals(1, jtking.getSchedule().getNumScheduledCourses());
+			for (int i = 0; i < courses.size(); i++) {
+				Course c = courses.get(i);
+				assertNotEquals("CSC316", c.getName());
+				if ("CSC216-001".equals(c.getName() + "-" + c.getSection()) || "CSC217".equals(c.getName())) {
+					assertEquals("sesmith5", c.getInstructorId());
+				} else {
+					assertNull(c.getInstructorId());
+				}
+			}
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
 	/**
 	 * Tests writeCourseRecords()
 	 */
 	@Test
 	public void testWriteCourseRecords() {
-		SortedList<Course> courses = new SortedList<Course>();
+		SortedArrayList<Course> courses = new SortedArrayList<Course>();
 		courses.add(new Course("CSC116", "Intro to Programming - Java", "003", 3, "spbalik", 10, "MW", 1250, 1440));
 		courses.add(
 				new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330, 1445));
@@ -5,7 +5,10 @@ import static org.junit.Assert.*;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 import org.junit.Test;
 
@@ -62,6 +65,35 @@ public class FacultyRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that reading a file reports the lines read and rejected, and stops
+	 * when the progress says to.
+	 */
+	@Test
+	public void testReadFacultyRecordsProgress() {
+		List<int[]> reports = new ArrayList<int[]>();
+		try {
+			LinkedList<Faculty> l = FacultyRecordIO.readFacultyRecords("test-files/invalid_faculty_records.txt",
+					(lines, rejected) -> {
+						reports.add(new int[] { lines, rejected });
+						return true;
+					});
+			assertEquals(0, l.size());
+			assertEquals(1, reports.size());
+			assertArrayEquals(new int[] { 9, 9 }, reports.get(0));
+		} catch (FileNotFoundException e) {
+			fail();
+		}
+		try {
+			FacultyRecordIO.readFacultyRecords("test-files/faculty_records.txt", (lines, rejected) -> false);
+			fail();
+		} catch (CancellationException e) {
+			// the read was stopped
+		} catch (FileNotFoundException e) {
+			fail();
+		}
+	}
+
 	/**
 	 * Tests writing to a file.
 	 */
@@ -0,0 +1,132 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests OperationLog.
+ *
+ * @author Ashten Herr
+ */
+public class OperationLogTest {
+
+	/** Log file used by each test */
+	private File file;
+
+	/**
+	 * Creates an empty log file.
+	 *
+	 * @throws IOException if the file can not be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("operations", ".log");
+	}
+
+	/**
+	 * Deletes the log file.
+	 */
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Tests appending records and reading them back after reopening the log.
+	 *
+	 * @throws FileNotFoundException if the log can not be read
+	 */
+	@Test
+	public void testAppendAndRead() throws FileNotFoundException {
+		OperationLog log = new OperationLog(file.getPath());
+		assertEquals(1, log.append(OperationLog.ENROLL, "efrost", "CSC216", "001"));
+		assertEquals(2, log.append(OperationLog.RESET, "efrost"));
+		try {
+			log.append(OperationLog.RESET, "a,b");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid log field.", e.getMessage());
+		}
+		log.sync(2);
+		assertEquals(1, log.getNumSyncs());
+		log.sync(1);
+		assertEquals(1, log.getNumSyncs());
+		log.close();
+
+		log = new OperationLog(file.getPath());
+		assertEquals(0, log.getNumAppended());
+		log.append(OperationLog.DROP, "efrost", "CSC216", "001");
+		log.close();
+
+		List<String[]> records = OperationLog.readOperations(file.getPath());
+		assertEquals(3, records.size());
+		assertArrayEquals(new String[] { "enroll", "efrost", "CSC216", "001" }, records.get(0));
+		assertArrayEquals(new String[] { "reset", "efrost" }, records.get(1));
+		assertArrayEquals(new String[] { "drop", "efrost", "CSC216", "001" }, records.get(2));
+
+		try {
+			OperationLog.readOperations("test-files/no_such_log.txt");
+			fail();
+		} catch (FileNotFoundException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a record cut off by a crash is not read and is removed when the
+	 * log is opened again.
+	 *
+	 * @throws IOException if the file can not be written
+	 */
+	@Test
+	public void testTornRecord() throws IOException {
+		Files.write(file.toPath(), "enroll,efrost,CSC216,001\ndrop,efr".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.TRUNCATE_EXISTING);
+		assertEquals(1, OperationLog.readOperations(file.getPath()).size());
+
+		OperationLog log = new OperationLog(file.getPath());
+		log.append(OperationLog.RESET, "efrost");
+		log.close();
+		assertEquals("enroll,efrost,CSC216,001\nreset,efrost\n",
+				new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Tests that records appended from many threads are all written and share
+	 * syncs.
+	 *
+	 * @throws Exception if a thread fails or the log can not be read
+	 */
+	@Test
+	public void testGroupSync() throws Exception {
+		OperationLog log = new OperationLog(file.getPath());
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			String id = "student" + t;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 200; i++) {
+					log.sync(log.append(OperationLog.RESET, id));
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(1600, log.getNumAppended());
+		assertTrue(log.getNumSyncs() <= 1600);
+		log.close();
+		assertEquals(1600, OperationLog.readOperations(file.getPath()).size());
+	}
+}
@@ -0,0 +1,121 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests RecordFileWriter.
+ *
+ * @author Ashten Herr
+ */
+public class RecordFileWriterTest {
+
+	/** Directory the test files are written in */
+	private File dir;
+
+	/**
+	 * Creates an empty directory for the test files.
+	 *
+	 * @throws IOException if the directory can not be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("records").toFile();
+	}
+
+	/**
+	 * Deletes the test files and their directory.
+	 */
+	@After
+	public void tearDown() {
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Tests that records are separated or terminated by newlines and that the old
+	 * file is replaced without leaving a temporary file behind.
+	 *
+	 * @throws IOException if a file can not be written or read
+	 */
+	@Test
+	public void testWriteRecords() throws IOException {
+		File file = new File(dir, "records.txt");
+		List<Object> records = new ArrayList<Object>(Arrays.asList("a,b", 7, "c"));
+		RecordFileWriter.writeRecords(file.getPath(), records, false);
+		assertEquals("a,b\n7\nc", new String(Files.readAllBytes(file.toPath())));
+
+		RecordFileWriter.writeRecords(file.getPath(), records, true);
+		assertEquals("a,b\n7\nc\n", new String(Files.readAllBytes(file.toPath())));
+
+		RecordFileWriter.writeRecords(file.getPath(), new ArrayList<Object>(), true);
+		assertEquals(0, file.length());
+		assertEquals(1, dir.listFiles().length);
+	}
+
+	/**
+	 * Tests that a file in a directory that does not exist can not be written.
+	 */
+	@Test
+	public void testWriteRecordsNoDirectory() {
+		String fileName = new File(new File(dir, "missing"), "records.txt").getPath();
+		try {
+			RecordFileWriter.writeRecords(fileName, Arrays.asList("a"), true);
+			fail();
+		} catch (FileNotFoundException e) {
+			assertEquals(fileName + " (No such file or directory)", e.getMessage());
+		} catch (IOException e) {
+			fail();
+		}
+	}
+
+	/**
+	 * Tests that replacing a file keeps its permissions.
+	 *
+	 * @throws IOException if a file can not be written or its permissions read
+	 */
+	@Test
+	public void testWriteRecordsKeepsPermissions() throws IOException {
+		File file = new File(dir, "records.txt");
+		RecordFileWriter.writeRecords(file.getPath(), Arrays.asList("a"), true);
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+		Files.setPosixFilePermissions(file.toPath(), permissions);
+
+		RecordFileWriter.writeRecords(file.getPath(), Arrays.asList("b"), true);
+		assertEquals("b\n", new String(Files.readAllBytes(file.toPath())));
+		assertEquals(permissions, Files.getPosixFilePermissions(file.toPath()));
+	}
+
+	/**
+	 * Tests that a character the default charset can not encode is replaced
+	 * rather than failing the write.
+	 *
+	 * @throws IOException if a file can not be written or read
+	 */
+	@Test
+	public void testWriteRecordsUnmappable() throws IOException {
+		File file = new File(dir, "records.txt");
+		RecordFileWriter.writeRecords(file.getPath(), Arrays.asList("a\uFFFD\u00e9b"), true);
+		List<String> lines = Files.readAllLines(file.toPath(), Charset.defaultCharset());
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).startsWith("a"));
+		assertTrue(lines.get(0).endsWith("b"));
+	}
+}
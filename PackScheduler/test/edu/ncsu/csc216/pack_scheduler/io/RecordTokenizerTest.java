@@ -0,0 +1,127 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * Tests RecordTokenizer.
+ *
+ * @author Ashten Herr
+ */
+public class RecordTokenizerTest {
+
+	/**
+	 * Tests splitting a full course record.
+	 */
+	@Test
+	public void testNext() {
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		assertFalse(tokenizer.hasNext());
+
+		tokenizer.reset("CSC116,Intro to Programming - Java,001,3,jdyoung2,10,MW,0910,1100");
+		assertEquals("CSC116", tokenizer.next());
+		assertEquals("Intro to Programming - Java", tokenizer.next());
+		assertEquals("001", tokenizer.next());
+		assertEquals(3, tokenizer.nextInt());
+		assertEquals("jdyoung2", tokenizer.next());
+		assertEquals(10, tokenizer.nextInt());
+		assertEquals("MW", tokenizer.next());
+		assertEquals(910, tokenizer.nextInt());
+		assertTrue(tokenizer.hasNext());
+		assertEquals(1100, tokenizer.nextInt());
+		assertFalse(tokenizer.hasNext());
+		try {
+			tokenizer.next();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertFalse(tokenizer.hasNext());
+		}
+
+		// a tokenizer can be reused for the next line
+		tokenizer.reset("CSC216,601");
+		assertEquals("CSC216", tokenizer.next());
+		assertEquals(601, tokenizer.nextInt());
+	}
+
+	/**
+	 * Tests that empty fields are split the way a Scanner with a comma delimiter
+	 * splits them.
+	 */
+	@Test
+	public void testEmptyFields() {
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		tokenizer.reset("a,,b");
+		assertEquals("a", tokenizer.next());
+		assertEquals("", tokenizer.next());
+		assertEquals("b", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+
+		// one leading delimiter is skipped
+		tokenizer.reset(",a");
+		assertEquals("a", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+
+		// a trailing delimiter does not start a field
+		tokenizer.reset("x,");
+		assertEquals("x", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+		tokenizer.reset("x,,");
+		assertEquals("x", tokenizer.next());
+		assertEquals("", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+
+		tokenizer.reset("");
+		assertFalse(tokenizer.hasNext());
+		tokenizer.reset(",");
+		assertFalse(tokenizer.hasNext());
+	}
+
+	/**
+	 * Tests reading integer fields.
+	 */
+	@Test
+	public void testNextInt() {
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		tokenizer.reset("-5,+7,2147483647,-2147483648,2147483648, 3,,x1");
+		assertEquals(-5, tokenizer.nextInt());
+		assertEquals(7, tokenizer.nextInt());
+		assertEquals(Integer.MAX_VALUE, tokenizer.nextInt());
+		assertEquals(Integer.MIN_VALUE, tokenizer.nextInt());
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (InputMismatchException e) {
+			assertEquals("2147483648", tokenizer.next());
+		}
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (InputMismatchException e) {
+			assertEquals(" 3", tokenizer.next());
+		}
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (InputMismatchException e) {
+			// the empty field is not a number
+		}
+
+		tokenizer.reset("-");
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (InputMismatchException e) {
+			assertEquals("-", tokenizer.next());
+		}
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertFalse(tokenizer.hasNext());
+		}
+	}
+}
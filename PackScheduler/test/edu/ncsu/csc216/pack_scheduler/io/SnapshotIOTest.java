@@ -0,0 +1,172 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests SnapshotIO.
+ *
+ * @author Ashten Herr
+ */
+public class SnapshotIOTest {
+
+	/** Snapshot file used by each test */
+	private File file;
+
+	/**
+	 * Creates a file for the snapshot.
+	 *
+	 * @throws IOException if the file can not be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("snapshot", ".bin");
+	}
+
+	/**
+	 * Deletes the snapshot file.
+	 */
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Tests that a snapshot restores courses, rolls, waitlists, students, faculty
+	 * and their schedules.
+	 *
+	 * @throws IOException if the snapshot can not be written or read
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException {
+		List<Course> courses = new ArrayList<Course>();
+		Course full = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH",
+				1330, 1445);
+		full.getCourseRoll().setWaitlistCap(5);
+		courses.add(full);
+		Course arranged = new Course("CSC217", "Software Development Fundamentals Lab", "601", 1, null, 10, "A");
+		courses.add(arranged);
+
+		List<Student> students = new ArrayList<Student>();
+		for (int i = 0; i < 12; i++) {
+			Student s = new Student("First", "Last", "id" + i, "id" + i + "@ncsu.edu", "pw\u00E9", 15);
+			s.getSchedule().addCourseToSchedule(full);
+			full.getCourseRoll().enroll(s);
+			students.add(s);
+		}
+		students.get(0).getSchedule().addCourseToSchedule(arranged);
+		arranged.getCourseRoll().enroll(students.get(0));
+		students.get(0).getSchedule().setTitle("Fall");
+
+		List<Faculty> faculty = new ArrayList<Faculty>();
+		Faculty f = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 2);
+		f.getSchedule().addCourseToSchedule(arranged);
+		faculty.add(f);
+
+		SnapshotIO.writeSnapshot(file.getPath(), new RegistrationSnapshot(7, courses, students, faculty));
+		RegistrationSnapshot read = SnapshotIO.readSnapshot(file.getPath());
+
+		assertEquals(7, read.getGeneration());
+		assertEquals(2, read.getCourses().size());
+		Course readFull = read.getCourses().get(0);
+		assertEquals(full, readFull);
+		assertEquals(0, readFull.getCourseRoll().getOpenSeats());
+		assertEquals(2, readFull.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(5, readFull.getCourseRoll().getWaitlistCap());
+		assertEquals("id10", readFull.getCourseRoll().getWaitlistedStudents().get(0).getId());
+		Course readArranged = read.getCourses().get(1);
+		assertEquals("sesmith5", readArranged.getInstructorId());
+		assertEquals(9, readArranged.getCourseRoll().getOpenSeats());
+
+		assertEquals(12, read.getStudents().size());
+		Student first = read.getStudents().get(0);
+		assertEquals(students.get(0), first);
+		assertEquals("pw\u00E9", first.getPassword());
+		assertEquals("Fall", first.getSchedule().getTitle());
+		assertEquals(2, first.getSchedule().getNumScheduledCourses());
+		assertSame(readFull, first.getSchedule().getScheduledCourse(0));
+		assertSame(first, readFull.getCourseRoll().getEnrolledStudents().get(0));
+		// strings are decoded once and shared
+		assertSame(first.getFirstName(), read.getStudents().get(1).getFirstName());
+
+		Faculty readFaculty = read.getFaculty().get(0);
+		assertEquals(f, readFaculty);
+		assertEquals(1, readFaculty.getSchedule().getNumScheduledCourses());
+		assertSame(readArranged, readFaculty.getSchedule().getScheduledCourse(0));
+	}
+
+	/**
+	 * Tests that a waitlist formed before the cap was raised is read back as it
+	 * was, without taking the open seats.
+	 *
+	 * @throws IOException if the snapshot can not be written or read
+	 */
+	@Test
+	public void testWriteAndReadRaisedCap() throws IOException {
+		Course c = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH",
+				1330, 1445);
+		List<Student> students = new ArrayList<Student>();
+		for (int i = 0; i < 12; i++) {
+			Student s = new Student("First", "Last", "id" + i, "id" + i + "@ncsu.edu", "pw", 15);
+			s.getSchedule().addCourseToSchedule(c);
+			c.getCourseRoll().enroll(s);
+			students.add(s);
+		}
+		c.getCourseRoll().setEnrollmentCap(12);
+
+		SnapshotIO.writeSnapshot(file.getPath(),
+				new RegistrationSnapshot(1, Arrays.asList(c), students, new ArrayList<Faculty>()));
+		Course read = SnapshotIO.readSnapshot(file.getPath()).getCourses().get(0);
+		assertEquals(12, read.getCourseRoll().getEnrollmentCap());
+		assertEquals(2, read.getCourseRoll().getOpenSeats());
+		assertEquals(2, read.getCourseRoll().getNumberOnWaitlist());
+		assertEquals("id10", read.getCourseRoll().getWaitlistedStudents().get(0).getId());
+	}
+
+	/**
+	 * Tests reading files that are not snapshots.
+	 *
+	 * @throws IOException if a file can not be written
+	 */
+	@Test
+	public void testReadInvalid() throws IOException {
+		try {
+			SnapshotIO.readSnapshot("test-files/no_such_snapshot.bin");
+			fail();
+		} catch (FileNotFoundException e) {
+			assertEquals("test-files/no_such_snapshot.bin", e.getMessage());
+		}
+		try {
+			SnapshotIO.readSnapshot("test-files/course_records.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Not a snapshot file.", e.getMessage());
+		}
+
+		SnapshotIO.writeSnapshot(file.getPath(), new RegistrationSnapshot(1, new ArrayList<Course>(),
+				new ArrayList<Student>(), new ArrayList<Faculty>()));
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 2));
+		try {
+			SnapshotIO.readSnapshot(file.getPath());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid snapshot file.", e.getMessage());
+		}
+	}
+}
@@ -2,18 +2,24 @@ package edu.ncsu.csc216.pack_scheduler.io;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
+import edu.ncsu.csc216.pack_scheduler.util.SortedArrayList;
 
 /**
  * Tests StudentRecordIO class.
@@ -125,7 +131,7 @@ public class StudentRecordIOTest {
 	public void testReadStudentRecords() {
 		// test reading a valid file first
 		try {
-			SortedList<Student> students = StudentRecordIO.readStudentRecords(validTestFile);
+			SortedArrayList<Student> students = StudentRecordIO.readStudentRecords(validTestFile);
 			assertEquals(10, students.size());
 			for (int i = 0; i < validStudents.length; i++) {
 				assertEquals(validStudents[i], students.get(i).toString());
@@ -137,7 +143,7 @@ public class StudentRecordIOTest {
 		// test reading an invalid file
 		try {
 			// check that no student is added to the array
-			SortedList<Student> invalidStudents = StudentRecordIO.readStudentRecords(invalidTestFile);
+			SortedArrayList<Student> invalidStudents = StudentRecordIO.readStudentRecords(invalidTestFile);
 			assertEquals(0, invalidStudents.size());
 		} catch (FileNotFoundException e) {
 			fail("Unexpected error reading " + invalidTestFile);
@@ -145,13 +151,13 @@ public class StudentRecordIOTest {
 		//read file with a duplicate student ID
 		try {
 			// check that duplicate student ID's will not be added twice to an array
-			SortedList<Student> duplicateStudents = StudentRecordIO.readStudentRecords(duplicateIdFile);
+			SortedArrayList<Student> duplicateStudents = StudentRecordIO.readStudentRecords(duplicateIdFile);
 			assertEquals(1, duplicateStudents.size());
 		} catch (FileNotFoundException e) {
 			fail("Unexpected error reading " + duplicateIdFile);
 		}
 		//read a file with improper file format
-		SortedList<Student> improperStudents = null;
+		SortedArrayList<Student> improperStudents = null;
 		try {
 			improperStudents = StudentRecordIO.readStudentRecords(improperFile);
 		} catch (FileNotFoundException e) {
@@ -161,13 +167,110 @@ public class StudentRecordIOTest {
 		assertEquals(improperStudents.size(), 0);
 	}
 
+	/**
+	 * Tests bulkLoadStudentRecords method reports the lines it rejects.
+	 */
+	@Test
+	public void testBulkLoadStudentRecords() {
+		try {
+			RecordLoadResult<Student> result = StudentRecordIO.bulkLoadStudentRecords(validTestFile);
+			assertEquals(10, result.getRecords().size());
+			for (int i = 0; i < validStudents.length; i++) {
+				assertEquals(validStudents[i], result.getRecords().get(i).toString());
+			}
+			assertEquals(10, result.getLinesRead());
+			assertEquals(0, result.getRejectedLines().size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+
+		// every line of the invalid file is rejected
+		try {
+			RecordLoadResult<Student> result = StudentRecordIO.bulkLoadStudentRecords(invalidTestFile);
+			assertEquals(0, result.getRecords().size());
+			assertEquals(result.getLinesRead(), result.getRejectedLines().size());
+			for (int i = 0; i < result.getLinesRead(); i++) {
+				assertEquals(i + 1, (int) result.getRejectedLines().get(i));
+			}
+			assertEquals(result.getRejectedLines().size(), result.getRejectReasons().size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + invalidTestFile);
+		}
+
+		// the first student with an id is kept and the second is rejected
+		try {
+			RecordLoadResult<Student> result = StudentRecordIO.bulkLoadStudentRecords(duplicateIdFile);
+			assertEquals(1, result.getRecords().size());
+			assertEquals(2, result.getLinesRead());
+			assertEquals(1, result.getRejectedLines().size());
+			assertEquals(2, (int) result.getRejectedLines().get(0));
+			assertEquals("Duplicate id zking", result.getRejectReasons().get(0));
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + duplicateIdFile);
+		}
+
+		try {
+			StudentRecordIO.bulkLoadStudentRecords("test-files/no_such_file.txt");
+			fail();
+		} catch (FileNotFoundException e) {
+			// the file does not exist
+		}
+	}
+
+	/**
+	 * Tests that bulkLoadStudentRecords reports its progress every interval and
+	 * at the end of the file, and stops when the progress says to.
+	 * 
+	 * @throws IOException if the temporary file can not be written
+	 */
+	@Test
+	public void testBulkLoadStudentRecordsProgress() throws IOException {
+		File file = File.createTempFile("students", ".txt");
+		try {
+			String hash = PasswordHasher.hash("pw");
+			StringBuilder text = new StringBuilder();
+			int lines = 2 * LoadProgress.INTERVAL + LoadProgress.INTERVAL / 2;
+			for (int i = 1; i <= lines; i++) {
+				// every fifth line is not a student
+				text.append(i % 5 == 0 ? "not a student" : "First,Last,id" + i + ",id" + i + "@ncsu.edu," + hash + ",15");
+				text.append('\n');
+			}
+			Files.write(file.toPath(), text.toString().getBytes());
+
+			List<int[]> reports = new ArrayList<int[]>();
+			RecordLoadResult<Student> result = StudentRecordIO.bulkLoadStudentRecords(file.getPath(), (l, r) -> {
+				reports.add(new int[] { l, r });
+				return true;
+			});
+			assertEquals(lines - lines / 5, result.getRecords().size());
+			assertEquals(3, reports.size());
+			assertArrayEquals(new int[] { LoadProgress.INTERVAL, LoadProgress.INTERVAL / 5 }, reports.get(0));
+			assertArrayEquals(new int[] { 2 * LoadProgress.INTERVAL, 2 * LoadProgress.INTERVAL / 5 }, reports.get(1));
+			assertArrayEquals(new int[] { lines, lines / 5 }, reports.get(2));
+
+			// stopping at the first report ends the read
+			reports.clear();
+			try {
+				StudentRecordIO.bulkLoadStudentRecords(file.getPath(), (l, r) -> {
+					reports.add(new int[] { l, r });
+					return false;
+				});
+				fail();
+			} catch (CancellationException e) {
+				assertEquals(1, reports.size());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
 	/**
 	 * Tests writeStudentRecords method.
 	 * writes two students to a text file and checks the file is matching the expected results
 	 */
 	@Test
 	public void testWriteStudentRecords() {
-		SortedList<Student> students = new SortedList<Student>();
+		SortedArrayList<Student> students = new SortedArrayList<Student>();
 		students.add(new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", hashPW, 15));
 		try {
 			StudentRecordIO.writeStudentRecords("test-files/actual_student_records.txt", students);
@@ -183,7 +286,7 @@ public class StudentRecordIOTest {
 	 */
 	@Test
 	public void testWriteStudentRecordsNoPermissions() {
-		SortedList<Student> students = new SortedList<Student>();
+		SortedArrayList<Student> students = new SortedArrayList<Student>();
 		students.add(new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", hashPW, 15));
 		// Assumption that you are using a hash of "pw" stored in hashPW
 
@@ -0,0 +1,99 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
+
+/**
+ * Tests UserRecordMigrator.
+ *
+ * @author Ashten Herr
+ */
+public class UserRecordMigratorTest {
+
+	/** Record file used by each test */
+	private File file;
+
+	/**
+	 * Creates an empty record file.
+	 *
+	 * @throws IOException if the file can not be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("users", ".txt");
+	}
+
+	/**
+	 * Deletes the record file.
+	 */
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Tests that old hashes are wrapped, even when they hold commas and line
+	 * breaks, that current hashes and lines that are not users are kept, and that
+	 * the migrated file reads back with working passwords.
+	 *
+	 * @throws IOException              if the file can not be read or written
+	 * @throws NoSuchAlgorithmException if SHA-256 is not available
+	 */
+	@Test
+	public void testMigrateUserRecords() throws IOException, NoSuchAlgorithmException {
+		// older versions hashed in the platform charset, as PasswordHasher still checks
+		String legacy = new String(MessageDigest.getInstance("SHA-256").digest("pw".getBytes()));
+		String split = "a,b\nc\r\nd,e";
+		String current = PasswordHasher.hash("pw");
+		String text = "Zahir,King,zking,zking@ncsu.edu," + legacy + ",15\n"
+				+ "Lane,Berg,lberg,lberg@ncsu.edu," + split + ",14\r\n"
+				+ "not a user\n"
+				+ "Ada,Love,alove,alove@ncsu.edu," + current + ",12";
+		// UTF-8 holds every character of the legacy hash whatever the platform charset
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(2, UserRecordMigrator.migrateUserRecords(file.getPath(), StandardCharsets.UTF_8));
+		List<String> lines = Files.readAllLines(file.toPath());
+		assertEquals(4, lines.size());
+		assertEquals("Zahir,King,zking,zking@ncsu.edu," + PasswordHasher.migrate(legacy) + ",15", lines.get(0));
+		assertEquals("Lane,Berg,lberg,lberg@ncsu.edu," + PasswordHasher.migrate(split) + ",14", lines.get(1));
+		assertEquals("not a user", lines.get(2));
+		assertEquals("Ada,Love,alove,alove@ncsu.edu," + current + ",12", lines.get(3));
+
+		RecordLoadResult<Student> students = StudentRecordIO.bulkLoadStudentRecords(file.getPath());
+		assertEquals(3, students.getRecords().size());
+		assertEquals(1, students.getRejectedLines().size());
+		for (Student s : students.getRecords()) {
+			if (!"lberg".equals(s.getId())) {
+				assertTrue(PasswordHasher.matches("pw", s.getPassword()));
+			}
+		}
+
+		// nothing left to convert, so the file is not written again
+		long modified = file.lastModified();
+		assertEquals(0, UserRecordMigrator.migrateUserRecords(file.getPath()));
+		assertEquals(modified, file.lastModified());
+
+		try {
+			UserRecordMigrator.migrateUserRecords("test-files/no_such_file.txt");
+			fail();
+		} catch (FileNotFoundException e) {
+			// the file does not exist
+		}
+	}
+}
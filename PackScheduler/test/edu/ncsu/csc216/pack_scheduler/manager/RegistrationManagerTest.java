@@ -5,21 +5,34 @@ package edu.ncsu.csc216.pack_scheduler.manager;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.OperationLog;
+import edu.ncsu.csc216.pack_scheduler.io.RegistrationSnapshot;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.metrics.Metrics;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.PasswordHasher;
 
 /**
  * Tests the methods in RegistrationManager
@@ -311,6 +324,38 @@ public class RegistrationManagerTest {
 		manager.logout();
 	}
 
+	/**
+	 * Tests that logins, enrollments and drops are counted in Metrics.
+	 */
+	@Test
+	public void testMetrics() {
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		manager.logout();
+
+		long logins = Metrics.LOGIN.getCount();
+		long loginFailures = Metrics.LOGIN.getFailures();
+		long enrolls = Metrics.ENROLL.getCount();
+		long enrollFailures = Metrics.ENROLL.getFailures();
+		long drops = Metrics.DROP.getCount();
+
+		assertFalse(manager.login("efrost", "wrong"));
+		assertTrue(manager.login("efrost", "pw"));
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		assertTrue(manager.enrollStudentInCourse(c));
+		assertFalse(manager.enrollStudentInCourse(c));
+		assertTrue(manager.dropStudentFromCourse(c));
+		manager.logout();
+
+		assertEquals(logins + 2, Metrics.LOGIN.getCount());
+		assertEquals(loginFailures + 1, Metrics.LOGIN.getFailures());
+		assertEquals(enrolls + 2, Metrics.ENROLL.getCount());
+		assertEquals(enrollFailures + 1, Metrics.ENROLL.getFailures());
+		assertEquals(drops + 1, Metrics.DROP.getCount());
+	}
+
 	/**
 	 * Tests RegistrationManager.dropStudentFromCourse()
 	 */
@@ -491,6 +536,44 @@ public class RegistrationManagerTest {
 		manager.logout();
 	}
 
+	/**
+	 * Tests that a student promoted off a waitlist when an enrolled student drops
+	 * keeps the course on their schedule, and that the drop succeeds.
+	 */
+	@Test
+	public void testDropPromotesWaitlist() {
+		manager.logout();
+		String hash = PasswordHasher.hash("pw");
+		List<Student> students = new ArrayList<Student>();
+		for (int i = 0; i <= 10; i++) {
+			students.add(new Student("First", "Last", "wait" + i, "wait" + i + "@ncsu.edu", hash, 18));
+		}
+		manager.getStudentDirectory().loadStudents(students);
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		c.getCourseRoll().setEnrollmentCap(10);
+
+		for (int i = 0; i <= 10; i++) {
+			assertTrue(manager.login("wait" + i, "pw"));
+			assertTrue(manager.enrollStudentInCourse(c));
+			manager.logout();
+		}
+		Student waiting = manager.getStudentDirectory().getStudentById("wait10");
+		assertEquals(1, c.getCourseRoll().getNumberOnWaitlist());
+		// a waitlisted student has the course on their schedule
+		assertEquals(1, waiting.getSchedule().getNumScheduledCourses());
+
+		assertTrue(manager.login("wait0", "pw"));
+		assertTrue(manager.dropStudentFromCourse(c));
+		manager.logout();
+		assertEquals(0, manager.getStudentDirectory().getStudentById("wait0").getSchedule().getNumScheduledCourses());
+		assertEquals(0, c.getCourseRoll().getNumberOnWaitlist());
+		assertTrue(c.getCourseRoll().isEnrolled(waiting));
+		assertEquals(1, waiting.getSchedule().getNumScheduledCourses());
+		assertSame(c, waiting.getSchedule().getScheduledCourse(0));
+	}
+
 	/**
 	 * Tests RegistrationManager.resetSchedule()
 	 */
@@ -622,4 +705,493 @@ public class RegistrationManagerTest {
 		
 		assertEquals(0, manager.getFacultyDirectory().getFacultyById("agherr").getSchedule().getNumScheduledCourses());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests RegistrationManager.getCoursesThatFit()
+	 */
+	@Test
+	public void testGetCoursesThatFit() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+
+		try {
+			manager.getCoursesThatFit();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Illegal Action", e.getMessage());
+		}
+
+		// efrost can take 3 credits
+		manager.login("efrost", "pw");
+		assertEquals(13, manager.getCoursesThatFit().size());
+		assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+		assertEquals(0, manager.getCoursesThatFit().size());
+		manager.logout();
+
+		manager.login(registrarUsername, registrarPassword);
+		try {
+			manager.getCoursesThatFit();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Illegal Action", e.getMessage());
+		}
+		manager.logout();
+	}
+
+	/**
+	 * Tests that enrolling, dropping and resetting from many threads at once
+	 * leaves every roll agreeing with the student's schedule.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testConcurrentRegistration() throws InterruptedException {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course[] courses = { catalog.getCourseFromCatalog("CSC216", "601"),
+				catalog.getCourseFromCatalog("CSC217", "601"), catalog.getCourseFromCatalog("CSC226", "001"),
+				catalog.getCourseFromCatalog("CSC230", "001") };
+
+		// daustin can take all four courses
+		assertTrue(manager.login("daustin", "pw"));
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			int offset = t;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 2000; i++) {
+					Course c = courses[(i + offset) % courses.length];
+					if (i % 100 == 99) {
+						manager.resetSchedule();
+					} else if ((i + offset) % 2 == 0) {
+						manager.enrollStudentInCourse(c);
+					} else {
+						manager.dropStudentFromCourse(c);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Schedule schedule = ((Student) manager.getCurrentUser()).getSchedule();
+		String[][] scheduled = schedule.getScheduledCourses();
+		for (Course c : courses) {
+			boolean inSchedule = false;
+			for (int i = 0; i < scheduled.length; i++) {
+				inSchedule |= c.getName().equals(scheduled[i][0]) && c.getSection().equals(scheduled[i][1]);
+			}
+			assertEquals(inSchedule ? 9 : 10, c.getCourseRoll().getOpenSeats());
+		}
+		manager.logout();
+	}
+
+	/**
+	 * Tests that several users can be logged in at once, each acting through
+	 * their own session.
+	 */
+	@Test
+	public void testSessions() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+
+		Session efrost = manager.openSession("efrost", "pw");
+		Session ahicks = manager.openSession("ahicks", "pw");
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertNull(manager.openSession("ahicks", "wrong"));
+		try {
+			manager.openSession("fakeid", "pw");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("User doesn't exist.", e.getMessage());
+		}
+		assertEquals(3, manager.getNumSessions());
+		assertSame(efrost, manager.getSession(efrost.getToken()));
+		assertNull(manager.getCurrentUser());
+
+		// the legacy login is independent of the sessions
+		assertTrue(manager.login("zking", "pw"));
+		assertEquals("zking", manager.getCurrentUser().getId());
+		assertEquals(4, manager.getNumSessions());
+		manager.logout();
+		assertEquals(3, manager.getNumSessions());
+
+		assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+		assertTrue(manager.enrollStudentInCourse(ahicks, csc216));
+		assertEquals(8, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(0, manager.getCoursesThatFit(efrost).size());
+		assertTrue(manager.dropStudentFromCourse(ahicks, csc216));
+		assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+		manager.resetSchedule(efrost);
+		assertEquals(10, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(0, ((Student) efrost.getUser()).getSchedule().getScheduledCourses().length);
+
+		try {
+			manager.enrollStudentInCourse(registrar, csc216);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Illegal Action", e.getMessage());
+		}
+		Faculty faculty = manager.getFacultyDirectory().getFacultyById("awitt");
+		try {
+			manager.addFacultyToCourse(efrost, csc216, faculty);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(0, faculty.getSchedule().getNumScheduledCourses());
+		}
+		assertTrue(manager.addFacultyToCourse(registrar, csc216, faculty));
+		assertTrue(manager.removeFacultyFromCourse(registrar, csc216, faculty));
+		manager.addFacultyToCourse(registrar, csc216, faculty);
+		manager.resetFacultySchedule(registrar, faculty);
+		assertEquals(0, faculty.getSchedule().getNumScheduledCourses());
+
+		manager.closeSession(efrost);
+		assertEquals(2, manager.getNumSessions());
+		try {
+			manager.enrollStudentInCourse(efrost, csc216);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid session.", e.getMessage());
+		}
+		manager.closeSession(ahicks);
+		assertEquals(1, manager.getNumSessions());
+
+		// replacing the data logs everyone out
+		assertTrue(manager.login("zking", "pw"));
+		manager.clearData();
+		assertEquals(0, manager.getNumSessions());
+		assertNull(manager.getCurrentUser());
+		assertNull(manager.getSession(registrar.getToken()));
+		assertTrue(manager.login(registrarUsername, registrarPassword));
+		manager.logout();
+	}
+
+	/**
+	 * Tests that the rolls and schedules are rebuilt from the operation log after
+	 * the data is cleared and loaded again.
+	 * 
+	 * @throws IOException if the log file can not be created
+	 */
+	@Test
+	public void testOperationLog() throws IOException {
+		File log = File.createTempFile("operations", ".log");
+		try {
+			manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			assertEquals(0, manager.openOperationLog(log.getPath()));
+			try {
+				manager.openOperationLog(log.getPath());
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Log already open.", e.getMessage());
+			}
+
+			CourseCatalog catalog = manager.getCourseCatalog();
+			manager.login("ahicks", "pw");
+			assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+			assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC226", "001")));
+			assertTrue(manager.dropStudentFromCourse(catalog.getCourseFromCatalog("CSC226", "001")));
+			manager.logout();
+			manager.login("zking", "pw");
+			assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+			// a drop that changes nothing is not logged
+			assertFalse(manager.dropStudentFromCourse(catalog.getCourseFromCatalog("CSC226", "001")));
+			manager.logout();
+			manager.closeOperationLog();
+
+			manager.clearData();
+			manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			assertEquals(4, manager.openOperationLog(log.getPath()));
+			manager.closeOperationLog();
+
+			catalog = manager.getCourseCatalog();
+			assertEquals(8, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+			assertEquals(10, catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().getOpenSeats());
+			String[][] schedule = manager.getStudentDirectory().getStudentById("ahicks").getSchedule()
+					.getScheduledCourses();
+			assertEquals(1, schedule.length);
+			assertEquals("CSC216", schedule[0][0]);
+		} finally {
+			manager.closeOperationLog();
+			log.delete();
+		}
+	}
+
+	/**
+	 * Tests that a log that can not be written fails an enrollment, drop or reset
+	 * after the change is made, and releases every lock the call took. Each
+	 * check of the locks runs on another thread, since the test thread could
+	 * take a lock it still held again.
+	 * 
+	 * @throws IOException          if the log file can not be created
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testOperationLogWriteFails() throws IOException, InterruptedException {
+		File file = File.createTempFile("operations", ".log");
+		Session ahicks = null;
+		Session zking = null;
+		try {
+			manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			manager.openOperationLog(new OperationLog(file.getPath()) {
+				@Override
+				public long append(String... fields) {
+					throw new IllegalArgumentException("Disk full.");
+				}
+			}, file.getPath());
+			Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+			ahicks = manager.openSession("ahicks", "pw");
+			zking = manager.openSession("zking", "pw");
+			checkLogWriteFails(c, ahicks, zking);
+		} finally {
+			manager.closeSession(ahicks);
+			manager.closeSession(zking);
+			manager.closeOperationLog();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Enrolls, drops and resets through a log that can not be written, checking
+	 * after each that the locks were released.
+	 * 
+	 * @param c      - course to enroll in
+	 * @param ahicks - session of the student whose calls fail
+	 * @param zking  - session of the student whose calls check the locks
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	private void checkLogWriteFails(Course c, Session ahicks, Session zking) throws InterruptedException {
+		try {
+			manager.enrollStudentInCourse(ahicks, c);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Disk full.", e.getMessage());
+			assertEquals(9, c.getCourseRoll().getOpenSeats());
+		}
+		runOnOtherThread(() -> manager.enrollStudentInCourse(zking, c));
+
+		try {
+			manager.dropStudentFromCourse(ahicks, c);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Disk full.", e.getMessage());
+			assertEquals(9, c.getCourseRoll().getOpenSeats());
+		}
+		runOnOtherThread(() -> manager.dropStudentFromCourse(zking, c));
+
+		try {
+			manager.enrollStudentInCourse(ahicks, c);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// enrolled, but not logged
+		}
+		try {
+			manager.resetSchedule(ahicks);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(10, c.getCourseRoll().getOpenSeats());
+		}
+		runOnOtherThread(() -> manager.enrollStudentInCourse(zking, c));
+	}
+
+	/**
+	 * Runs an operation on a new thread and fails if it does not finish, as when
+	 * it waits for a lock that was never released. An IllegalArgumentException
+	 * from the operation is ignored.
+	 * 
+	 * @param operation - operation to run
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	private static void runOnOtherThread(Runnable operation) throws InterruptedException {
+		Thread thread = new Thread(() -> {
+			try {
+				operation.run();
+			} catch (IllegalArgumentException e) {
+				// the log can not be written
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		thread.join(10000);
+		assertFalse(thread.isAlive());
+	}
+
+	/**
+	 * Tests saving and loading a snapshot, with the operation log replaying only
+	 * the changes made after the snapshot.
+	 * 
+	 * @throws IOException if the files can not be created
+	 */
+	@Test
+	public void testSnapshot() throws IOException {
+		File snapshot = File.createTempFile("snapshot", ".bin");
+		File log = File.createTempFile("operations", ".log");
+		try {
+			manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+			manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			manager.openOperationLog(log.getPath());
+			CourseCatalog catalog = manager.getCourseCatalog();
+			manager.login("ahicks", "pw");
+			assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+			manager.logout();
+			manager.saveSnapshot(snapshot.getPath());
+			manager.login("zking", "pw");
+			assertTrue(manager.enrollStudentInCourse(catalog.getCourseFromCatalog("CSC216", "001")));
+			manager.logout();
+			manager.closeOperationLog();
+
+			// the log follows the snapshot, so it can not be replayed on the record files
+			manager.clearData();
+			manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			try {
+				manager.openOperationLog(log.getPath());
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Log is newer than the loaded data.", e.getMessage());
+			}
+
+			manager.clearData();
+			Session registrar = manager.openSession(registrarUsername, registrarPassword);
+			manager.loadSnapshot(snapshot.getPath());
+			assertNull(manager.getSession(registrar.getToken()));
+			catalog = manager.getCourseCatalog();
+			assertEquals(13, catalog.getCourseCatalog().length);
+			assertEquals(10, manager.getStudentDirectory().getStudentDirectory().length);
+			assertEquals(8, manager.getFacultyDirectory().getFacultyDirectory().length);
+			assertEquals(9, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+			assertEquals(1, manager.openOperationLog(log.getPath()));
+			assertEquals(8, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+			assertEquals(1, manager.getStudentDirectory().getStudentById("zking").getSchedule()
+					.getNumScheduledCourses());
+			assertTrue(manager.login("ahicks", "pw"));
+			manager.logout();
+			try {
+				manager.loadSnapshot(snapshot.getPath());
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Log already open.", e.getMessage());
+			}
+		} finally {
+			manager.closeOperationLog();
+			snapshot.delete();
+			log.delete();
+		}
+	}
+
+	/**
+	 * Tests saving snapshots while courses and faculty are added to the catalog
+	 * and directory. Each snapshot holds a whole catalog and directory from some
+	 * point during the changes.
+	 * 
+	 * @throws IOException          if the file can not be created
+	 * @throws InterruptedException if interrupted while waiting for the changes
+	 */
+	@Test
+	public void testSnapshotWhileDataChanges() throws IOException, InterruptedException {
+		File snapshot = File.createTempFile("snapshot", ".bin");
+		try {
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+			Thread registrar = new Thread(() -> {
+				for (int i = 100; i < 400; i++) {
+					manager.getCourseCatalog().addCourseToCatalog("ZZZ" + i, "Title", "001", 3, null, 10, "A", 0, 0);
+					manager.getFacultyDirectory().addFaculty("First", "Last", "zz" + i, "zz" + i + "@ncsu.edu", "pw",
+							"pw", 2);
+				}
+			});
+			registrar.start();
+			int lastCourses = 13;
+			while (registrar.isAlive()) {
+				manager.saveSnapshot(snapshot.getPath());
+				RegistrationSnapshot read = SnapshotIO.readSnapshot(snapshot.getPath());
+				int courses = read.getCourses().size();
+				assertTrue(courses >= lastCourses && courses <= 313);
+				assertTrue(read.getFaculty().size() >= 8 && read.getFaculty().size() <= 308);
+				lastCourses = courses;
+			}
+			registrar.join();
+			manager.saveSnapshot(snapshot.getPath());
+			RegistrationSnapshot read = SnapshotIO.readSnapshot(snapshot.getPath());
+			assertEquals(313, read.getCourses().size());
+			assertEquals(308, read.getFaculty().size());
+		} finally {
+			snapshot.delete();
+		}
+	}
+
+	/**
+	 * Tests that autosave writes the catalog and directories when they change,
+	 * including instructors assigned through the manager, and saves any last
+	 * changes when it is stopped.
+	 * 
+	 * @throws IOException if a test file can not be created
+	 */
+	@Test
+	public void testAutoSave() throws IOException {
+		File courses = File.createTempFile("courses", ".txt");
+		File students = File.createTempFile("students", ".txt");
+		File faculty = File.createTempFile("faculty", ".txt");
+		try {
+			manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+			manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+			manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+			manager.startAutoSave(courses.getPath(), students.getPath(), faculty.getPath(), 60000);
+			try {
+				manager.startAutoSave(null, null, null, 60000);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Autosave already running.", e.getMessage());
+			}
+			manager.getAutoSaver().saveNow();
+			assertEquals(13, countLines(courses));
+			assertEquals(10, countLines(students));
+			assertEquals(8, countLines(faculty));
+			FileTime written = Files.getLastModifiedTime(faculty.toPath());
+
+			// nothing changed, so nothing is written
+			manager.getAutoSaver().saveNow();
+			assertEquals(written, Files.getLastModifiedTime(faculty.toPath()));
+
+			manager.getStudentDirectory().removeStudent("zking");
+			CourseCatalog catalog = manager.getCourseCatalog();
+			catalog.addCourseToCatalog("CSC499", "Independent Study", "001", 3, null, 10, "A", 0, 0);
+			manager.getAutoSaver().saveNow();
+			assertEquals(14, countLines(courses));
+			manager.login(registrarUsername, registrarPassword);
+			assertTrue(manager.addFacultyToCourse(catalog.getCourseFromCatalog("CSC499", "001"),
+					manager.getFacultyDirectory().getFacultyById("awitt")));
+			manager.logout();
+			manager.stopAutoSave();
+			assertNull(manager.getAutoSaver());
+			assertEquals(9, countLines(students));
+			assertEquals(written, Files.getLastModifiedTime(faculty.toPath()));
+			assertTrue(Files.readAllLines(courses.toPath()).contains("CSC499,Independent Study,001,3,awitt,10,A"));
+		} finally {
+			manager.stopAutoSave();
+			courses.delete();
+			students.delete();
+			faculty.delete();
+		}
+	}
+
+	/**
+	 * Returns the number of lines in a file.
+	 * 
+	 * @param file - file to count
+	 * @return number of lines
+	 * @throws IOException if the file can not be read
+	 */
+	private static int countLines(File file) throws IOException {
+		return Files.readAllLines(file.toPath()).size();
+	}
+}
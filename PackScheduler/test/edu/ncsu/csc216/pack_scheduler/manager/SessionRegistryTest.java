@@ -0,0 +1,120 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests SessionRegistry.
+ *
+ * @author Ashten Herr
+ */
+public class SessionRegistryTest {
+
+	/**
+	 * Tests opening, looking up and closing sessions.
+	 */
+	@Test
+	public void testOpenAndClose() {
+		SessionRegistry registry = new SessionRegistry();
+		Student student = new Student("First", "Last", "id", "student@ncsu.edu", "pw");
+		try {
+			registry.open(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid user.", e.getMessage());
+		}
+
+		Session first = registry.open(student);
+		Session second = registry.open(student);
+		assertEquals(2, registry.size());
+		assertSame(student, first.getUser());
+		assertNotEquals(first.getToken(), second.getToken());
+		assertSame(first, registry.getSession(first.getToken()));
+		assertTrue(registry.isOpen(second));
+		assertNull(registry.getSession("token"));
+		assertNull(registry.getSession(null));
+		assertFalse(registry.isOpen(null));
+
+		assertTrue(registry.close(first));
+		assertFalse(registry.close(first));
+		assertFalse(registry.close(null));
+		assertFalse(registry.isOpen(first));
+		assertNull(registry.getSession(first.getToken()));
+		assertTrue(registry.isOpen(second));
+
+		registry.closeAll();
+		assertEquals(0, registry.size());
+		assertFalse(registry.isOpen(second));
+	}
+
+	/**
+	 * Tests that a session left unused for longer than the idle timeout is
+	 * closed, and that each use starts the timeout again.
+	 */
+	@Test
+	public void testIdleTimeout() {
+		try {
+			new SessionRegistry(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid idle timeout.", e.getMessage());
+		}
+		long minute = TimeUnit.MINUTES.toNanos(1);
+		long[] now = {0};
+		SessionRegistry registry = new SessionRegistry(TimeUnit.MINUTES.toMillis(10), () -> now[0]);
+		Student student = new Student("First", "Last", "id", "student@ncsu.edu", "pw");
+		Session used = registry.open(student);
+		Session idle = registry.open(student);
+		Session forgotten = registry.open(student);
+
+		now[0] = 6 * minute;
+		assertTrue(registry.isOpen(used));
+		now[0] = 10 * minute;
+		assertSame(idle, registry.getSession(idle.getToken()));
+		now[0] = 16 * minute;
+		assertSame(used, registry.getSession(used.getToken()));
+		assertEquals(3, registry.size());
+
+		// looked up after the timeout
+		now[0] = 21 * minute;
+		assertNull(registry.getSession(idle.getToken()));
+		assertFalse(registry.isOpen(idle));
+		assertEquals(2, registry.size());
+
+		// never looked up again, swept out when another session opens
+		Session next = registry.open(student);
+		assertEquals(2, registry.size());
+		assertFalse(registry.isOpen(forgotten));
+		assertTrue(registry.isOpen(used));
+		assertTrue(registry.isOpen(next));
+	}
+
+	/**
+	 * Tests that sessions opened from many threads each get their own token.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testOpenThreads() throws InterruptedException {
+		SessionRegistry registry = new SessionRegistry();
+		Student student = new Student("First", "Last", "id", "student@ncsu.edu", "pw");
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++) {
+					registry.open(student);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(8000, registry.size());
+	}
+}
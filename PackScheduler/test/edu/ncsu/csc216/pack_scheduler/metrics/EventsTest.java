@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests that the flight recorder events are sent with their fields.
+ *
+ * @author Ashten Herr
+ */
+public class EventsTest {
+
+	/**
+	 * Records logins, an enrollment, a drop that promotes a waitlisted student
+	 * and a load and save of a course file, and checks the events read back from
+	 * the recording.
+	 *
+	 * @throws IOException if the recording or course file can not be written
+	 */
+	@Test
+	public void testEvents() throws IOException {
+		RegistrationManager manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		File saved = File.createTempFile("courses", ".txt");
+		Path dump = File.createTempFile("events", ".jfr").toPath();
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			for (String name : new String[] { "EnrollAttempt", "Drop", "WaitlistPromotion", "Login",
+					"RecordFileLoad", "RecordFileSave" }) {
+				recording.enable(Events.PREFIX + name).withoutThreshold();
+			}
+			recording.start();
+
+			catalog.loadCoursesFromFile("test-files/course_records.txt");
+			assertFalse(manager.login("efrost", "wrong"));
+			assertTrue(manager.login("efrost", "pw"));
+			Course c = catalog.getCourseFromCatalog("CSC216", "001");
+			assertTrue(manager.enrollStudentInCourse(c));
+			assertTrue(manager.dropStudentFromCourse(c));
+			manager.logout();
+			catalog.saveCourseCatalog(saved.getPath());
+
+			Course full = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "A");
+			CourseRoll roll = full.getCourseRoll();
+			List<Student> students = new ArrayList<Student>();
+			for (int i = 0; i <= 10; i++) {
+				Student s = new Student("First", "Last", "id" + i, "id" + i + "@ncsu.edu", "hash");
+				students.add(s);
+				roll.enroll(s);
+			}
+			roll.drop(students.get(0));
+
+			recording.stop();
+			recording.dump(dump);
+			events = RecordingFile.readAllEvents(dump);
+		} finally {
+			saved.delete();
+			dump.toFile().delete();
+		}
+
+		List<RecordedEvent> logins = eventsNamed(events, "Login");
+		assertEquals(2, logins.size());
+		assertEquals("efrost", logins.get(0).getString("userId"));
+		assertFalse(logins.get(0).getBoolean("succeeded"));
+		assertTrue(logins.get(1).getBoolean("succeeded"));
+
+		List<RecordedEvent> enrolls = eventsNamed(events, "EnrollAttempt");
+		assertEquals(1, enrolls.size());
+		assertEquals("efrost", enrolls.get(0).getString("studentId"));
+		assertEquals("CSC216-001", enrolls.get(0).getString("courseKey"));
+		assertEquals(EnrollAttemptEvent.ENROLLED, enrolls.get(0).getString("outcome"));
+		assertFalse(enrolls.get(0).getBoolean("waitlisted"));
+
+		List<RecordedEvent> drops = eventsNamed(events, "Drop");
+		assertEquals(1, drops.size());
+		assertTrue(drops.get(0).getBoolean("dropped"));
+
+		List<RecordedEvent> promotions = eventsNamed(events, "WaitlistPromotion");
+		assertEquals(1, promotions.size());
+		assertEquals("id10", promotions.get(0).getString("studentId"));
+		assertEquals("CSC116-001", promotions.get(0).getString("courseKey"));
+		assertEquals(0, promotions.get(0).getInt("stillWaiting"));
+
+		List<RecordedEvent> loads = eventsNamed(events, "RecordFileLoad");
+		assertEquals(1, loads.size());
+		assertEquals(Events.COURSES, loads.get(0).getString("recordType"));
+		assertEquals(13, loads.get(0).getInt("records"));
+
+		List<RecordedEvent> saves = eventsNamed(events, "RecordFileSave");
+		assertEquals(1, saves.size());
+		assertEquals(saved.getPath(), saves.get(0).getString("fileName"));
+		assertEquals(catalog.getCourses().size(), saves.get(0).getInt("records"));
+	}
+
+	/**
+	 * Returns the events of one type, in the order they were sent.
+	 *
+	 * @param events - every event read from a recording
+	 * @param name   - name of the event type, without the prefix
+	 * @return the events of that type
+	 */
+	private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+		List<RecordedEvent> named = new ArrayList<RecordedEvent>();
+		for (RecordedEvent e : events) {
+			if (e.getEventType().getName().equals(Events.PREFIX + name)) {
+				named.add(e);
+			}
+		}
+		named.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+		return named;
+	}
+}
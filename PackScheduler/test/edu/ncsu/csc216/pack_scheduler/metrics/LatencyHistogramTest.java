@@ -0,0 +1,101 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests LatencyHistogram.
+ *
+ * @author Ashten Herr
+ */
+public class LatencyHistogramTest {
+
+	/**
+	 * Tests that every value falls in a bucket whose bounds hold it and that the
+	 * buckets are in order with no gaps.
+	 */
+	@Test
+	public void testBuckets() {
+		for (int i = 0; i < 8; i++) {
+			assertEquals(i, LatencyHistogram.bucketOf(i));
+		}
+		long[] values = { 8, 9, 15, 16, 17, 100, 1000, 123456789L, Long.MAX_VALUE };
+		for (long v : values) {
+			int bucket = LatencyHistogram.bucketOf(v);
+			assertTrue(v <= LatencyHistogram.upperBound(bucket));
+			assertTrue(v > LatencyHistogram.upperBound(bucket - 1));
+			// a bucket is never wider than an eighth of its values
+			assertTrue(LatencyHistogram.upperBound(bucket) - LatencyHistogram.upperBound(bucket - 1) <= v / 8 + 1);
+		}
+		assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1));
+		for (int b = 1; b < LatencyHistogram.BUCKETS; b++) {
+			assertEquals(b, LatencyHistogram.bucketOf(LatencyHistogram.upperBound(b - 1) + 1));
+		}
+	}
+
+	/**
+	 * Tests the count, sum, max, mean and percentiles.
+	 */
+	@Test
+	public void testStatistics() {
+		LatencyHistogram h = new LatencyHistogram();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getPercentile(99));
+		assertEquals(0, h.getMean(), 0);
+
+		for (int i = 1; i <= 1000; i++) {
+			h.record(i * 1000L);
+		}
+		h.record(-5);
+		assertEquals(1001, h.getCount());
+		assertEquals(500500000L, h.getSum());
+		assertEquals(1000000, h.getMax());
+		assertEquals(500000, h.getMean(), 1000);
+
+		long median = h.getPercentile(50);
+		assertTrue(median >= 500000 && median <= 500000 * 9 / 8);
+		long p99 = h.getPercentile(99);
+		assertTrue(p99 >= 990000 && p99 <= 1000000);
+		assertEquals(0, h.getPercentile(0));
+		assertEquals(1000000, h.getPercentile(100));
+
+		try {
+			h.getPercentile(101);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid percentile.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that values recorded from many threads at once are all counted.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	@Test
+	public void testConcurrentRecord() throws InterruptedException {
+		LatencyHistogram h = new LatencyHistogram();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 10000; i++) {
+					h.record(i);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(40000, h.getCount());
+		assertEquals(4L * 9999 * 10000 / 2, h.getSum());
+		assertEquals(9999, h.getMax());
+		assertEquals(9999, h.getPercentile(100));
+	}
+}
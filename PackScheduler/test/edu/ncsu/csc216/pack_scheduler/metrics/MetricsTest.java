@@ -0,0 +1,40 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+
+import org.junit.Test;
+
+/**
+ * Tests Metrics.
+ *
+ * @author Ashten Herr
+ */
+public class MetricsTest {
+
+	/**
+	 * Tests that every statistic is registered with the platform MBean server
+	 * and that its attributes can be read through it.
+	 *
+	 * @throws JMException if an attribute can not be read
+	 */
+	@Test
+	public void testRegistered() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertEquals(12, Metrics.getAll().size());
+		for (OperationStats stats : Metrics.getAll()) {
+			assertTrue(server.isRegistered(Metrics.objectName(stats)));
+		}
+
+		long before = Metrics.WAITLIST_PROMOTION.getCount();
+		Metrics.WAITLIST_PROMOTION.increment();
+		assertEquals(before + 1, server.getAttribute(Metrics.objectName(Metrics.WAITLIST_PROMOTION), "Count"));
+		assertNotNull(server.getAttribute(Metrics.objectName(Metrics.LOGIN), "99thPercentileMillis"));
+		assertEquals("edu.ncsu.csc216.pack_scheduler:type=Operation,name=login",
+				Metrics.objectName(Metrics.LOGIN).toString());
+	}
+}
@@ -0,0 +1,63 @@
+package edu.ncsu.csc216.pack_scheduler.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests OperationStats.
+ *
+ * @author Ashten Herr
+ */
+public class OperationStatsTest {
+
+	/**
+	 * Tests that operations are counted, failures and records are added up and
+	 * durations are timed from their start.
+	 *
+	 * @throws InterruptedException if interrupted while sleeping
+	 */
+	@Test
+	public void testRecord() throws InterruptedException {
+		OperationStats stats = new OperationStats("test");
+		assertEquals("test", stats.getName());
+		assertEquals(0, stats.getCount());
+		assertEquals(0, stats.getMaxMillis(), 0);
+
+		stats.increment();
+		assertEquals(1, stats.getCount());
+		assertEquals(0, stats.getLatency().getCount());
+
+		long start = System.nanoTime();
+		Thread.sleep(5);
+		stats.record(start, false);
+		stats.record(System.nanoTime(), 12);
+		assertEquals(3, stats.getCount());
+		assertEquals(1, stats.getFailures());
+		assertEquals(12, stats.getRecords());
+		assertEquals(2, stats.getLatency().getCount());
+		assertTrue(stats.getMaxMillis() >= 5);
+		assertTrue(stats.get99thPercentileMillis() >= 5);
+		assertTrue(stats.getMedianMillis() <= stats.get95thPercentileMillis());
+		assertTrue(stats.getMeanMillis() >= 2.5);
+	}
+
+	/**
+	 * Tests that a statistic must have a name.
+	 */
+	@Test
+	public void testInvalidName() {
+		try {
+			new OperationStats("");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid operation name.", e.getMessage());
+		}
+		try {
+			new OperationStats(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid operation name.", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package edu.ncsu.csc216.pack_scheduler.server;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+
+/**
+ * Tests RegistrationServer by sending it HTTP requests.
+ *
+ * @author Ashten Herr
+ */
+public class RegistrationServerTest {
+
+	/** Manager behind the server */
+	private RegistrationManager manager;
+	/** Server under test */
+	private RegistrationServer server;
+
+	/**
+	 * Loads the test records and starts a server on a free port.
+	 *
+	 * @throws IOException if the server can not start
+	 */
+	@Before
+	public void setUp() throws IOException {
+		manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		server = new RegistrationServer(manager, 0);
+		server.start();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	/**
+	 * Tests logging in, browsing the catalog, enrolling, viewing the schedule,
+	 * dropping and logging out.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testRegistration() throws IOException {
+		assertEquals("401 Not logged in.", request("GET", "/catalog", null, null));
+		assertEquals("401 Not logged in.", request("POST", "/login", null, "id=ahicks&password=wrong"));
+		// an unknown id looks the same as a wrong password
+		assertEquals("401 Not logged in.", request("POST", "/login", null, "id=nobody&password=pw"));
+		assertEquals("400 Missing password.", request("POST", "/login", null, "id=ahicks"));
+		assertEquals("405 Use POST.", request("GET", "/login", null, null));
+
+		String token = request("POST", "/login", null, "id=ahicks&password=pw").substring(4);
+		String[] catalog = request("GET", "/catalog", token, null).split("\n");
+		assertEquals("200 CSC116\t001\tIntro to Programming - Java\tMW 9:10AM-11:00AM\t10", catalog[0]);
+		assertEquals(13, catalog.length);
+
+		assertEquals("200 true", request("POST", "/enroll", token, "name=CSC216&section=001"));
+		assertEquals("200 false", request("POST", "/enroll", token, "name=CSC216&section=001"));
+		assertEquals("400 Course not found.", request("POST", "/enroll", token, "name=CSC999&section=001"));
+		assertEquals("200 CSC216\t001\tSoftware Development Fundamentals\tTH 1:30PM-2:45PM\t9",
+				request("GET", "/schedule", token, null));
+		assertEquals("200 true", request("POST", "/drop", token, "name=CSC216&section=001"));
+		assertEquals("200 ", request("GET", "/schedule?token=" + token, null, null));
+
+		assertEquals("200 ", request("POST", "/logout", token, null));
+		assertEquals("401 Not logged in.", request("GET", "/schedule", token, null));
+		assertEquals(0, manager.getNumSessions());
+	}
+
+	/**
+	 * Tests that a body up to MAX_BODY bytes is read and a larger one is
+	 * rejected.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testBodyLimit() throws IOException {
+		String id = "id=" + "x".repeat(RegistrationServer.MAX_BODY - 3);
+		assertEquals("400 Missing password.", request("POST", "/login", null, id));
+		assertEquals("413 Request body too large.", request("POST", "/login", null, id + "x"));
+		assertEquals("400 Missing password.", request("POST", "/login", null, "id=ahicks"));
+	}
+
+	/**
+	 * Sends a request to the server.
+	 *
+	 * @param method - HTTP method
+	 * @param path   - path and query
+	 * @param token  - session token sent in the Authorization header, or null
+	 * @param body   - form encoded body, or null
+	 * @return status, a space, and the body of the response without a trailing
+	 *         newline
+	 * @throws IOException if the request fails
+	 */
+	private String request(String method, String path, String token, String body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+				.openConnection();
+		connection.setRequestMethod(method);
+		if (token != null) {
+			connection.setRequestProperty("Authorization", "Bearer " + token);
+		}
+		if (body != null) {
+			connection.setDoOutput(true);
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		int status = connection.getResponseCode();
+		InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		if (in != null) {
+			try (InputStream stream = in) {
+				stream.transferTo(response);
+			}
+		}
+		String text = new String(response.toByteArray(), StandardCharsets.UTF_8);
+		return status + " " + (text.endsWith("\n") ? text.substring(0, text.length() - 1) : text);
+	}
+}
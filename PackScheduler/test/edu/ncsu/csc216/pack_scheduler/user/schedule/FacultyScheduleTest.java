@@ -6,6 +6,9 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -14,6 +17,7 @@ import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingRowListener;
 
 /**
  * Tests the Schedule object.
@@ -252,6 +256,35 @@ public class FacultyScheduleTest {
 
 	}
 
+	/**
+	 * Test FacultySchedule.addCoursesToSchedule()
+	 */
+	@Test
+	public void testAddCoursesToSchedule() {
+		FacultySchedule schedule = new FacultySchedule("sesmith5");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+		Course csc116 = catalog.getCourseFromCatalog("CSC116", "002");
+		Course csc230 = catalog.getCourseFromCatalog("CSC230", "001");
+		Course csc316 = catalog.getCourseFromCatalog("CSC316", "001");
+		csc316.setInstructorId("jtking");
+		schedule.addCourseToSchedule(csc216);
+
+		// CSC216-001 is already assigned, CSC230-001 conflicts with CSC116-002, and
+		// CSC316-001 has an instructor
+		List<Course> rejected = schedule.addCoursesToSchedule(Arrays.asList(csc216, csc226, csc116, csc230, csc316));
+		assertEquals(Arrays.asList(csc216, csc230, csc316), rejected);
+		assertEquals(3, schedule.getNumScheduledCourses());
+		assertSame(csc226, schedule.getScheduledCourse(1));
+		assertSame(csc116, schedule.getScheduledCourse(2));
+		assertEquals("sesmith5", csc226.getInstructorId());
+		assertEquals("sesmith5", csc116.getInstructorId());
+		assertNull(csc230.getInstructorId());
+		assertEquals("jtking", csc316.getInstructorId());
+
+		assertEquals(0, schedule.addCoursesToSchedule(new ArrayList<Course>()).size());
+	}
+
 	/**
 	 * Test FacultySchedule.resetSchedule()
 	 */
@@ -278,4 +311,29 @@ public class FacultyScheduleTest {
 				"Schedule.resetSchedule() - Added CSC216-001, CSC226-001, and CSC116-002.  Reset schedule.  Added CSC230-001 to ensure schedule is not broken.  Length should be 1, but was not.",
 				1, schedule.getScheduledCourses().length);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that row listeners are told which rows of getScheduledCourses() each
+	 * change touches.
+	 */
+	@Test
+	public void testRowListener() {
+		FacultySchedule schedule = new FacultySchedule("sesmith5");
+		List<String> events = new ArrayList<String>();
+		schedule.addRowListener(new RecordingRowListener(events));
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+		Course csc116 = catalog.getCourseFromCatalog("CSC116", "002");
+
+		schedule.addCourseToSchedule(csc216);
+		schedule.addCoursesToSchedule(Arrays.asList(csc226, csc116));
+		schedule.addCoursesToSchedule(Arrays.asList(csc226));
+		schedule.removeCourseFromSchedule(csc226);
+		assertFalse(schedule.removeCourseFromSchedule(csc226));
+		schedule.resetSchedule();
+		assertEquals(Arrays.asList("inserted 0-0", "inserted 1-2", "deleted 1-1", "replaced"), events);
+		assertEquals(0, schedule.getNumScheduledCourses());
+		assertNull(csc116.getInstructorId());
+		assertNull(csc216.getInstructorId());
+	}
+}
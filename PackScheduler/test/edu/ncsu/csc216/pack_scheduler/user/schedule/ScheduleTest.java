@@ -5,9 +5,14 @@ package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingRowListener;
 
 /**
  * ScheduleTest tests the schedule class.
@@ -213,4 +218,47 @@ public class ScheduleTest {
 		
 	}
 
+	/**
+	 * Tests getting the scheduled courses by position.
+	 */
+	@Test
+	public void testGetScheduledCourse() {
+		Schedule schedule = new Schedule();
+		assertEquals(0, schedule.getNumScheduledCourses());
+		Course c = new Course("CSC217", "Java2Lab", "004", 1, "dtkatowi", 10, "MTW");
+		Course c2 = new Course("CSC216", "Java2", "002", 3, "dtkatowi", 10, "HF");
+		schedule.addCourseToSchedule(c);
+		schedule.addCourseToSchedule(c2);
+		assertEquals(2, schedule.getNumScheduledCourses());
+		assertEquals(c, schedule.getScheduledCourse(0));
+		assertEquals(c2, schedule.getScheduledCourse(1));
+		try {
+			schedule.getScheduledCourse(2);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals(2, schedule.getNumScheduledCourses());
+		}
+	}
+
+	/**
+	 * Tests that row listeners are told which rows of getScheduledCourses() each
+	 * change touches.
+	 */
+	@Test
+	public void testRowListener() {
+		Schedule schedule = new Schedule();
+		List<String> events = new ArrayList<String>();
+		schedule.addRowListener(new RecordingRowListener(events));
+		Course csc216 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW",
+				1330, 1445);
+		Course csc226 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes",
+				10, "MWF", 935, 1025);
+
+		schedule.addCourseToSchedule(csc216);
+		schedule.addCourseToSchedule(csc226);
+		assertFalse(schedule.removeCourseFromSchedule(null));
+		schedule.removeCourseFromSchedule(csc216);
+		schedule.resetSchedule();
+		assertEquals(Arrays.asList("inserted 0-0", "inserted 1-1", "deleted 0-0", "replaced"), events);
+	}
 }
@@ -0,0 +1,94 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests AutoSaver.
+ *
+ * @author Ashten Herr
+ */
+public class AutoSaverTest {
+
+	/**
+	 * Tests that the save runs in the background, that a failed run is kept and
+	 * retried, and that closing runs it one last time.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testAutoSave() throws InterruptedException {
+		try {
+			new AutoSaver(null, 10);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid autosave.", e.getMessage());
+		}
+		try {
+			new AutoSaver(() -> { }, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid autosave.", e.getMessage());
+		}
+
+		AtomicInteger saves = new AtomicInteger();
+		CountDownLatch retried = new CountDownLatch(2);
+		AutoSaver saver = new AutoSaver(() -> {
+			retried.countDown();
+			if (saves.incrementAndGet() == 1) {
+				throw new IllegalArgumentException("Unable to write file");
+			}
+		}, 5);
+		assertTrue(retried.await(10, TimeUnit.SECONDS));
+		saver.close();
+		assertNull(saver.getLastError());
+		assertEquals(saves.get(), saver.getNumRuns());
+		int closed = saves.get();
+		Thread.sleep(30);
+		assertEquals(closed, saves.get());
+
+		AutoSaver failing = new AutoSaver(() -> {
+			throw new IllegalArgumentException("Unable to write file");
+		}, 60000);
+		try {
+			failing.saveNow();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertSame(e, failing.getLastError());
+		}
+		try {
+			failing.close();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(2, failing.getNumRuns());
+		}
+	}
+
+	/**
+	 * Tests that a run failing with an unexpected exception is kept and does not
+	 * stop the later runs.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testUnexpectedError() throws InterruptedException {
+		CountDownLatch retried = new CountDownLatch(2);
+		AutoSaver saver = new AutoSaver(() -> {
+			retried.countDown();
+			throw new IllegalStateException("Save failed");
+		}, 5);
+		assertTrue(retried.await(10, TimeUnit.SECONDS));
+		assertEquals("Save failed", saver.getLastError().getMessage());
+		try {
+			saver.close();
+			fail();
+		} catch (IllegalStateException e) {
+			assertSame(e, saver.getLastError());
+		}
+	}
+}
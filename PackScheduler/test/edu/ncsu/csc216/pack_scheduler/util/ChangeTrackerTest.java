@@ -0,0 +1,62 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+/**
+ * Tests ChangeTracker.
+ *
+ * @author Ashten Herr
+ */
+public class ChangeTrackerTest {
+
+	/**
+	 * Tests that a file is saved only until the container changes, another file
+	 * is saved or the file is touched.
+	 *
+	 * @throws IOException if the test files can not be written
+	 */
+	@Test
+	public void testIsSaved() throws IOException {
+		File file = File.createTempFile("tracked", ".txt");
+		File other = File.createTempFile("tracked", ".txt");
+		try {
+			ChangeTracker tracker = new ChangeTracker();
+			assertTrue(tracker.isChanged());
+			assertFalse(tracker.isSaved(file.getPath()));
+
+			tracker.markChanged();
+			long changes = tracker.getChanges();
+			assertEquals(1, changes);
+			tracker.saved(file.getPath(), changes);
+			assertFalse(tracker.isChanged());
+			assertTrue(tracker.isSaved(file.getPath()));
+			assertTrue(tracker.isSaved(file.getAbsolutePath()));
+			assertFalse(tracker.isSaved(other.getPath()));
+
+			// a change made while the file was being written is not saved
+			tracker.markChanged();
+			tracker.saved(file.getPath(), changes);
+			assertTrue(tracker.isChanged());
+			assertFalse(tracker.isSaved(file.getPath()));
+
+			tracker.saved(file.getPath(), tracker.getChanges());
+			assertTrue(tracker.isSaved(file.getPath()));
+			Files.write(file.toPath(), "touched".getBytes());
+			assertFalse(tracker.isSaved(file.getPath()));
+
+			tracker.saved(file.getPath(), tracker.getChanges());
+			assertTrue(tracker.isSaved(file.getPath()));
+			file.delete();
+			assertFalse(tracker.isSaved(file.getPath()));
+		} finally {
+			file.delete();
+			other.delete();
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * Tests LinkedSetQueue.
+ *
+ * @author Ashten Herr
+ */
+public class LinkedSetQueueTest {
+
+	/**
+	 * Tests that elements leave the queue in the order they were added.
+	 */
+	@Test
+	public void testEnqueueAndDequeue() {
+		LinkedSetQueue<String> queue = new LinkedSetQueue<String>(3);
+		assertTrue(queue.isEmpty());
+		queue.enqueue("a");
+		queue.enqueue("b");
+		queue.enqueue("c");
+		assertEquals(3, queue.size());
+		try {
+			queue.enqueue("d");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(3, queue.size());
+		}
+		assertEquals("a", queue.dequeue());
+		assertEquals("b", queue.dequeue());
+		queue.enqueue("a");
+		assertEquals("c", queue.dequeue());
+		assertEquals("a", queue.dequeue());
+		assertTrue(queue.isEmpty());
+		try {
+			queue.dequeue();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertEquals(0, queue.size());
+		}
+		try {
+			queue.enqueue(null);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals(0, queue.size());
+		}
+	}
+
+	/**
+	 * Tests finding and removing elements from the middle of the queue.
+	 */
+	@Test
+	public void testContainsAndRemove() {
+		LinkedSetQueue<String> queue = new LinkedSetQueue<String>(5);
+		queue.enqueue("a");
+		queue.enqueue("b");
+		queue.enqueue("c");
+		assertTrue(queue.contains("b"));
+		assertFalse(queue.contains("d"));
+		assertFalse(queue.contains(null));
+		try {
+			queue.enqueue("b");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(3, queue.size());
+		}
+
+		assertTrue(queue.remove("b"));
+		assertFalse(queue.remove("b"));
+		assertFalse(queue.remove(null));
+		assertFalse(queue.contains("b"));
+		assertEquals(2, queue.size());
+		assertEquals("a", queue.dequeue());
+		assertEquals("c", queue.dequeue());
+	}
+
+	/**
+	 * Tests a queue that tells elements apart by a key.
+	 */
+	@Test
+	public void testKey() {
+		LinkedSetQueue<String> queue = new LinkedSetQueue<String>(5, String::toLowerCase);
+		queue.enqueue("Apple");
+		assertTrue(queue.contains("APPLE"));
+		try {
+			queue.enqueue("apple");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, queue.size());
+		}
+		assertTrue(queue.remove("aPPle"));
+		assertTrue(queue.isEmpty());
+
+		try {
+			new LinkedSetQueue<String>(5, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// a key function is required
+		}
+	}
+
+	/**
+	 * Tests setting the capacity.
+	 */
+	@Test
+	public void testSetCapacity() {
+		LinkedSetQueue<String> queue = new LinkedSetQueue<String>(2);
+		assertEquals(2, queue.getCapacity());
+		queue.enqueue("a");
+		queue.enqueue("b");
+		queue.setCapacity(3);
+		queue.enqueue("c");
+		assertEquals(3, queue.getCapacity());
+		try {
+			queue.setCapacity(2);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(3, queue.getCapacity());
+		}
+		try {
+			new LinkedSetQueue<String>(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// capacity can not be negative
+		}
+	}
+}
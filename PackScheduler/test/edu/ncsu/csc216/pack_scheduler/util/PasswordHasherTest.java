@@ -0,0 +1,58 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.Test;
+
+/**
+ * Tests PasswordHasher.
+ *
+ * @author Ashten Herr
+ */
+public class PasswordHasherTest {
+
+	/** SHA-256 of "pw" as hex */
+	private static final String PW_HASH = "30c952fab122c3f9759f02a6d95c3758b246b4fee239957b2d4fee46e26170c4";
+
+	/**
+	 * Tests that hashes are 64 lowercase hex digits of the UTF-8 password.
+	 */
+	@Test
+	public void testHash() {
+		assertEquals(PW_HASH, PasswordHasher.hash("pw"));
+		assertEquals("c26c0a1f2f46b3f733c51b3f4b735c4ea6b824a9eca44df5c81931ab50035fb5",
+				PasswordHasher.hash("p\u00E9"));
+		assertTrue(PasswordHasher.isCanonical(PW_HASH));
+		assertFalse(PasswordHasher.isCanonical(PW_HASH.toUpperCase()));
+		assertFalse(PasswordHasher.isCanonical(PW_HASH.substring(1)));
+	}
+
+	/**
+	 * Tests checking passwords against current, old and wrapped old hashes.
+	 *
+	 * @throws NoSuchAlgorithmException if SHA-256 is not available
+	 */
+	@Test
+	public void testMatches() throws NoSuchAlgorithmException {
+		assertTrue(PasswordHasher.matches("pw", PW_HASH));
+		assertFalse(PasswordHasher.matches("pw2", PW_HASH));
+		assertFalse(PasswordHasher.matches("pw", PW_HASH.replace('0', '1')));
+
+		String legacy = new String(MessageDigest.getInstance("SHA-256").digest("pw".getBytes()));
+		assertFalse(PasswordHasher.isCanonical(legacy));
+		assertTrue(PasswordHasher.matches("pw", legacy));
+		assertFalse(PasswordHasher.matches("pw2", legacy));
+
+		String wrapped = PasswordHasher.migrate(legacy);
+		assertTrue(wrapped.startsWith(PasswordHasher.LEGACY_PREFIX));
+		assertEquals(-1, wrapped.indexOf(','));
+		assertTrue(PasswordHasher.matches("pw", wrapped));
+		assertFalse(PasswordHasher.matches("pw2", wrapped));
+		assertEquals(wrapped, PasswordHasher.migrate(wrapped));
+		assertEquals(PW_HASH, PasswordHasher.migrate(PW_HASH));
+		assertFalse(PasswordHasher.matches("pw", "hashedpassword"));
+	}
+}
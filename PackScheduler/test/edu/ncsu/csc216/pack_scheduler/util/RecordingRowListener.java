@@ -0,0 +1,44 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.List;
+
+/**
+ * Row listener for tests that records each event as text, such as
+ * "inserted 0-0" or "replaced".
+ *
+ * @author Ashten Herr
+ */
+public class RecordingRowListener implements RowListener {
+
+	/** Events recorded, in the order they were sent */
+	private final List<String> events;
+
+	/**
+	 * Creates a listener that records into the given list.
+	 *
+	 * @param events - list to record the events in
+	 */
+	public RecordingRowListener(List<String> events) {
+		this.events = events;
+	}
+
+	@Override
+	public void rowsInserted(int first, int last) {
+		events.add("inserted " + first + "-" + last);
+	}
+
+	@Override
+	public void rowsUpdated(int first, int last) {
+		events.add("updated " + first + "-" + last);
+	}
+
+	@Override
+	public void rowsDeleted(int first, int last) {
+		events.add("deleted " + first + "-" + last);
+	}
+
+	@Override
+	public void rowsReplaced() {
+		events.add("replaced");
+	}
+}
@@ -0,0 +1,103 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests RowListeners.
+ *
+ * @author Ashten Herr
+ */
+public class RowListenersTest {
+
+	/**
+	 * Tests that every listener gets each event, and that a listener with only
+	 * rowsReplaced() gets every kind of event through it.
+	 */
+	@Test
+	public void testFire() {
+		RowListeners listeners = new RowListeners();
+		assertFalse(listeners.hasListeners());
+		try {
+			listeners.add(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid listener.", e.getMessage());
+		}
+
+		AtomicInteger replaced = new AtomicInteger();
+		AtomicInteger inserted = new AtomicInteger();
+		RowListener any = replaced::incrementAndGet;
+		RowListener rows = new RowListener() {
+			@Override
+			public void rowsInserted(int first, int last) {
+				inserted.addAndGet(last - first + 1);
+			}
+
+			@Override
+			public void rowsReplaced() {
+				fail();
+			}
+		};
+		listeners.add(any);
+		assertTrue(listeners.hasListeners());
+		listeners.fireInserted(0, 0);
+		listeners.fireUpdated(1, 2);
+		listeners.fireDeleted(3, 3);
+		listeners.fireReplaced();
+		assertEquals(4, replaced.get());
+
+		listeners.add(rows);
+		listeners.fireInserted(2, 4);
+		assertEquals(3, inserted.get());
+		assertEquals(5, replaced.get());
+
+		assertTrue(listeners.remove(any));
+		assertTrue(listeners.remove(rows));
+		assertFalse(listeners.remove(rows));
+		assertFalse(listeners.hasListeners());
+		listeners.fireReplaced();
+		assertEquals(5, replaced.get());
+	}
+
+	/**
+	 * Tests that an exception thrown by a listener goes to the thread's uncaught
+	 * exception handler, not the sender, and the other listeners are still told.
+	 */
+	@Test
+	public void testListenerThrows() {
+		RowListeners listeners = new RowListeners();
+		List<String> events = new ArrayList<String>();
+		listeners.add(new RowListener() {
+			@Override
+			public void rowsDeleted(int first, int last) {
+				throw new IndexOutOfBoundsException("Row " + first);
+			}
+
+			@Override
+			public void rowsReplaced() {
+				// nothing to do
+			}
+		});
+		listeners.add(new RecordingRowListener(events));
+
+		List<Throwable> uncaught = new ArrayList<Throwable>();
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+		try {
+			listeners.fireDeleted(3, 3);
+			listeners.fireInserted(0, 0);
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+		assertEquals("[deleted 3-3, inserted 0-0]", events.toString());
+		assertEquals(1, uncaught.size());
+		assertEquals("Row 3", uncaught.get(0).getMessage());
+	}
+}
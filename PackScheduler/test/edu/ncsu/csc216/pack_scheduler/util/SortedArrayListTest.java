@@ -0,0 +1,148 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests SortedArrayList.
+ *
+ * @author Ashten Herr
+ */
+public class SortedArrayListTest {
+
+	/**
+	 * Tests that an empty list is constructed.
+	 */
+	@Test
+	public void testSortedArrayList() {
+		SortedArrayList<String> list = new SortedArrayList<String>();
+		assertEquals(0, list.size());
+		assertTrue(list.isEmpty());
+		assertFalse(list.contains("apple"));
+	}
+
+	/**
+	 * Tests constructing a list from an unsorted collection.
+	 */
+	@Test
+	public void testSortedArrayListCollection() {
+		SortedArrayList<String> list = new SortedArrayList<String>(
+				Arrays.asList("pear", "apple", "orange", "banana", "kiwi", "fig", "grape", "lime", "lemon", "date",
+						"cherry", "mango"));
+		assertEquals(12, list.size());
+		assertEquals("apple", list.get(0));
+		assertEquals("banana", list.get(1));
+		assertEquals("pear", list.get(11));
+
+		// the list can still grow after a bulk load
+		list.add("zucchini");
+		list.add("avocado");
+		assertEquals(14, list.size());
+		assertEquals("avocado", list.get(1));
+		assertEquals("zucchini", list.get(13));
+
+		try {
+			new SortedArrayList<String>(Arrays.asList("pear", "apple", "pear"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Element already in list.", e.getMessage());
+		}
+		try {
+			new SortedArrayList<String>(Arrays.asList("pear", null));
+			fail();
+		} catch (NullPointerException e) {
+			// null elements are not allowed
+		}
+	}
+
+	/**
+	 * Tests that add() keeps the list sorted and rejects duplicates.
+	 */
+	@Test
+	public void testAdd() {
+		SortedArrayList<String> list = new SortedArrayList<String>();
+		assertTrue(list.add("banana"));
+		assertTrue(list.add("apple"));
+		assertTrue(list.add("cherry"));
+		assertTrue(list.add("avocado"));
+		assertEquals(4, list.size());
+		assertEquals("apple", list.get(0));
+		assertEquals("avocado", list.get(1));
+		assertEquals("banana", list.get(2));
+		assertEquals("cherry", list.get(3));
+
+		// grow past the initial capacity
+		for (int i = 0; i < 20; i++) {
+			list.add("fruit" + (char) ('a' + i));
+		}
+		assertEquals(24, list.size());
+		assertEquals("fruita", list.get(4));
+
+		try {
+			list.add("banana");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(24, list.size());
+		}
+		try {
+			list.add(null);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals(24, list.size());
+		}
+		try {
+			list.add(0, "apricot");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(24, list.size());
+		}
+	}
+
+	/**
+	 * Tests remove() and clear().
+	 */
+	@Test
+	public void testRemove() {
+		SortedArrayList<String> list = new SortedArrayList<String>(Arrays.asList("cherry", "apple", "banana"));
+		assertEquals("banana", list.remove(1));
+		assertEquals(2, list.size());
+		assertEquals("apple", list.get(0));
+		assertEquals("cherry", list.get(1));
+		assertFalse(list.contains("banana"));
+		try {
+			list.remove(2);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals(2, list.size());
+		}
+		try {
+			list.get(-1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals(2, list.size());
+		}
+		list.clear();
+		assertEquals(0, list.size());
+		list.add("banana");
+		assertEquals("banana", list.get(0));
+	}
+
+	/**
+	 * Tests indexOf() and contains().
+	 */
+	@Test
+	public void testIndexOf() {
+		SortedArrayList<String> list = new SortedArrayList<String>(Arrays.asList("d", "b", "a", "e", "c"));
+		assertEquals(0, list.indexOf("a"));
+		assertEquals(2, list.indexOf("c"));
+		assertEquals(4, list.indexOf("e"));
+		assertEquals(-1, list.indexOf("f"));
+		assertEquals(-1, list.indexOf("0"));
+		assertEquals(-1, list.indexOf(null));
+		assertTrue(list.contains("d"));
+		assertFalse(list.contains("bb"));
+	}
+}
@@ -0,0 +1,108 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests StripedLocks.
+ *
+ * @author Ashten Herr
+ */
+public class StripedLocksTest {
+
+	/**
+	 * Tests that the number of stripes is checked and rounded up to a power of
+	 * two.
+	 */
+	@Test
+	public void testStripes() {
+		try {
+			new StripedLocks(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertNull(e.getMessage());
+		}
+		StripedLocks locks = new StripedLocks(5);
+		Object key = new Object();
+		assertEquals(locks.stripeFor(key), locks.stripeFor(key));
+		for (int i = 0; i < 100; i++) {
+			int stripe = locks.stripeFor(new Object());
+			assertTrue(stripe >= 0 && stripe < 8);
+		}
+		assertEquals(0, new StripedLocks(1).stripeFor(key));
+	}
+
+	/**
+	 * Tests locking and unlocking a single object.
+	 */
+	@Test
+	public void testLock() {
+		StripedLocks locks = new StripedLocks(16);
+		Object key = new Object();
+		assertFalse(locks.isHeldByCurrentThread(key));
+		locks.lock(key);
+		assertTrue(locks.isHeldByCurrentThread(key));
+		locks.unlock(key);
+		assertFalse(locks.isHeldByCurrentThread(key));
+	}
+
+	/**
+	 * Tests that lockAll locks each stripe once, in ascending order, and that
+	 * unlockAll releases them.
+	 */
+	@Test
+	public void testLockAll() {
+		StripedLocks locks = new StripedLocks(4);
+		Object[] keys = new Object[20];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = new Object();
+		}
+		int[] stripes = locks.lockAll(keys);
+		assertTrue(stripes.length <= 4);
+		for (int i = 1; i < stripes.length; i++) {
+			assertTrue(stripes[i - 1] < stripes[i]);
+		}
+		for (Object key : keys) {
+			assertTrue(locks.isHeldByCurrentThread(key));
+		}
+		locks.unlockAll(stripes);
+		for (Object key : keys) {
+			assertFalse(locks.isHeldByCurrentThread(key));
+		}
+		assertEquals(0, locks.lockAll().length);
+	}
+
+	/**
+	 * Tests that threads locking overlapping groups in different orders all
+	 * finish and see each other's updates.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testLockAllThreads() throws InterruptedException {
+		StripedLocks locks = new StripedLocks(8);
+		Object a = new Object();
+		Object b = new Object();
+		int[] count = new int[1];
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			boolean reversed = t % 2 == 0;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10000; i++) {
+					int[] stripes = reversed ? locks.lockAll(b, a) : locks.lockAll(a, b);
+					try {
+						count[0]++;
+					} finally {
+						locks.unlockAll(stripes);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(80000, count[0]);
+	}
+}